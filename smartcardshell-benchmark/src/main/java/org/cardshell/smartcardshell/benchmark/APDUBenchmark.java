@@ -0,0 +1,86 @@
+/******************************************************************************
+ * APDUBenchmark.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.APDU;
+import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.apdu.Transmit;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link APDU} buffer operations.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class APDUBenchmark {
+
+  /** data appended to the command */
+  private final byte[] aid = Hex.parseHexString("A0000000041010");
+
+  /** command filled by {@link #append()}, sized for the header, Lc, the AID and Le */
+  private final CommandAPDU command = new CommandAPDU(Arrays.copyOf(Hex.parseHexString("00A40400"), 4 + 1 + 7 + 1), 4);
+
+  /** command with data */
+  private final Transmit select = new Transmit("00A4040007A000000004101000");
+
+  /** response with 32 bytes of data */
+  private final ResponseAPDU response = new ResponseAPDU(Hex
+      .parseHexString("6F1E8407A0000000041010A513500A4D617374657243617264870101BF0C009000"));
+
+  @Benchmark
+  public APDU append() {
+    command.setLength(4);
+    command.append((byte) aid.length);
+    command.append(aid);
+    command.append((byte) 0);
+    return command;
+  }
+
+  @Benchmark
+  public byte[] getBytes() {
+    return select.getBytes();
+  }
+
+  @Benchmark
+  public String toHexString() {
+    return select.toString();
+  }
+
+  @Benchmark
+  public byte[] getData() {
+    return response.getData();
+  }
+
+  @Benchmark
+  public int getSW() {
+    return response.getSW();
+  }
+}
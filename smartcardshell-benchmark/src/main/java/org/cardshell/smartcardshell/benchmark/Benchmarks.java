@@ -0,0 +1,43 @@
+/******************************************************************************
+ * Benchmarks.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the JMH command line options given and always adds the GC profiler, so each benchmark
+ * reports its allocation rate next to its throughput.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class Benchmarks {
+
+  /**
+   * Prevents instantiation.
+   */
+  private Benchmarks() {}
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args
+   *          JMH command line options, e.g. a regular expression selecting benchmarks
+   * @throws Exception
+   *           if the options are invalid or the benchmarks fail
+   */
+  public static void main(final String[] args) throws Exception {
+    new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).addProfiler(GCProfiler.class).build()).run();
+  }
+}
@@ -0,0 +1,76 @@
+/******************************************************************************
+ * ChannelBenchmark.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.apdu.Transmit;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of complete {@link Channel} transmissions against a {@link FakeChannel}, measuring the overhead of the
+ * shell's transmission logic without any card I/O.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChannelBenchmark {
+
+  /** channel answering with 32 bytes of data */
+  private final FakeChannel channel = new FakeChannel(Hex
+      .parseHexString("6F1E8407A0000000041010A513500A4D617374657243617264870101BF0C009000"));
+
+  /** command transmitted */
+  private final Transmit command = new Transmit("00A4040007A000000004101000");
+
+  /** command transmitted as byte array */
+  private final byte[] commandBytes = command.getBytes();
+
+  /** reused response */
+  private final ResponseAPDU response = new ResponseAPDU(258);
+
+  @Benchmark
+  public ResponseAPDU transmitBytes() {
+    return channel.transmit(commandBytes);
+  }
+
+  @Benchmark
+  public ResponseAPDU transmit() {
+    return channel.transmit(command);
+  }
+
+  @Benchmark
+  public ResponseAPDU transmitReuse() {
+    return channel.transmit(command, response);
+  }
+
+  @Benchmark
+  public String transmitInterprete() {
+    return command.interprete(channel.transmit(command, response));
+  }
+}
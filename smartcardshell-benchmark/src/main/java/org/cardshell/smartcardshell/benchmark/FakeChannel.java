@@ -0,0 +1,61 @@
+/******************************************************************************
+ * FakeChannel.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.benchmark;
+
+import org.cardshell.smartcardshell.BasicChannel;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * In-process {@link BasicChannel} answering every command with the same response, so transmissions can be measured
+ * without any card or PC/SC service.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class FakeChannel extends BasicChannel {
+
+  /** response returned for every command */
+  private final byte[] response;
+
+  /**
+   * Creates a new instance answering every command with the given response.
+   *
+   * @param response
+   *          response APDU including the status word
+   */
+  public FakeChannel(@NonNull final byte[] response) {
+    super("Fake");
+    this.response = Assert.ARG.isNotNull(response).clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#getNumber()
+   */
+  @Override
+  public byte getNumber() {
+    return 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.BasicChannel#exchange(byte[], int, int, byte[], int)
+   */
+  @Override
+  protected int exchange(@NonNull final byte[] command, final int offset, final int length,
+      @NonNull final byte[] response, final int responseOffset) {
+    System.arraycopy(this.response, 0, response, responseOffset, this.response.length);
+    return this.response.length;
+  }
+}
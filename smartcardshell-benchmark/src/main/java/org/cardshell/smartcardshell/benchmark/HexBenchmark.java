@@ -0,0 +1,72 @@
+/******************************************************************************
+ * HexBenchmark.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.commons.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link Hex} codec using a typical short APDU.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexBenchmark {
+
+  /** hexadecimal encoded SELECT command with AID */
+  private final String hex = "00A4040007A000000004101000";
+
+  /** decoded command */
+  private final byte[] bytes = Hex.parseHexString(hex);
+
+  /** reused decoding target */
+  private final byte[] target = new byte[bytes.length];
+
+  /** reused encoding target */
+  private final StringBuilder builder = new StringBuilder(hex.length());
+
+  @Benchmark
+  public byte[] parseHexString() {
+    return Hex.parseHexString(hex);
+  }
+
+  @Benchmark
+  public int decode() {
+    return Hex.decode(hex, target, 0);
+  }
+
+  @Benchmark
+  public String toHexString() {
+    return Hex.toHexString(bytes);
+  }
+
+  @Benchmark
+  public StringBuilder append() {
+    builder.setLength(0);
+    return Hex.append(builder, bytes, 0, bytes.length);
+  }
+}
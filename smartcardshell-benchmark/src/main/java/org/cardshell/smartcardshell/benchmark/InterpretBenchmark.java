@@ -0,0 +1,94 @@
+/******************************************************************************
+ * InterpretBenchmark.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.DefaultFile;
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.apdu.BasicAPDU;
+import org.cardshell.smartcardshell.apdu.SelectFile;
+import org.cardshell.smartcardshell.apdu.StatusWord;
+import org.cardshell.smartcardshell.apdu.TransmissionException;
+import org.cardshell.smartcardshell.apdu.Transmit;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the status word interpretation by {@link BasicAPDU} and of the construction of {@link SelectFile}
+ * commands.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpretBenchmark {
+
+  /** command interpreting the responses */
+  private final Transmit command = new Transmit("00B0000000");
+
+  /** successful response */
+  private final ResponseAPDU success = new ResponseAPDU(Hex.parseHexString("9000"));
+
+  /** response with warning */
+  private final ResponseAPDU warning = new ResponseAPDU(Hex.parseHexString("6282"));
+
+  /** response with error */
+  private final ResponseAPDU error = new ResponseAPDU(Hex.parseHexString("6A82"));
+
+  /** channel used to create {@link SelectFile} commands */
+  private final FakeChannel channel = new FakeChannel(Hex.parseHexString("9000"));
+
+  /** file used to create {@link SelectFile} commands */
+  private final DefaultFile file = new DefaultFile(Hex.parseHexString("2F00"));
+
+  @Benchmark
+  public String interpreteSuccess() {
+    return command.interprete(success);
+  }
+
+  @Benchmark
+  public String interpreteWarning() {
+    return command.interprete(warning);
+  }
+
+  @Benchmark
+  public String interpreteError() {
+    try {
+      return command.interprete(error);
+    } catch (final TransmissionException e) {
+      return e.getMessage();
+    }
+  }
+
+  @Benchmark
+  public StatusWord evaluateError() {
+    return command.evaluate(error);
+  }
+
+  @Benchmark
+  public SelectFile createSelectFile() {
+    return new SelectFile(channel, file);
+  }
+}
@@ -12,6 +12,8 @@ package org.cardshell.smartcardshell;
 
 import java.util.Arrays;
 
+import org.cardshell.smartcardshell.commons.Hex;
+
 /**
  * Basic Application Protocol Data Unit (APDU) using an internal byte buffer.
  *
@@ -91,6 +93,20 @@ public abstract class APDU {
     apduLength += bytes.length;
   }
 
+  /**
+   * Ensures that the internal buffer is able to hold at least the given number of bytes. If the buffer is too small, it
+   * is replaced by a larger one holding a copy of the current buffer content. Buffers returned by {@link #getBuffer()}
+   * before are no longer used by this APDU afterwards.
+   *
+   * @param capacity
+   *          the minimum size of the internal buffer
+   */
+  public final void ensureCapacity(final int capacity) {
+    if (apdu.length < capacity) {
+      apdu = Arrays.copyOf(apdu, Math.max(capacity, apdu.length * 2));
+    }
+  }
+
   /**
    * Returns the internal APDU buffer. This method allows complex manipulations of the buffered APDU, for example MAC
    * calculation. If the length of the APDU is changed by such an operation, {@link #setLength(int)} has to be used to
@@ -125,9 +141,9 @@ public abstract class APDU {
    * @return the buffered APDU, copied into a new array
    */
   public final byte[] getBytes() {
-    final byte[] apdu = new byte[apduLength];
-    System.arraycopy(apdu, 0, apdu, 0, apduLength);
-    return apdu;
+    final byte[] bytes = new byte[apduLength];
+    System.arraycopy(apdu, 0, bytes, 0, apduLength);
+    return bytes;
   }
 
   /**
@@ -181,7 +197,7 @@ public abstract class APDU {
    */
   @Override
   public final String toString() {
-    return toHexString(Arrays.copyOfRange(apdu, 0, apduLength));
+    return Hex.toHexString(apdu, 0, apduLength);
   }
 
   /**
@@ -192,10 +208,6 @@ public abstract class APDU {
    * @return hex string representation of the given byte array
    */
   public static final String toHexString(final byte[] bytes) {
-    final StringBuilder sb = new StringBuilder(bytes.length * 2);
-    for (final byte b : bytes) {
-      sb.append(String.format("%02x", b & 0xff));
-    }
-    return sb.toString();
+    return Hex.toHexString(bytes);
   }
 }
@@ -13,8 +13,13 @@ package org.cardshell.smartcardshell;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.PrefixIndex;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
  * Basic implementation of a {@link Card} without any dependencies to hardware or specific standards.
@@ -27,6 +32,15 @@ public abstract class BasicCard extends NamedEntity implements Card {
   /** internal list of open card channels */
   protected final List<Channel> openCardChannels = new CopyOnWriteArrayList<Channel>();
 
+  /** index of open card channels by name, replaced whenever a channel is opened or all channels are closed */
+  private volatile PrefixIndex<Channel> cardChannelIndex = new PrefixIndex<Channel>();
+
+  /** scheduler of the work queued on the channels of this card */
+  private final ChannelScheduler scheduler = new ChannelScheduler(BasicChannel.TRANSMIT_POOL);
+
+  /** cache of the file system of this card */
+  private final FileTree fileTree = new FileTree();
+
   /**
    * Creates a new instance with the given name.
    *
@@ -46,4 +60,83 @@ public abstract class BasicCard extends NamedEntity implements Card {
   public List<Channel> getCardChannels() {
     return Collections.unmodifiableList(openCardChannels);
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Card#getCardChannel(java.lang.String)
+   */
+  @Nullable
+  @Override
+  public Channel getCardChannel(@NonNull final String name) {
+    return cardChannelIndex.get(name);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Card#forEachCardChannel(java.lang.String, java.util.function.Consumer)
+   */
+  @Override
+  public void forEachCardChannel(@Nullable final String prefix, @NonNull final Consumer<Channel> action) {
+    cardChannelIndex.forEach(prefix, (name, cardChannel) -> action.accept(cardChannel));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Card#getFileTree()
+   */
+  @NonNull
+  @Override
+  public FileTree getFileTree() {
+    return fileTree;
+  }
+
+  /**
+   * Returns a new lane of the scheduler of this card to be passed to a newly opened channel. Work queued on the channels
+   * of this card is run one task at a time, round-robin across the channels and in submission order within each channel.
+   *
+   * @return executor of work queued on the new channel
+   * @see BasicChannel#BasicChannel(String, Executor)
+   * @see ChannelScheduler
+   */
+  @NonNull
+  protected final Executor createTransmitExecutor() {
+    return scheduler.createLane();
+  }
+
+  /**
+   * Adds a newly opened {@link Channel} to the list and the index of open channels.
+   *
+   * @param cardChannel
+   *          newly opened {@link Channel}
+   */
+  protected synchronized void addCardChannel(@NonNull final Channel cardChannel) {
+    openCardChannels.add(Assert.ARG.isNotNull(cardChannel));
+    final PrefixIndex<Channel> index = new PrefixIndex<Channel>();
+    openCardChannels.forEach(c -> index.put(c.getName(), c));
+    cardChannelIndex = index;
+  }
+
+  /**
+   * Removes a closed {@link Channel} from the list and the index of open channels.
+   *
+   * @param cardChannel
+   *          closed {@link Channel}
+   */
+  protected synchronized void removeCardChannel(@NonNull final Channel cardChannel) {
+    openCardChannels.remove(Assert.ARG.isNotNull(cardChannel));
+    final PrefixIndex<Channel> index = new PrefixIndex<Channel>();
+    openCardChannels.forEach(c -> index.put(c.getName(), c));
+    cardChannelIndex = index;
+  }
+
+  /**
+   * Removes all {@link Channel}s from the list and the index of open channels.
+   */
+  protected synchronized void clearCardChannels() {
+    openCardChannels.clear();
+    cardChannelIndex = new PrefixIndex<Channel>();
+  }
 }
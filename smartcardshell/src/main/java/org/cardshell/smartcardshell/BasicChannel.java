@@ -10,9 +10,20 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell;
 
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
 import org.cardshell.smartcardshell.apdu.SelectFile;
+import org.cardshell.smartcardshell.apdu.TransmissionException;
 import org.cardshell.smartcardshell.commons.NonNull;
 import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.SerialExecutor;
 import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
@@ -23,20 +34,126 @@ import org.cardshell.smartcardshell.commons.assertion.Assert;
  */
 public abstract class BasicChannel implements Channel {
 
+  /** name of the system property limiting the number of threads doing asynchronous transmissions, 0 for no limit */
+  public static final String TRANSMIT_THREADS_PROPERTY = "cardshell.transmit.threads";
+
+  /** pool of the threads doing asynchronous transmissions, shared by all cards and channels */
+  static final ExecutorService TRANSMIT_POOL = createTransmitPool(Integer.getInteger(TRANSMIT_THREADS_PROPERTY, 0));
+
+  /** default size of response buffers (256 bytes of data and the status word) */
+  protected static final int DEFAULT_RESPONSE_LENGTH = 258;
+
+  /** instruction byte of the GET RESPONSE command */
+  private static final byte INS_GET_RESPONSE = (byte) 0xC0;
+
+  /** class byte bit indicating that further commands of a chain follow */
+  private static final int CLA_CHAINING = 0x10;
+
+  /** instruction byte of the SELECT command */
+  private static final byte INS_SELECT = (byte) 0xA4;
+
+  /** status word 1 indicating further response bytes to be fetched by GET RESPONSE */
+  private static final byte SW1_BYTES_REMAINING = (byte) 0x61;
+
+  /** status word 1 indicating a wrong {@code Le} field with the exact length given by status word 2 */
+  private static final byte SW1_WRONG_LE = (byte) 0x6C;
+
+  /** status word 1 indicating normal processing */
+  private static final byte SW1_OK = (byte) 0x90;
+
+  /** number of entries of the {@code Le} cache, has to be a power of two */
+  private static final int LE_CACHE_SIZE = 64;
+
+  /** command headers of the {@code Le} cache */
+  private final int[] leCacheHeaders = new int[LE_CACHE_SIZE];
+
+  /** corrected {@code Le} values of the {@code Le} cache, increased by one to mark empty entries by 0 */
+  private final int[] leCacheValues = new int[LE_CACHE_SIZE];
+
+  /** reusable GET RESPONSE command */
+  private final byte[] getResponse = new byte[5];
+
+  /** whether 61xx responses are completed by GET RESPONSE automatically */
+  private volatile boolean responseChaining = true;
+
+  /** command bytes overwritten temporarily while transmitting a command chain */
+  private final byte[] chainingBackup = new byte[6];
+
+  /** maximum number of data bytes per command of a command chain or 0, if command chaining is disabled */
+  private volatile int chainingSegmentSize = 0;
+
+  /** whether 6Cxx responses lead to a retransmission with corrected {@code Le} automatically */
+  private volatile boolean leCorrection = false;
+
   /** currently selected card file */
   private File selectedCardFile;
 
+  /** path of the current file or {@code null}, if unknown, e.g. before the first selection */
+  private volatile CardPath currentPath;
+
+  /** whether the current file is a DF */
+  private volatile boolean currentDF;
+
   /** channel name */
   private final String name;
 
+  /** executor of work queued on this channel, running its tasks in submission order */
+  private final Executor executor;
+
+  /** cache of the file system of the card or {@code null} */
+  private final FileTree fileTree;
+
   /**
-   * Creates a new instance with the given name.
+   * Creates a new instance with the given name. Work queued on this channel is run on a serial executor of its own.
    *
    * @param name
    *          name of this card channel, must not be {@code blank}.
    */
   public BasicChannel(@NonNull final String name) {
+    this(name, null);
+  }
+
+  /**
+   * Creates a new instance with the given name and the given executor of work queued on this channel.
+   *
+   * @param name
+   *          name of this card channel, must not be {@code blank}.
+   * @param executor
+   *          executor running the work queued on this channel in submission order, usually a lane of the
+   *          {@link ChannelScheduler} of the card, or {@code null} to run it on a serial executor of this channel
+   * @see BasicCard#createTransmitExecutor()
+   */
+  public BasicChannel(@NonNull final String name, @Nullable final Executor executor) {
+    this(name, executor, null);
+  }
+
+  /**
+   * Creates a new instance with the given name, the given executor of work queued on this channel and the given cache of
+   * the file system of the card. The metadata of each file selected through this channel is added to the cache.
+   *
+   * @param name
+   *          name of this card channel, must not be {@code blank}.
+   * @param executor
+   *          executor running the work queued on this channel in submission order or {@code null} to run it on a
+   *          serial executor of this channel
+   * @param fileTree
+   *          cache of the file system of the card, shared by all its channels, or {@code null}
+   * @see BasicCard#getFileTree()
+   */
+  public BasicChannel(@NonNull final String name, @Nullable final Executor executor, @Nullable final FileTree fileTree) {
     this.name = Assert.ARG.isNotBlank(name);
+    this.executor = executor != null ? executor : new SerialExecutor(TRANSMIT_POOL);
+    this.fileTree = fileTree;
+  }
+
+  private static ExecutorService createTransmitPool(final int threads) {
+    final AtomicInteger count = new AtomicInteger();
+    final ThreadFactory factory = task -> {
+      final Thread thread = new Thread(task, "cardshell-transmit-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return threads > 0 ? Executors.newFixedThreadPool(threads, factory) : Executors.newCachedThreadPool(factory);
   }
 
   /**
@@ -49,6 +166,74 @@ public abstract class BasicChannel implements Channel {
     return name;
   }
 
+  /**
+   * Returns the maximum number of data bytes per command of a command chain.
+   *
+   * @return maximum number of data bytes per chained command or 0, if command chaining is disabled
+   */
+  public int getChainingSegmentSize() {
+    return chainingSegmentSize;
+  }
+
+  /**
+   * Enables or disables command chaining. If enabled, each command carrying more data bytes than the given segment size
+   * is transmitted as a chain of short commands, all but the last one having bit b5 of the class byte set. The chained
+   * commands are assembled within the buffer of the original {@link CommandAPDU}, which is restored afterwards. Disabled
+   * by default.
+   *
+   * @param segmentSize
+   *          maximum number of data bytes per chained command (1 to 255) or 0 to disable command chaining
+   * @throws IllegalArgumentException
+   *           if the segment size is out of range
+   */
+  public void setChainingSegmentSize(final int segmentSize) throws IllegalArgumentException {
+    Assert.ARG.isTrue(segmentSize >= 0 && segmentSize <= CommandAPDU.MAX_SHORT_NC, "Invalid segment size");
+    chainingSegmentSize = segmentSize;
+  }
+
+  /**
+   * Returns whether commands answered with status word 6Cxx are retransmitted with corrected {@code Le} automatically.
+   *
+   * @return {@code true}, if {@code Le} correction is enabled, {@code false} otherwise
+   */
+  public boolean isLeCorrection() {
+    return leCorrection;
+  }
+
+  /**
+   * Enables or disables the automatic {@code Le} correction. If enabled, the {@code Le} field of a command answered with
+   * status word 6Cxx is patched within the buffer of the {@link CommandAPDU} and the command is transmitted again. The
+   * corrected {@code Le} is remembered per command header and applied to subsequent commands with the same header until
+   * the next SELECT command is transmitted on this channel. Disabled by default.
+   *
+   * @param leCorrection
+   *          {@code true} to enable {@code Le} correction, {@code false} to disable it
+   */
+  public synchronized void setLeCorrection(final boolean leCorrection) {
+    this.leCorrection = leCorrection;
+    clearLeCache();
+  }
+
+  /**
+   * Returns whether responses with status word 61xx are completed automatically by GET RESPONSE commands.
+   *
+   * @return {@code true}, if response chaining is enabled, {@code false} otherwise
+   */
+  public boolean isResponseChaining() {
+    return responseChaining;
+  }
+
+  /**
+   * Enables or disables the automatic completion of responses with status word 61xx. If enabled, all remaining response
+   * bytes are fetched by GET RESPONSE commands and collected within one {@link ResponseAPDU}. Enabled by default.
+   *
+   * @param responseChaining
+   *          {@code true} to enable response chaining, {@code false} to disable it
+   */
+  public void setResponseChaining(final boolean responseChaining) {
+    this.responseChaining = responseChaining;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -67,11 +252,505 @@ public abstract class BasicChannel implements Channel {
    */
   @Nullable
   @Override
-  public String selectCardFile(@NonNull final File cardFile) {
-    final SelectFile commandAPDU = new SelectFile(this, Assert.ARG.isNotNull(cardFile));
-    final ResponseAPDU response = transmit(commandAPDU);
-    final String warning = commandAPDU.interprete(response);
+  public synchronized String selectCardFile(@NonNull final File cardFile) {
+    final byte[] id = Assert.ARG.isNotNull(cardFile).getId();
+    final int fid = id.length == 2 ? (id[0] & 0xFF) << 8 | id[1] & 0xFF : -1;
+    final CardPath path = currentPath;
+    if (path != null && fid == path.getFileId()) {
+      selectedCardFile = cardFile;
+      return null;
+    }
+    final CardPath target = resolve(fid);
+    final SelectFile commandAPDU = new SelectFile(this, cardFile);
+    final String warning = select(commandAPDU, target);
     selectedCardFile = cardFile;
     return warning;
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#getCurrentPath()
+   */
+  @Nullable
+  @Override
+  public CardPath getCurrentPath() {
+    return currentPath;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#getCurrentDF()
+   */
+  @Nullable
+  @Override
+  public synchronized CardPath getCurrentDF() {
+    return currentPath == null || currentDF ? currentPath : currentPath.getParent();
+  }
+
+  /**
+   * {@inheritDoc} A child or the parent of the current DF is selected by its file identifier, any other file by its path
+   * from the MF.
+   *
+   * @see org.cardshell.smartcardshell.Channel#selectCardPath(org.cardshell.smartcardshell.CardPath)
+   */
+  @Nullable
+  @Override
+  public synchronized String selectCardPath(@NonNull final CardPath path) {
+    Assert.ARG.isNotNull(path);
+    if (path.equals(currentPath)) {
+      return null;
+    }
+    final CardPath df = getCurrentDF();
+    final SelectFile commandAPDU;
+    if (df != null && !path.isMasterFile() && (path.getParent().equals(df) || path.equals(df.getParent()))) {
+      commandAPDU = new SelectFile(this, new DefaultFile(path.getFileIdBytes()));
+    } else {
+      commandAPDU = new SelectFile(this, path);
+    }
+    final String warning = select(commandAPDU, path);
+    selectedCardFile = new DefaultFile(path.getFileIdBytes());
+    return warning;
+  }
+
+  /**
+   * Returns the path of the file selected by the given file identifier relative to the current DF. The MF, the current
+   * DF and its parent are recognized, any other file is assumed to be a child of the current DF.
+   *
+   * @param fid
+   *          file identifier
+   * @return path of the selected file or {@code null}, if unknown
+   */
+  private CardPath resolve(final int fid) {
+    if (fid == CardPath.MF_ID) {
+      return CardPath.MF;
+    }
+    final CardPath df = getCurrentDF();
+    if (df == null || fid < 0) {
+      return null;
+    }
+    if (fid == df.getFileId()) {
+      return df;
+    }
+    final CardPath parent = df.getParent();
+    return parent != null && fid == parent.getFileId() ? parent : df.resolve(fid);
+  }
+
+  /**
+   * Transmits the given SELECT command and updates the current path. If the selection fails, the current file is left
+   * unchanged by the card, so is the current path.
+   *
+   * @param commandAPDU
+   *          SELECT command
+   * @param path
+   *          path of the file to be selected or {@code null}, if unknown
+   * @return warning message or {@code null}
+   */
+  private String select(final SelectFile commandAPDU, final CardPath path) {
+    final CardPath previousPath = currentPath;
+    try {
+      final ResponseAPDU response = transmit(commandAPDU);
+      final String warning = commandAPDU.interprete(response);
+      updateCurrentPath(path, response);
+      return warning;
+    } catch (final TransmissionException e) {
+      currentPath = previousPath;
+      throw e;
+    }
+  }
+
+  /**
+   * Updates the current path after a successful selection and caches the metadata of the selected file. The type of the
+   * file is taken from the file descriptor of the response, if available, otherwise file identifiers starting with
+   * {@code 3F}, {@code 5F} or {@code 7F} are assumed to denote DFs.
+   *
+   * @param path
+   *          path of the selected file or {@code null}, if unknown
+   * @param response
+   *          response to the SELECT command
+   */
+  private void updateCurrentPath(final CardPath path, final ResponseAPDU response) {
+    if (path != null) {
+      final FileInfo info = FileInfo.parse(path.getFileId(), response.getBuffer(), 0, response.getLength() - 2);
+      if (info != null && info.getStructure() != FileInfo.Structure.UNKNOWN) {
+        currentDF = info.isDedicatedFile();
+      } else {
+        currentDF = CardPath.isDedicatedFileId(path.getFileId());
+      }
+      if (info != null && fileTree != null) {
+        fileTree.put(path, info);
+      }
+    }
+    currentPath = path;
+  }
+
+  /**
+   * Returns whether the given instruction modifies the content, the life cycle or the structure of the file system. Such
+   * commands invalidate the cached files of the current DF, since they may address other files by short EF identifiers.
+   *
+   * @param ins
+   *          instruction byte
+   * @return {@code true}, if the instruction modifies the file system, {@code false} otherwise
+   */
+  private static boolean isModifying(final byte ins) {
+    switch (ins & 0xFE) {
+      case 0x04: // DEACTIVATE FILE
+      case 0x0C: // ERASE RECORD
+      case 0x0E: // ERASE BINARY
+      case 0x44: // ACTIVATE FILE
+      case 0xD0: // WRITE BINARY
+      case 0xD2: // WRITE RECORD
+      case 0xD6: // UPDATE BINARY
+      case 0xDC: // UPDATE RECORD
+      case 0xE0: // CREATE FILE
+      case 0xE2: // APPEND RECORD
+      case 0xE4: // DELETE FILE
+      case 0xE6: // TERMINATE DF
+      case 0xE8: // TERMINATE EF
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#transmit(byte[])
+   */
+  @NonNull
+  @Override
+  public ResponseAPDU transmit(@NonNull final byte[] commandAPDU) {
+    return transmit(new CommandAPDU(Assert.ARG.isNotNull(commandAPDU)));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#transmit(org.cardshell.smartcardshell.CommandAPDU)
+   */
+  @NonNull
+  @Override
+  public ResponseAPDU transmit(@NonNull final CommandAPDU commandAPDU) {
+    return transmit(commandAPDU, new ResponseAPDU(getResponseLength(commandAPDU)));
+  }
+
+  /**
+   * {@inheritDoc} The buffer of the given {@link ResponseAPDU} is enlarged, if the response does not fit into it.
+   *
+   * @see org.cardshell.smartcardshell.Channel#transmit(org.cardshell.smartcardshell.CommandAPDU,
+   *      org.cardshell.smartcardshell.ResponseAPDU)
+   */
+  @NonNull
+  @Override
+  public synchronized ResponseAPDU transmit(@NonNull final CommandAPDU commandAPDU,
+      @NonNull final ResponseAPDU responseAPDU) {
+    responseAPDU.ensureCapacity(getResponseLength(commandAPDU));
+    if (commandAPDU.getLength() > 1) {
+      final byte ins = commandAPDU.getBuffer()[1];
+      if (ins == INS_SELECT) {
+        currentPath = null;
+      } else if (fileTree != null && isModifying(ins)) {
+        fileTree.invalidate(getCurrentDF());
+      }
+    }
+    final int segmentSize = chainingSegmentSize;
+    if (segmentSize > 0 && commandAPDU.getNc() > segmentSize) {
+      int length = transmitChain(commandAPDU, segmentSize, responseAPDU.getBuffer());
+      if (responseChaining) {
+        length = getResponses(commandAPDU.getByte(0), responseAPDU, length);
+      }
+      responseAPDU.setLength(length);
+      return responseAPDU;
+    }
+    if (leCorrection) {
+      applyCachedLe(commandAPDU);
+    }
+    int length = exchange(commandAPDU.getBuffer(), 0, commandAPDU.getLength(), responseAPDU.getBuffer(), 0);
+    if (leCorrection && length == 2 && responseAPDU.getBuffer()[0] == SW1_WRONG_LE) {
+      final int le = responseAPDU.getBuffer()[1] & 0xFF;
+      patchLe(commandAPDU, le);
+      cacheLe(commandAPDU.getHeader(), le);
+      length = exchange(commandAPDU.getBuffer(), 0, commandAPDU.getLength(), responseAPDU.getBuffer(), 0);
+    }
+    if (responseChaining) {
+      length = getResponses(commandAPDU.getByte(0), responseAPDU, length);
+    }
+    responseAPDU.setLength(length);
+    return responseAPDU;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#transmitAsync(org.cardshell.smartcardshell.CommandAPDU)
+   */
+  @NonNull
+  @Override
+  public CompletableFuture<ResponseAPDU> transmitAsync(@NonNull final CommandAPDU commandAPDU) {
+    Assert.ARG.isNotNull(commandAPDU);
+    return submit(channel -> channel.transmit(commandAPDU));
+  }
+
+  /**
+   * {@inheritDoc} The work is run by the executor of this channel, which interleaves it with the work queued on the
+   * other channels of the card, if they share a {@link ChannelScheduler}.
+   *
+   * @see org.cardshell.smartcardshell.Channel#submit(java.util.function.Function)
+   */
+  @NonNull
+  @Override
+  public <T> CompletableFuture<T> submit(@NonNull final Function<? super Channel, T> work) {
+    Assert.ARG.isNotNull(work);
+    return CompletableFuture.supplyAsync(() -> work.apply(this), executor);
+  }
+
+  /**
+   * Returns the size of a response buffer able to hold the response to the given command. This is the number of expected
+   * response bytes plus the status word, but at least the size of a short response.
+   *
+   * @param commandAPDU
+   *          command to be transmitted
+   * @return size of the response buffer
+   */
+  protected static int getResponseLength(@NonNull final CommandAPDU commandAPDU) {
+    return Math.max(DEFAULT_RESPONSE_LENGTH, commandAPDU.getNe() + 2);
+  }
+
+  /**
+   * Transmits the given command bytes to the card and writes the response bytes into the given response buffer. This
+   * method is always called while holding the monitor of this channel.
+   *
+   * @param command
+   *          buffer holding the command APDU
+   * @param offset
+   *          offset of the command APDU within the command buffer
+   * @param length
+   *          length of the command APDU
+   * @param response
+   *          buffer to receive the response APDU, its remaining space behind the response offset limits the number of
+   *          response bytes
+   * @param responseOffset
+   *          offset within the response buffer the response is written to
+   * @return number of response bytes written including the status word
+   * @throws IllegalStateException
+   *           if the transmission failed
+   */
+  protected abstract int exchange(@NonNull byte[] command, int offset, int length, @NonNull byte[] response,
+      int responseOffset);
+
+  /**
+   * Forwards a raw exchange to another channel, so channels decorating it can reuse its transport without its
+   * transmission logic. The exchange is done while holding the monitor of the other channel.
+   *
+   * @param channel
+   *          channel doing the exchange
+   * @param command
+   *          buffer holding the command APDU
+   * @param offset
+   *          offset of the command APDU within the command buffer
+   * @param length
+   *          length of the command APDU
+   * @param response
+   *          buffer to receive the response APDU
+   * @param responseOffset
+   *          offset within the response buffer the response is written to
+   * @return number of response bytes written including the status word
+   * @throws IllegalStateException
+   *           if the transmission failed
+   * @see #exchange(byte[], int, int, byte[], int)
+   */
+  protected static int exchange(@NonNull final BasicChannel channel, @NonNull final byte[] command, final int offset,
+      final int length, @NonNull final byte[] response, final int responseOffset) {
+    synchronized (channel) {
+      return channel.exchange(command, offset, length, response, responseOffset);
+    }
+  }
+
+  /**
+   * Returns the executor of work queued on another channel, so channels decorating it can share its lane.
+   *
+   * @param channel
+   *          decorated channel
+   * @return executor of work queued on the given channel
+   */
+  @NonNull
+  protected static Executor getExecutor(@NonNull final BasicChannel channel) {
+    return Assert.ARG.isNotNull(channel).executor;
+  }
+
+  /**
+   * Returns the cache of the file system of another channel, so channels decorating it can share it.
+   *
+   * @param channel
+   *          decorated channel
+   * @return cache of the file system or {@code null}, if the given channel has none
+   */
+  @Nullable
+  protected static FileTree getFileTree(@NonNull final BasicChannel channel) {
+    return Assert.ARG.isNotNull(channel).fileTree;
+  }
+
+  /**
+   * Transmits the given command as a chain of short commands. Each chained command is written in front of its data
+   * segment into the buffer of the given command, so the data is never copied. The overwritten bytes are restored after
+   * each transmission. The chain is aborted, if any but the last command is not answered with status word 9000.
+   *
+   * @param commandAPDU
+   *          command to be transmitted, carrying more data bytes than the segment size
+   * @param segmentSize
+   *          maximum number of data bytes per chained command
+   * @param response
+   *          buffer to receive the response APDU
+   * @return number of response bytes received for the last command transmitted
+   */
+  private int transmitChain(final CommandAPDU commandAPDU, final int segmentSize, final byte[] response) {
+    final byte[] buffer = commandAPDU.getBuffer();
+    final byte cla = buffer[0];
+    final byte ins = buffer[1];
+    final byte p1 = buffer[2];
+    final byte p2 = buffer[3];
+    final int ne = commandAPDU.getNe();
+    final int end = commandAPDU.getDataOffset() + commandAPDU.getNc();
+    int length = 0;
+    for (int offset = commandAPDU.getDataOffset(); offset < end; offset += segmentSize) {
+      final int segmentLength = Math.min(segmentSize, end - offset);
+      final boolean last = offset + segmentLength == end;
+      final int header = offset - 5;
+      final int trailer = last && ne > 0 ? 1 : 0;
+      System.arraycopy(buffer, header, chainingBackup, 0, 5);
+      if (trailer > 0) {
+        chainingBackup[5] = buffer[end];
+      }
+      try {
+        buffer[header] = (byte) (last ? cla : cla | CLA_CHAINING);
+        buffer[header + 1] = ins;
+        buffer[header + 2] = p1;
+        buffer[header + 3] = p2;
+        buffer[header + 4] = (byte) segmentLength;
+        if (trailer > 0) {
+          buffer[end] = (byte) Math.min(ne, CommandAPDU.MAX_SHORT_NE);
+        }
+        length = exchange(buffer, header, 5 + segmentLength + trailer, response, 0);
+      } finally {
+        System.arraycopy(chainingBackup, 0, buffer, header, 5);
+        if (trailer > 0) {
+          buffer[end] = chainingBackup[5];
+        }
+      }
+      if (!last && (length != 2 || response[0] != SW1_OK || response[1] != 0)) {
+        break;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Fetches all remaining response bytes announced by status words 61xx and appends them to the response data already
+   * received. Fetching stops with the last 61xx status word, if the response data reaches the maximum {@code Ne} of
+   * {@value CommandAPDU#MAX_EXTENDED_NE} bytes or a GET RESPONSE returns no data, so a misbehaving card cannot keep
+   * the channel busy forever.
+   *
+   * @param cla
+   *          class byte of the original command
+   * @param responseAPDU
+   *          response holding the bytes received so far
+   * @param length
+   *          number of response bytes received so far
+   * @return the length of the complete response
+   */
+  private int getResponses(final int cla, final ResponseAPDU responseAPDU, final int length) {
+    int responseLength = length;
+    byte[] response = responseAPDU.getBuffer();
+    int previousDataLength = -1;
+    while (responseLength >= 2 && response[responseLength - 2] == SW1_BYTES_REMAINING
+        && responseLength - 2 > previousDataLength && responseLength - 2 < CommandAPDU.MAX_EXTENDED_NE) {
+      final int dataLength = responseLength - 2;
+      previousDataLength = dataLength;
+      final int remaining = response[responseLength - 1] & 0xFF;
+      getResponse[0] = getResponseClass(cla);
+      getResponse[1] = INS_GET_RESPONSE;
+      getResponse[4] = (byte) remaining;
+      responseAPDU.ensureCapacity(dataLength + (remaining == 0 ? 256 : remaining) + 2);
+      response = responseAPDU.getBuffer();
+      responseLength = dataLength + exchange(getResponse, 0, getResponse.length, response, dataLength);
+    }
+    return responseLength;
+  }
+
+  /**
+   * Returns the class byte of a GET RESPONSE command following a command of the given class. Interindustry classes are
+   * reduced to the logical channel number, proprietary classes like A0 of GSM cards are kept without the chaining bit.
+   *
+   * @param cla
+   *          class byte of the original command
+   * @return class byte of the GET RESPONSE command
+   */
+  private static byte getResponseClass(final int cla) {
+    if ((cla & 0x80) != 0) {
+      return (byte) (cla & ~CLA_CHAINING);
+    }
+    return (byte) ((cla & 0x40) == 0 ? cla & 0x03 : cla & 0x4F);
+  }
+
+  /**
+   * Patches the {@code Le} field of the given command with a remembered {@code Le}, if available. A SELECT command clears
+   * all remembered values instead, since they depend on the selected file.
+   *
+   * @param commandAPDU
+   *          command to be patched
+   */
+  private void applyCachedLe(final CommandAPDU commandAPDU) {
+    if (commandAPDU.getLength() < 4) {
+      return;
+    }
+    if (commandAPDU.getBuffer()[1] == INS_SELECT) {
+      clearLeCache();
+      return;
+    }
+    final int header = commandAPDU.getHeader();
+    final int index = leCacheIndex(header);
+    if (leCacheValues[index] != 0 && leCacheHeaders[index] == header && commandAPDU.getLeOffset() >= 0) {
+      patchLe(commandAPDU, leCacheValues[index] - 1);
+    }
+  }
+
+  private void cacheLe(final int header, final int le) {
+    final int index = leCacheIndex(header);
+    leCacheHeaders[index] = header;
+    leCacheValues[index] = le + 1;
+  }
+
+  private void clearLeCache() {
+    Arrays.fill(leCacheValues, 0);
+  }
+
+  private int leCacheIndex(final int header) {
+    final int hash = header * 0x9E3779B9;
+    return (hash ^ hash >>> 16) & LE_CACHE_SIZE - 1;
+  }
+
+  /**
+   * Sets the {@code Le} field of the given command within its buffer. If the command does not contain an {@code Le}
+   * field yet, it is appended.
+   *
+   * @param commandAPDU
+   *          command to be patched
+   * @param le
+   *          new value of the {@code Le} field
+   */
+  private void patchLe(final CommandAPDU commandAPDU, final int le) {
+    final boolean extended = commandAPDU.isExtended();
+    int offset = commandAPDU.getLeOffset();
+    if (offset < 0) {
+      offset = commandAPDU.getLength();
+      commandAPDU.ensureCapacity(offset + (extended ? 2 : 1));
+      commandAPDU.setLength(offset + (extended ? 2 : 1));
+    }
+    if (extended) {
+      commandAPDU.setByte(offset++, le >> 8);
+    }
+    commandAPDU.setByte(offset, le);
+  }
 }
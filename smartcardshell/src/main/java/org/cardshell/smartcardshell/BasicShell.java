@@ -0,0 +1,95 @@
+/******************************************************************************
+ * BasicShell.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell;
+
+import org.cardshell.smartcardshell.commons.Nullable;
+
+/**
+ * Basic implementation of a {@link Shell} keeping the selected {@link Terminal}, {@link Card} and {@link Channel}
+ * without any dependencies to hardware.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public abstract class BasicShell implements Shell {
+
+  /** selected card terminal */
+  private Terminal cardTerminal;
+
+  /** selected smartcard */
+  private Card card;
+
+  /** selected card channel */
+  private Channel cardChannel;
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#getSelectedCard()
+   */
+  @Nullable
+  @Override
+  public final Card getSelectedCard() {
+    return card;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#getSelectedCardChannel()
+   */
+  @Override
+  public final Channel getSelectedCardChannel() {
+    return cardChannel;
+
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#getSelectedCardTerminal()
+   */
+  @Nullable
+  @Override
+  public final Terminal getSelectedCardTerminal() {
+    return cardTerminal;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#selectCard(org.cardshell.smartcardshell.Card)
+   */
+  @Override
+  public final void selectCard(@Nullable final Card card) {
+    this.card = card;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#selectCardChannel(org.cardshell.smartcardshell.Channel)
+   */
+  @Override
+  public final void selectCardChannel(final Channel cardChannel) {
+    this.cardChannel = cardChannel;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#selectCardTerminal(org.cardshell.smartcardshell.Terminal)
+   */
+  @Override
+  public final void selectCardTerminal(@Nullable final Terminal cardTerminal) {
+    this.cardTerminal = cardTerminal;
+  }
+}
@@ -0,0 +1,168 @@
+/******************************************************************************
+ * BinaryFileReader.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import org.cardshell.smartcardshell.apdu.ReadBinary;
+import org.cardshell.smartcardshell.apdu.StatusWord;
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
+import org.cardshell.smartcardshell.apdu.TransmissionException;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Streams the content of the current transparent EF of a {@link Channel} into a {@link WritableByteChannel}. The file is
+ * read by READ BINARY commands in chunks as large as the card allows, each chunk is written to the sink as soon as it
+ * has been received, so the memory used does not depend on the size of the file.
+ * <p>
+ * The chunk size starts with the maximum given and is adapted to the card: a 6Cxx response reduces it to the length
+ * indicated by the card. If the card insists on more bytes than wanted, the command is sent once more with the exact
+ * length and only the bytes wanted are written. A 6700 response to an extended length command falls back to short length. A 6282 response
+ * (end of file reached before reading Le bytes) or a 6B00 response (offset outside the EF) ends the stream. The adapted
+ * chunk size is kept for subsequent reads.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class BinaryFileReader {
+
+  /** status word indicating normal processing */
+  private static final int SW_OK = 0x9000;
+
+  /** status word indicating that the end of the file was reached before reading Le bytes */
+  private static final int SW_END_OF_FILE = 0x6282;
+
+  /** status word indicating a wrong length */
+  private static final int SW_WRONG_LENGTH = 0x6700;
+
+  /** status word indicating an offset outside the EF */
+  private static final int SW_WRONG_OFFSET = 0x6B00;
+
+  /** status word 1 indicating a wrong {@code Le} field with the exact length given by status word 2 */
+  private static final int SW1_WRONG_LE = 0x6C;
+
+  /** channel to read from */
+  private final Channel channel;
+
+  /** current chunk size */
+  private int chunkSize;
+
+  /**
+   * Creates a new instance reading chunks of up to 256 bytes.
+   *
+   * @param channel
+   *          channel to read from
+   */
+  public BinaryFileReader(@NonNull final Channel channel) {
+    this(channel, CommandAPDU.MAX_SHORT_NE);
+  }
+
+  /**
+   * Creates a new instance reading chunks of up to the given size.
+   *
+   * @param channel
+   *          channel to read from
+   * @param maxChunkSize
+   *          maximum chunk size, sizes beyond 256 bytes require extended length support of the card
+   */
+  public BinaryFileReader(@NonNull final Channel channel, final int maxChunkSize) {
+    this.channel = Assert.ARG.isNotNull(channel);
+    Assert.ARG.isTrue(maxChunkSize > 0 && maxChunkSize <= CommandAPDU.MAX_EXTENDED_NE, "Chunk size out of range");
+    chunkSize = maxChunkSize;
+  }
+
+  /**
+   * Returns the current chunk size, i.e. the maximum given or the size adapted to the card.
+   *
+   * @return current chunk size
+   */
+  public synchronized int getChunkSize() {
+    return chunkSize;
+  }
+
+  /**
+   * Reads from the current EF of the channel and writes the data into the given sink.
+   *
+   * @param offset
+   *          offset to start reading at, at most {@link ReadBinary#MAX_OFFSET}
+   * @param length
+   *          maximum number of bytes to read or a negative value to read until the end of the file
+   * @param sink
+   *          sink receiving the data, it is not closed
+   * @return number of bytes read
+   * @throws IOException
+   *           if writing to the sink fails
+   * @throws TransmissionException
+   *           if the card answers with an error
+   * @throws IllegalStateException
+   *           if the transmission failed
+   */
+  public synchronized long read(final int offset, final long length, @NonNull final WritableByteChannel sink)
+      throws IOException {
+    Assert.ARG.isNotNull(sink);
+    final ReadBinary command = new ReadBinary(channel, offset, chunkSize);
+    final ResponseAPDU response = new ResponseAPDU(chunkSize + 2);
+    ByteBuffer data = ByteBuffer.wrap(response.getBuffer());
+    int position = offset;
+    long total = 0;
+    int exactNe = 0;
+    while ((length < 0 || total < length) && position <= ReadBinary.MAX_OFFSET) {
+      final int wanted = length < 0 ? chunkSize : (int) Math.min(chunkSize, length - total);
+      final int ne = exactNe > 0 ? exactNe : wanted;
+      command.set(position, ne);
+      channel.transmit(command, response);
+      final int sw = response.getSW();
+      if (sw >>> 8 == SW1_WRONG_LE && (sw & 0xFF) != ne % 256) {
+        final int exact = (sw & 0xFF) == 0 ? CommandAPDU.MAX_SHORT_NE : sw & 0xFF;
+        if (exact < wanted) {
+          chunkSize = exact;
+          exactNe = 0;
+        } else if (exactNe == 0) {
+          exactNe = exact;
+        } else {
+          throw new TransmissionException(command.evaluate(response), response);
+        }
+        continue;
+      }
+      exactNe = 0;
+      if (sw == SW_WRONG_LENGTH && ne > CommandAPDU.MAX_SHORT_NE) {
+        chunkSize = CommandAPDU.MAX_SHORT_NE;
+        continue;
+      }
+      if (sw == SW_WRONG_OFFSET) {
+        break;
+      }
+      if (sw != SW_OK && sw != SW_END_OF_FILE) {
+        final StatusWord statusWord = command.evaluate(response);
+        if (statusWord.getSeverity() == Severity.ERROR) {
+          throw new TransmissionException(statusWord, response);
+        }
+      }
+      final int count = Math.min(response.getLength() - 2, wanted);
+      if (data.array() != response.getBuffer()) {
+        data = ByteBuffer.wrap(response.getBuffer());
+      }
+      data.clear().limit(count);
+      while (data.hasRemaining()) {
+        sink.write(data);
+      }
+      position += count;
+      total += count;
+      if (sw == SW_END_OF_FILE || count == 0) {
+        break;
+      }
+    }
+    return total;
+  }
+}
@@ -12,7 +12,10 @@ package org.cardshell.smartcardshell;
 
 import java.util.List;
 
+import java.util.function.Consumer;
+
 import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
 
 /**
  * Representation of a smartcard.
@@ -30,6 +33,27 @@ public interface Card {
   @NonNull
   public List<Channel> getCardChannels();
 
+  /**
+   * Returns the open {@link Channel} with the given name.
+   *
+   * @param name
+   *          name of the {@link Channel}
+   * @return open {@link Channel} with the given name or {@code null}, if no such {@link Channel} is open
+   */
+  @Nullable
+  public Channel getCardChannel(@NonNull String name);
+
+  /**
+   * Calls the given action for all open {@link Channel}s whose names start with the given prefix, in the order of their
+   * names.
+   *
+   * @param prefix
+   *          name prefix or {@code null} to enumerate all open {@link Channel}s
+   * @param action
+   *          action to be called with each {@link Channel}
+   */
+  public void forEachCardChannel(@Nullable String prefix, @NonNull Consumer<Channel> action);
+
   /**
    * Returns a (human readable) name of the card.
    *
@@ -38,6 +62,22 @@ public interface Card {
   @NonNull
   public String getName();
 
+  /**
+   * Returns the answer to reset of the card.
+   *
+   * @return ATR
+   */
+  @NonNull
+  public byte[] getATR();
+
+  /**
+   * Returns the cache of the file system of the card, populated by the files selected through its channels.
+   *
+   * @return file system cache
+   */
+  @NonNull
+  public FileTree getFileTree();
+
   /**
    * Tries to open a new {@link Channel}.
    *
@@ -48,4 +88,14 @@ public interface Card {
   @NonNull
   public Channel openChannel();
 
+  /**
+   * Closes a logical {@link Channel} opened by {@link #openChannel()} and removes it from the open channels.
+   *
+   * @param cardChannel
+   *          {@link Channel} to be closed
+   * @throws IllegalArgumentException
+   *           if the given {@link Channel} is not an open logical channel of this card or the basic channel
+   */
+  public void closeChannel(@NonNull Channel cardChannel);
+
 }
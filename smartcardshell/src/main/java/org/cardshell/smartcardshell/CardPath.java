@@ -0,0 +1,263 @@
+/******************************************************************************
+ * CardPath.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell;
+
+import java.util.Arrays;
+
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Immutable absolute path of a {@link File}, i.e. the file identifiers of the files leading from the master file (MF)
+ * to the file. Paths are written like {@code /7F10/6F01}, the MF itself is written as {@code /}.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class CardPath {
+
+  /** file identifier of the master file */
+  public static final int MF_ID = 0x3F00;
+
+  /** path of the master file */
+  public static final CardPath MF = new CardPath(new int[0]);
+
+  /** separator of path components */
+  private static final char SEPARATOR = '/';
+
+  /** file identifiers below the MF */
+  private final int[] fids;
+
+  private CardPath(final int[] fids) {
+    this.fids = fids;
+  }
+
+  /**
+   * Creates the path of the given file identifiers below the MF.
+   *
+   * @param fids
+   *          file identifiers leading from the MF to the file, excluding the MF itself
+   * @return path
+   */
+  @NonNull
+  public static CardPath of(@NonNull final int... fids) {
+    final int[] copy = Assert.ARG.isNotNull(fids).clone();
+    for (int i = 0; i < copy.length; i++) {
+      Assert.ARG.isTrue(copy[i] >= 0 && copy[i] <= 0xFFFF && copy[i] != MF_ID, "Invalid file identifier");
+    }
+    return new CardPath(copy);
+  }
+
+  /**
+   * Parses the given path. Absolute paths start with {@code /} or the MF ({@code MF} or {@code 3F00}), relative paths
+   * are resolved against the given DF. Components are separated by {@code /} and are either four hexadecimal digits,
+   * {@code ..} for the parent DF or {@code .} for the DF itself.
+   *
+   * @param path
+   *          path to be parsed, e.g. {@code /7F10/6F01}, {@code 3F00/2F01}, {@code ../7F20} or {@code 6F02}
+   * @param base
+   *          DF relative paths are resolved against or {@code null}, if unknown
+   * @return absolute path
+   * @throws IllegalArgumentException
+   *           if the path is invalid or relative while the base is unknown
+   */
+  @NonNull
+  public static CardPath parse(@NonNull final String path, @Nullable final CardPath base) {
+    final String trimmed = Assert.ARG.isNotNull(path).trim();
+    int start = 0;
+    CardPath result = base;
+    if (trimmed.startsWith(String.valueOf(SEPARATOR))) {
+      result = MF;
+      start = 1;
+    }
+    while (start < trimmed.length()) {
+      int end = trimmed.indexOf(SEPARATOR, start);
+      end = end < 0 ? trimmed.length() : end;
+      final String component = trimmed.substring(start, end);
+      start = end + 1;
+      if (component.isEmpty() || component.equals(".")) {
+        continue;
+      }
+      if (component.equalsIgnoreCase("MF") || component.equalsIgnoreCase("3F00")) {
+        result = MF;
+        continue;
+      }
+      if (result == null) {
+        throw new IllegalArgumentException("Current DF unknown, use an absolute path [" + path + "]");
+      }
+      if (component.equals("..")) {
+        result = result.isMasterFile() ? MF : result.getParent();
+        continue;
+      }
+      if (component.length() != 4) {
+        throw new IllegalArgumentException("Invalid file identifier [" + component + "]");
+      }
+      final byte[] fid = new byte[2];
+      Hex.decode(component, fid, 0);
+      result = result.resolve((fid[0] & 0xFF) << 8 | fid[1] & 0xFF);
+    }
+    if (result == null) {
+      throw new IllegalArgumentException("Current DF unknown, use an absolute path [" + path + "]");
+    }
+    return result;
+  }
+
+  /**
+   * Returns whether the given file identifier is conventionally used for DFs, i.e. starts with {@code 3F}, {@code 5F} or
+   * {@code 7F}. Used, if the card does not return a file descriptor.
+   *
+   * @param fid
+   *          file identifier
+   * @return {@code true}, if the file identifier denotes a DF by convention, {@code false} otherwise
+   */
+  public static boolean isDedicatedFileId(final int fid) {
+    final int prefix = fid >>> 8 & 0xFF;
+    return prefix == 0x3F || prefix == 0x5F || prefix == 0x7F;
+  }
+
+  /**
+   * Returns the path of the child with the given file identifier.
+   *
+   * @param fid
+   *          file identifier of the child
+   * @return path of the child
+   * @throws IllegalArgumentException
+   *           if the file identifier is invalid or the MF
+   */
+  @NonNull
+  public CardPath resolve(final int fid) {
+    Assert.ARG.isTrue(fid >= 0 && fid <= 0xFFFF && fid != MF_ID, "Invalid file identifier");
+    final int[] child = Arrays.copyOf(fids, fids.length + 1);
+    child[fids.length] = fid;
+    return new CardPath(child);
+  }
+
+  /**
+   * Returns the path of the parent DF.
+   *
+   * @return path of the parent DF or {@code null}, if this is the path of the MF
+   */
+  @Nullable
+  public CardPath getParent() {
+    return fids.length == 0 ? null : new CardPath(Arrays.copyOf(fids, fids.length - 1));
+  }
+
+  /**
+   * Returns whether this path equals the given one or denotes a file below it.
+   *
+   * @param ancestor
+   *          path of the potential ancestor
+   * @return {@code true}, if this path starts with the given path, {@code false} otherwise
+   */
+  public boolean startsWith(@NonNull final CardPath ancestor) {
+    if (Assert.ARG.isNotNull(ancestor).fids.length > fids.length) {
+      return false;
+    }
+    for (int i = 0; i < ancestor.fids.length; i++) {
+      if (fids[i] != ancestor.fids[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether this is the path of the MF.
+   *
+   * @return {@code true}, if this is the path of the MF, {@code false} otherwise
+   */
+  public boolean isMasterFile() {
+    return fids.length == 0;
+  }
+
+  /**
+   * Returns the number of files below the MF.
+   *
+   * @return depth, 0 for the MF
+   */
+  public int getDepth() {
+    return fids.length;
+  }
+
+  /**
+   * Returns the file identifier of the file denoted by this path.
+   *
+   * @return file identifier, {@link #MF_ID} for the MF
+   */
+  public int getFileId() {
+    return fids.length == 0 ? MF_ID : fids[fids.length - 1];
+  }
+
+  /**
+   * Returns the file identifier of the file denoted by this path as 2 bytes.
+   *
+   * @return file identifier
+   */
+  @NonNull
+  public byte[] getFileIdBytes() {
+    final int fid = getFileId();
+    return new byte[] { (byte) (fid >>> 8), (byte) fid };
+  }
+
+  /**
+   * Returns the path encoded for a SELECT by path from the MF, i.e. the file identifiers below the MF as 2 bytes each.
+   *
+   * @return encoded path, empty for the MF
+   */
+  @NonNull
+  public byte[] getPathBytes() {
+    final byte[] bytes = new byte[fids.length * 2];
+    for (int i = 0; i < fids.length; i++) {
+      bytes[i * 2] = (byte) (fids[i] >>> 8);
+      bytes[i * 2 + 1] = (byte) fids[i];
+    }
+    return bytes;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#equals(java.lang.Object)
+   */
+  @Override
+  public boolean equals(final Object obj) {
+    return obj instanceof CardPath && Arrays.equals(fids, ((CardPath) obj).fids);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#hashCode()
+   */
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(fids);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    if (fids.length == 0) {
+      return String.valueOf(SEPARATOR);
+    }
+    final StringBuilder builder = new StringBuilder(fids.length * 5);
+    for (final int fid : fids) {
+      Hex.append(Hex.append(builder.append(SEPARATOR), fid >>> 8), fid);
+    }
+    return builder.toString();
+  }
+}
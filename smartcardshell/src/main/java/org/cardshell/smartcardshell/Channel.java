@@ -10,6 +10,9 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
 import org.cardshell.smartcardshell.commons.NonNull;
 import org.cardshell.smartcardshell.commons.Nullable;
 
@@ -53,6 +56,34 @@ public interface Channel {
   @Nullable
   public String selectCardFile(@NonNull File cardFile);
 
+  /**
+   * Returns the path of the file currently selected within this {@link Channel}. The path is tracked by the selections
+   * done through this channel and becomes unknown, if a SELECT command is transmitted directly.
+   *
+   * @return path of the current file or {@code null}, if unknown
+   */
+  @Nullable
+  public CardPath getCurrentPath();
+
+  /**
+   * Returns the path of the current DF, i.e. the current file, if it is a DF, or its parent otherwise.
+   *
+   * @return path of the current DF or {@code null}, if unknown
+   */
+  @Nullable
+  public CardPath getCurrentDF();
+
+  /**
+   * Selects the file with the given path using as few commands as possible: nothing is transmitted, if the file is
+   * already current, otherwise a single SELECT by file identifier or by path.
+   *
+   * @param path
+   *          absolute path of the file to be selected
+   * @return warning message or {@code null}, if selection was successful or not needed
+   */
+  @Nullable
+  public String selectCardPath(@NonNull CardPath path);
+
   public ResponseAPDU transmit(@NonNull byte[] commandAPDU);
 
   /**
@@ -64,4 +95,46 @@ public interface Channel {
    */
   @NonNull
   public ResponseAPDU transmit(@NonNull CommandAPDU commandAPDU);
+
+  /**
+   * Send an {@link CommandAPDU} request to this card and writes the response into the given {@link ResponseAPDU}. The
+   * buffer of the given {@link ResponseAPDU} is reused and its length is set to the length of the received response, so
+   * repeated transmissions with the same instances do not allocate any further objects.
+   *
+   * @param commandAPDU
+   *          {@link CommandAPDU} as command request
+   * @param responseAPDU
+   *          {@link ResponseAPDU} to be filled with the command response, its buffer has to be large enough to hold the
+   *          expected response including the status word
+   * @return the given {@link ResponseAPDU} holding the command response
+   */
+  @NonNull
+  public ResponseAPDU transmit(@NonNull CommandAPDU commandAPDU, @NonNull ResponseAPDU responseAPDU);
+
+  /**
+   * Sends an {@link CommandAPDU} request to this card without blocking the calling thread. Commands submitted to the
+   * same channel are transmitted one after another in submission order, so dependent commands can be composed, e.g.
+   * {@code transmitAsync(select).thenCompose(r -> transmitAsync(read))}. The command must not be modified until the
+   * returned future has completed.
+   *
+   * @param commandAPDU
+   *          {@link CommandAPDU} as command request
+   * @return future completed with the {@link ResponseAPDU} or exceptionally, if the transmission failed
+   */
+  @NonNull
+  public CompletableFuture<ResponseAPDU> transmitAsync(@NonNull CommandAPDU commandAPDU);
+
+  /**
+   * Queues work on this channel without blocking the calling thread, e.g. a sequence of commands to be transmitted
+   * together. Work queued on the same channel, including {@link #transmitAsync(CommandAPDU)}, is run one after another
+   * in submission order.
+   *
+   * @param <T>
+   *          type of the result
+   * @param work
+   *          work to be run with this channel
+   * @return future completed with the result of the work or exceptionally, if the work failed
+   */
+  @NonNull
+  public <T> CompletableFuture<T> submit(@NonNull Function<? super Channel, T> work);
 }
@@ -0,0 +1,122 @@
+/******************************************************************************
+ * ChannelScheduler.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Schedules the work queued on the logical {@link Channel}s of one {@link Card}. Each channel gets its own lane, whose
+ * tasks are run in submission order. The lanes holding work are serviced round-robin, one task per turn, and only one
+ * task of the card runs at a time, so a channel with a long queue cannot hold back the others and work of independent
+ * applets is transmitted back-to-back on the same connection.
+ * <p>
+ * The scheduler borrows one thread of a shared {@link Executor} while work is queued and hands it back after a batch of
+ * tasks. Since each channel keeps its own file selection, interleaving the tasks of different channels does not affect
+ * their results.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ChannelScheduler {
+
+  /** logger */
+  private static final Logger LOG = Logger.getLogger(ChannelScheduler.class.getName());
+
+  /** maximum number of tasks run before the thread is handed back to the shared executor */
+  private static final int BATCH_SIZE = 16;
+
+  /** executor providing the threads */
+  private final Executor executor;
+
+  /** lanes holding work in the order they are serviced, each lane is contained at most once */
+  private final Queue<Lane> ready = new ConcurrentLinkedQueue<>();
+
+  /** number of queued tasks of all lanes, the submitter raising it from 0 starts the drain */
+  private final AtomicInteger pending = new AtomicInteger();
+
+  /** drains the lanes */
+  private final Runnable drain = this::drain;
+
+  /**
+   * Lane of a single channel.
+   */
+  private final class Lane implements Executor {
+
+    /** tasks waiting to be run */
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /** number of queued tasks, the submitter raising it from 0 makes the lane ready */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+     */
+    @Override
+    public void execute(@NonNull final Runnable task) {
+      tasks.add(Assert.ARG.isNotNull(task));
+      if (size.getAndIncrement() == 0) {
+        ready.add(this);
+      }
+      if (pending.getAndIncrement() == 0) {
+        executor.execute(drain);
+      }
+    }
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param executor
+   *          executor providing the threads, usually shared by many cards
+   */
+  public ChannelScheduler(@NonNull final Executor executor) {
+    this.executor = Assert.ARG.isNotNull(executor);
+  }
+
+  /**
+   * Creates a new lane for a channel. Tasks executed by the returned {@link Executor} are run in submission order,
+   * interleaved with the tasks of the other lanes of this scheduler.
+   *
+   * @return executor of the new lane
+   */
+  @NonNull
+  public Executor createLane() {
+    return new Lane();
+  }
+
+  private void drain() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      final Lane lane = ready.poll();
+      try {
+        lane.tasks.poll().run();
+      } catch (final RuntimeException e) {
+        LOG.log(Level.WARNING, "Task failed", e);
+      }
+      if (lane.size.decrementAndGet() > 0) {
+        ready.add(lane);
+      }
+      if (pending.decrementAndGet() == 0) {
+        return;
+      }
+    }
+    executor.execute(drain);
+  }
+}
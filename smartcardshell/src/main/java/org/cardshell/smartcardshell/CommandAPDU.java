@@ -10,6 +10,9 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell;
 
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+
 /**
  * Application Protocol Data Unit (APDU) for command requests to smartcards.
  *
@@ -18,6 +21,21 @@ package org.cardshell.smartcardshell;
  */
 public class CommandAPDU extends APDU {
 
+  /** empty command data */
+  private static final byte[] EMPTY = new byte[0];
+
+  /** maximum number of data bytes of a short APDU */
+  public static final int MAX_SHORT_NC = 255;
+
+  /** maximum number of expected response bytes of a short APDU */
+  public static final int MAX_SHORT_NE = 256;
+
+  /** maximum number of data bytes of an extended length APDU */
+  public static final int MAX_EXTENDED_NC = 65535;
+
+  /** maximum number of expected response bytes of an extended length APDU */
+  public static final int MAX_EXTENDED_NE = 65536;
+
   /**
    * Creates a new mutable command APDU and initializes it with the given buffer. The internal buffer's length is set to
    * the length of the buffer passed.
@@ -55,4 +73,181 @@ public class CommandAPDU extends APDU {
   public CommandAPDU(final int size) {
     super(size);
   }
+
+  /**
+   * Creates a new mutable command APDU from the given header, data and number of expected response bytes. The
+   * {@code Lc} and {@code Le} fields are encoded in short form, if possible, or in extended form otherwise.
+   *
+   * @param cla
+   *          class byte
+   * @param ins
+   *          instruction byte
+   * @param p1
+   *          parameter byte 1
+   * @param p2
+   *          parameter byte 2
+   * @param data
+   *          command data or {@code null}, if the command has no data
+   * @param ne
+   *          number of expected response bytes or 0, if no response data is expected
+   * @throws IllegalArgumentException
+   *           if the data or the number of expected response bytes exceed the extended length limits
+   */
+  public CommandAPDU(final int cla, final int ins, final int p1, final int p2, @Nullable final byte[] data,
+      final int ne) throws IllegalArgumentException {
+    this(encodedLength(data == null ? 0 : data.length, ne));
+    append((byte) cla);
+    append((byte) ins);
+    append((byte) p1);
+    append((byte) p2);
+    appendBody(data == null ? EMPTY : data, ne);
+  }
+
+  /**
+   * Returns the command header consisting of {@code CLA}, {@code INS}, {@code P1} and {@code P2} as an integer. It is
+   * computed as: ((CLA<<24) | (INS<<16) | (P1<<8) | P2).
+   *
+   * @return command header as integer
+   * @throws IndexOutOfBoundsException
+   *           if the buffered APDU is shorter than a command header
+   */
+  public final int getHeader() {
+    if (apduLength < 4) {
+      throw new IndexOutOfBoundsException();
+    }
+    return (apdu[0] & 0xFF) << 24 | (apdu[1] & 0xFF) << 16 | (apdu[2] & 0xFF) << 8 | apdu[3] & 0xFF;
+  }
+
+  /**
+   * Returns the number of bytes needed to encode a command APDU with the given number of data bytes and expected response
+   * bytes. Extended length encoding is used, if any of them exceeds the limits of short APDUs.
+   *
+   * @param nc
+   *          number of data bytes
+   * @param ne
+   *          number of expected response bytes
+   * @return the length of the encoded command APDU
+   * @throws IllegalArgumentException
+   *           if any of the given numbers exceeds the extended length limits
+   */
+  public static final int encodedLength(final int nc, final int ne) throws IllegalArgumentException {
+    if (nc < 0 || nc > MAX_EXTENDED_NC || ne < 0 || ne > MAX_EXTENDED_NE) {
+      throw new IllegalArgumentException(String.format("Invalid APDU body length Nc=%d, Ne=%d", nc, ne));
+    }
+    if (nc <= MAX_SHORT_NC && ne <= MAX_SHORT_NE) {
+      return 4 + (nc > 0 ? 1 + nc : 0) + (ne > 0 ? 1 : 0);
+    }
+    return 4 + (nc > 0 ? 3 + nc : 0) + (ne > 0 ? nc > 0 ? 2 : 3 : 0);
+  }
+
+  /**
+   * Appends the {@code Lc} field, the given data and the {@code Le} field to the buffered command header. Both length
+   * fields are encoded in short form, if possible, or in extended form otherwise.
+   *
+   * @param data
+   *          command data, may be empty
+   * @param ne
+   *          number of expected response bytes or 0, if no response data is expected
+   * @throws IllegalArgumentException
+   *           if the data or the number of expected response bytes exceed the extended length limits
+   * @throws IndexOutOfBoundsException
+   *           if the buffer size is exceeded
+   */
+  protected final void appendBody(@NonNull final byte[] data, final int ne) throws IllegalArgumentException,
+  IndexOutOfBoundsException {
+    final int nc = data.length;
+    encodedLength(nc, ne);
+    final boolean extended = nc > MAX_SHORT_NC || ne > MAX_SHORT_NE;
+    if (nc > 0) {
+      if (extended) {
+        append((byte) 0);
+        append((byte) (nc >> 8));
+      }
+      append((byte) nc);
+      append(data);
+    }
+    if (ne > 0) {
+      if (extended) {
+        if (nc == 0) {
+          append((byte) 0);
+        }
+        append((byte) (ne >> 8));
+      }
+      append((byte) ne);
+    }
+  }
+
+  /**
+   * Returns whether the buffered APDU uses extended length encoding.
+   *
+   * @return {@code true}, if the {@code Lc} or {@code Le} field is encoded in extended form, {@code false} otherwise
+   */
+  public final boolean isExtended() {
+    return apduLength >= 7 && apdu[4] == 0;
+  }
+
+  /**
+   * Returns the position of the command data within the buffer.
+   *
+   * @return position of the command data or -1, if the buffered APDU does not contain command data
+   */
+  public final int getDataOffset() {
+    if (getNc() == 0) {
+      return -1;
+    }
+    return isExtended() ? 7 : 5;
+  }
+
+  /**
+   * Returns the number of command data bytes given by the {@code Lc} field.
+   *
+   * @return number of command data bytes or 0, if the buffered APDU does not contain command data
+   */
+  public final int getNc() {
+    if (apduLength <= 5 || isExtended() && apduLength == 7) {
+      return 0;
+    }
+    return isExtended() ? (apdu[5] & 0xFF) << 8 | apdu[6] & 0xFF : apdu[4] & 0xFF;
+  }
+
+  /**
+   * Returns the number of expected response bytes given by the {@code Le} field.
+   *
+   * @return number of expected response bytes or 0, if the buffered APDU does not contain an {@code Le} field
+   */
+  public final int getNe() {
+    final int offset = getLeOffset();
+    if (offset < 0) {
+      return 0;
+    }
+    if (isExtended()) {
+      final int ne = (apdu[apduLength - 2] & 0xFF) << 8 | apdu[apduLength - 1] & 0xFF;
+      return ne == 0 ? MAX_EXTENDED_NE : ne;
+    }
+    final int ne = apdu[offset] & 0xFF;
+    return ne == 0 ? MAX_SHORT_NE : ne;
+  }
+
+  /**
+   * Returns the position of the {@code Le} field within the buffer. For extended length APDUs this is the position of
+   * the first of the two {@code Le} bytes following the {@code Lc} field or the leading zero byte.
+   *
+   * @return position of the {@code Le} field or -1, if the buffered APDU does not contain an {@code Le} field
+   */
+  public final int getLeOffset() {
+    if (apduLength == 5) {
+      return 4;
+    }
+    if (isExtended()) {
+      if (apduLength == 7) {
+        return 5;
+      }
+      final int nc = (apdu[5] & 0xFF) << 8 | apdu[6] & 0xFF;
+      return apduLength == 9 + nc ? apduLength - 2 : -1;
+    }
+    if (apduLength > 5 && apduLength == 6 + (apdu[4] & 0xFF)) {
+      return apduLength - 1;
+    }
+    return -1;
+  }
 }
@@ -0,0 +1,406 @@
+/******************************************************************************
+ * FileInfo.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Immutable metadata of a card {@link File} as returned by SELECT, i.e. the file control parameters (FCP, tag 62) or
+ * the file control information (FCI, tag 6F) according to ISO/IEC 7816-4.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class FileInfo {
+
+  /**
+   * Enumerates the file structures coded in the file descriptor byte.
+   */
+  public enum Structure {
+
+    /** master file or dedicated file */
+    DF("DF"),
+
+    /** elementary file with transparent structure */
+    TRANSPARENT("transparent EF"),
+
+    /** elementary file with linear fixed record structure */
+    LINEAR_FIXED("linear fixed EF"),
+
+    /** elementary file with linear variable record structure */
+    LINEAR_VARIABLE("linear variable EF"),
+
+    /** elementary file with cyclic record structure */
+    CYCLIC("cyclic EF"),
+
+    /** structure not given or not known */
+    UNKNOWN("file");
+
+    private final String text;
+
+    private Structure(final String text) {
+      this.text = text;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Enum#toString()
+     */
+    @Override
+    public String toString() {
+      return text;
+    }
+  }
+
+  /** tag of the FCP template */
+  private static final int TAG_FCP = 0x62;
+
+  /** tag of the FCI template */
+  private static final int TAG_FCI = 0x6F;
+
+  /** tag of the number of data bytes, excluding structural information */
+  private static final int TAG_SIZE = 0x80;
+
+  /** tag of the number of data bytes, including structural information */
+  private static final int TAG_TOTAL_SIZE = 0x81;
+
+  /** tag of the file descriptor */
+  private static final int TAG_DESCRIPTOR = 0x82;
+
+  /** tag of the file identifier */
+  private static final int TAG_FILE_ID = 0x83;
+
+  /** tag of the DF name */
+  private static final int TAG_DF_NAME = 0x84;
+
+  /** tag of the life cycle status byte */
+  private static final int TAG_LIFE_CYCLE = 0x8A;
+
+  /** tags of the security attributes: proprietary, expanded, compact and expanded in template format */
+  private static final int[] SECURITY_TAGS = { 0x86, 0x8B, 0x8C, 0xA1, 0xAB };
+
+  /** file identifier */
+  private final int fileId;
+
+  /** file structure */
+  private final Structure structure;
+
+  /** file size in bytes or -1, if unknown */
+  private final int size;
+
+  /** maximum record length or -1, if unknown */
+  private final int recordLength;
+
+  /** number of records or -1, if unknown */
+  private final int recordCount;
+
+  /** DF name (AID) or {@code null} */
+  private final byte[] name;
+
+  /** life cycle status byte or -1, if unknown */
+  private final int lifeCycle;
+
+  /** security attributes as concatenated TLV objects, empty if not given */
+  private final byte[] securityAttributes;
+
+  /** encoded FCP or FCI template */
+  private final byte[] encoded;
+
+  private FileInfo(final int fileId, final Structure structure, final int size, final int recordLength,
+      final int recordCount, final byte[] name, final int lifeCycle, final byte[] securityAttributes,
+      final byte[] encoded) {
+    this.fileId = fileId;
+    this.structure = structure;
+    this.size = size;
+    this.recordLength = recordLength;
+    this.recordCount = recordCount;
+    this.name = name;
+    this.lifeCycle = lifeCycle;
+    this.securityAttributes = securityAttributes;
+    this.encoded = encoded;
+  }
+
+  /**
+   * Parses the FCP or FCI template returned by SELECT. Data objects not described by ISO/IEC 7816-4 are ignored.
+   *
+   * @param fileId
+   *          file identifier of the selected file, used if the template does not contain one
+   * @param data
+   *          buffer holding the response data
+   * @param offset
+   *          offset of the template
+   * @param length
+   *          length of the response data, excluding the status word
+   * @return parsed metadata or {@code null}, if the data is not an FCP or FCI template
+   */
+  @Nullable
+  public static FileInfo parse(final int fileId, @NonNull final byte[] data, final int offset, final int length) {
+    Assert.ARG.isNotNull(data);
+    final int end = offset + length;
+    if (length < 2 || (data[offset] & 0xFF) != TAG_FCP && (data[offset] & 0xFF) != TAG_FCI) {
+      return null;
+    }
+    final long template = readLength(data, offset + 1, end);
+    if (template < 0 || (int) template + (int) (template >>> 32) > end) {
+      return null;
+    }
+    int fid = fileId;
+    Structure structure = Structure.UNKNOWN;
+    int size = -1;
+    int recordLength = -1;
+    int recordCount = -1;
+    byte[] name = null;
+    int lifeCycle = -1;
+    final ByteArrayOutputStream security = new ByteArrayOutputStream();
+    int position = (int) (template >>> 32);
+    final int templateEnd = position + (int) template;
+    while (position + 2 <= templateEnd) {
+      final int tagOffset = position;
+      final int tag = data[position++] & 0xFF;
+      final long encoded = readLength(data, position, templateEnd);
+      if (encoded < 0 || (int) (encoded >>> 32) + (int) encoded > templateEnd) {
+        break;
+      }
+      final int value = (int) (encoded >>> 32);
+      final int valueLength = (int) encoded;
+      position = value + valueLength;
+      switch (tag) {
+        case TAG_SIZE:
+          size = (int) readNumber(data, value, valueLength);
+          break;
+        case TAG_TOTAL_SIZE:
+          size = size < 0 ? (int) readNumber(data, value, valueLength) : size;
+          break;
+        case TAG_DESCRIPTOR:
+          if (valueLength > 0) {
+            structure = toStructure(data[value]);
+          }
+          // maximum record size in one or two bytes, followed by the number of records in one or two bytes
+          if (valueLength >= 3) {
+            recordLength = (int) readNumber(data, value + 2, Math.min(valueLength - 2, 2));
+          }
+          if (valueLength >= 5) {
+            recordCount = (int) readNumber(data, value + 4, Math.min(valueLength - 4, 2));
+          }
+          break;
+        case TAG_FILE_ID:
+          fid = valueLength == 2 ? (int) readNumber(data, value, 2) : fid;
+          break;
+        case TAG_DF_NAME:
+          name = new byte[valueLength];
+          System.arraycopy(data, value, name, 0, valueLength);
+          break;
+        case TAG_LIFE_CYCLE:
+          lifeCycle = valueLength == 1 ? data[value] & 0xFF : lifeCycle;
+          break;
+        default:
+          if (isSecurityTag(tag)) {
+            security.write(data, tagOffset, position - tagOffset);
+          }
+      }
+    }
+    return new FileInfo(fid, structure, size, recordLength, recordCount, name, lifeCycle, security.toByteArray(),
+        Arrays.copyOfRange(data, offset, templateEnd));
+  }
+
+  /**
+   * Reads a BER-TLV length field.
+   *
+   * @return offset of the value in the upper and its length in the lower 32 bits or -1, if the length is invalid
+   */
+  private static long readLength(final byte[] data, final int offset, final int end) {
+    if (offset >= end) {
+      return -1;
+    }
+    final int first = data[offset] & 0xFF;
+    if (first < 0x80) {
+      return (long) (offset + 1) << 32 | first;
+    }
+    final int count = first & 0x7F;
+    if (count == 0 || count > 2 || offset + 1 + count > end) {
+      return -1;
+    }
+    return (long) (offset + 1 + count) << 32 | readNumber(data, offset + 1, count);
+  }
+
+  private static long readNumber(final byte[] data, final int offset, final int length) {
+    long number = 0;
+    for (int i = offset; i < offset + Math.min(length, 4); i++) {
+      number = number << 8 | data[i] & 0xFF;
+    }
+    return number;
+  }
+
+  private static Structure toStructure(final byte descriptor) {
+    if ((descriptor & 0xBF) == 0x38) {
+      return Structure.DF;
+    }
+    if ((descriptor & 0x80) != 0) {
+      return Structure.UNKNOWN;
+    }
+    switch (descriptor & 0x07) {
+      case 1:
+        return Structure.TRANSPARENT;
+      case 2:
+      case 3:
+        return Structure.LINEAR_FIXED;
+      case 4:
+      case 5:
+        return Structure.LINEAR_VARIABLE;
+      case 6:
+      case 7:
+        return Structure.CYCLIC;
+      default:
+        return Structure.UNKNOWN;
+    }
+  }
+
+  private static boolean isSecurityTag(final int tag) {
+    for (final int securityTag : SECURITY_TAGS) {
+      if (tag == securityTag) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the file identifier.
+   *
+   * @return file identifier
+   */
+  public int getFileId() {
+    return fileId;
+  }
+
+  /**
+   * Returns the file structure.
+   *
+   * @return file structure, {@link Structure#UNKNOWN} if the template contains no file descriptor
+   */
+  @NonNull
+  public Structure getStructure() {
+    return structure;
+  }
+
+  /**
+   * Returns whether the file is a DF.
+   *
+   * @return {@code true}, if the file is the MF or a DF, {@code false} otherwise
+   */
+  public boolean isDedicatedFile() {
+    return structure == Structure.DF;
+  }
+
+  /**
+   * Returns the number of data bytes of the file.
+   *
+   * @return file size in bytes or -1, if unknown
+   */
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Returns the maximum record length of a record EF.
+   *
+   * @return maximum record length or -1, if unknown
+   */
+  public int getRecordLength() {
+    return recordLength;
+  }
+
+  /**
+   * Returns the number of records of a record EF.
+   *
+   * @return number of records or -1, if unknown
+   */
+  public int getRecordCount() {
+    return recordCount;
+  }
+
+  /**
+   * Returns the DF name.
+   *
+   * @return DF name (AID) or {@code null}
+   */
+  @Nullable
+  public byte[] getName() {
+    return name == null ? null : name.clone();
+  }
+
+  /**
+   * Returns the life cycle status byte.
+   *
+   * @return life cycle status byte or -1, if unknown
+   */
+  public int getLifeCycle() {
+    return lifeCycle;
+  }
+
+  /**
+   * Returns the security attributes (access conditions) of the file, i.e. the data objects with tag 86, 8B, 8C, A1 or
+   * AB as they were returned by the card.
+   *
+   * @return concatenated TLV encoded security attributes, empty if not given
+   */
+  @NonNull
+  public byte[] getSecurityAttributes() {
+    return securityAttributes.clone();
+  }
+
+  /**
+   * Returns the FCP or FCI template this metadata was parsed from, including data objects not evaluated.
+   *
+   * @return encoded template
+   */
+  @NonNull
+  public byte[] getEncoded() {
+    return encoded.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder(64);
+    Hex.append(Hex.append(builder, fileId >>> 8), fileId).append(' ').append(structure);
+    if (size >= 0) {
+      builder.append(", ").append(size).append(" bytes");
+    }
+    if (recordCount >= 0) {
+      builder.append(", ").append(recordCount).append(" records");
+    }
+    if (recordLength >= 0) {
+      builder.append(recordCount >= 0 ? " of " : ", records of ").append(recordLength).append(" bytes");
+    }
+    if (name != null) {
+      builder.append(", name ").append(Hex.toHexString(name));
+    }
+    if (lifeCycle >= 0) {
+      Hex.append(builder.append(", LCS "), lifeCycle);
+    }
+    if (securityAttributes.length > 0) {
+      builder.append(", SA ").append(Hex.toHexString(securityAttributes));
+    }
+    return builder.toString();
+  }
+}
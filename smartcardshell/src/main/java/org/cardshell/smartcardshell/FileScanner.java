@@ -0,0 +1,296 @@
+/******************************************************************************
+ * FileScanner.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.cardshell.smartcardshell.apdu.SelectFile;
+import org.cardshell.smartcardshell.apdu.StatusWord;
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Discovers the files of a card by brute force, i.e. by selecting each file identifier of a range below a DF. The range
+ * is split into chunks which are processed by one worker thread per {@link Channel}, so several logical channels of a
+ * card or the channels of several identical cards work on the same scan. Files are selected by path from the MF, so the
+ * workers do not depend on the current DF of their channels; the current file of each channel is undefined afterwards.
+ * <p>
+ * Responses are classified by {@link SelectFile#evaluate(ResponseAPDU)}: successful responses, warnings and errors of
+ * group 69xx like 6982 (security status not satisfied), which denote existing but protected or unusable files, are
+ * reported as files. Errors denoting a SELECT command the card does not support at all, i.e. wrong length, wrong
+ * parameters, unknown instruction or class, abort the scan, any other status word like 6A82 (file not found) is
+ * skipped.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class FileScanner {
+
+  /**
+   * Listener notified about the files found by a {@link FileScanner}.
+   */
+  public interface Listener {
+
+    /**
+     * Called for each file found. The method is called by the worker threads of the scanner, possibly concurrently.
+     *
+     * @param path
+     *          path of the file
+     * @param info
+     *          metadata returned by the card or {@code null}, if the response contained no FCP or FCI template
+     * @param statusWord
+     *          evaluated status word of the SELECT command
+     */
+    public void fileFound(@NonNull CardPath path, @Nullable FileInfo info, @NonNull StatusWord statusWord);
+  }
+
+  /** number of file identifiers per chunk */
+  public static final int CHUNK_SIZE = 0x100;
+
+  /** status word denoting a function not supported */
+  private static final int SW_FUNCTION_NOT_SUPPORTED = 0x6A81;
+
+  /** status word denoting incorrect parameters P1-P2 */
+  private static final int SW_WRONG_PARAMETERS = 0x6A86;
+
+  /** status word denoting Lc inconsistent with P1-P2 */
+  private static final int SW_LC_INCONSISTENT = 0x6A87;
+
+  /** logger */
+  private static final Logger LOG = Logger.getLogger(FileScanner.class.getName());
+
+  /** channels the files are selected on, one worker per channel */
+  private final List<Channel> channels;
+
+  /** number of DF levels to be scanned */
+  private final int depth;
+
+  /** chunks waiting to be processed */
+  private final Deque<Chunk> chunks = new ArrayDeque<>();
+
+  /** number of chunks queued or in progress */
+  private int pending;
+
+  /** number of file identifiers probed */
+  private final AtomicLong probed = new AtomicLong();
+
+  /** number of files found */
+  private final AtomicLong found = new AtomicLong();
+
+  /** failure of a worker or {@code null} */
+  private volatile String failure;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param channels
+   *          channels the files are selected on, all of them have to belong to the same or identical cards
+   * @param depth
+   *          number of DF levels to be scanned, 1 to scan the given DF only, larger values to scan the DFs found as well
+   */
+  public FileScanner(@NonNull final List<Channel> channels, final int depth) {
+    Assert.ARG.isTrue(!Assert.ARG.isNotNull(channels).isEmpty(), "No channels given");
+    Assert.ARG.isTrue(depth > 0, "Invalid depth");
+    this.channels = new ArrayList<>(channels);
+    this.depth = depth;
+  }
+
+  /**
+   * Scans the given range of file identifiers below the given DF and waits until the scan has finished. The file
+   * identifier of the MF and the reserved identifier FFFF are skipped.
+   *
+   * @param df
+   *          path of the DF to be scanned
+   * @param first
+   *          first file identifier
+   * @param last
+   *          last file identifier
+   * @param listener
+   *          listener notified about the files found
+   * @return summary of the scan
+   * @throws InterruptedException
+   *           if the calling thread was interrupted while waiting for the workers, the workers are interrupted as well
+   */
+  @NonNull
+  public String scan(@NonNull final CardPath df, final int first, final int last, @NonNull final Listener listener)
+      throws InterruptedException {
+    Assert.ARG.isNotNull(df);
+    Assert.ARG.isNotNull(listener);
+    Assert.ARG.isTrue(first >= 0 && first <= last && last <= 0xFFFF, "Invalid file identifier range");
+    probed.set(0);
+    found.set(0);
+    failure = null;
+    offer(df, first, last, 1);
+    final Thread[] workers = new Thread[channels.size()];
+    final long start = System.nanoTime();
+    for (int i = 0; i < workers.length; i++) {
+      final Channel channel = channels.get(i);
+      workers[i] = new Thread(() -> work(channel, listener), "scan-" + channel.getName());
+      workers[i].start();
+    }
+    try {
+      for (final Thread worker : workers) {
+        worker.join();
+      }
+    } catch (final InterruptedException e) {
+      for (final Thread worker : workers) {
+        worker.interrupt();
+      }
+      throw e;
+    }
+    final long millis = (System.nanoTime() - start) / 1000000;
+    return String.format("%s files found, %s file identifiers probed on %s channels in %s ms%s", found.get(),
+        probed.get(), workers.length, millis, failure == null ? "" : " (" + failure + ")");
+  }
+
+  private void work(final Channel channel, final Listener listener) {
+    try {
+      for (Chunk chunk = take(); chunk != null; chunk = take()) {
+        try {
+          scan(channel, chunk, listener);
+        } finally {
+          done();
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final RuntimeException e) {
+      LOG.log(Level.FINE, "Scan failed on " + channel.getName(), e);
+      abort(channel.getName() + ": " + e.getMessage());
+    }
+  }
+
+  private void scan(final Channel channel, final Chunk chunk, final Listener listener) {
+    final ResponseAPDU response = new ResponseAPDU(CommandAPDU.MAX_SHORT_NE + 2);
+    for (int fid = chunk.first; fid <= chunk.last && failure == null && !Thread.currentThread().isInterrupted();
+        fid++) {
+      if (fid == CardPath.MF_ID || fid == 0xFFFF) {
+        continue;
+      }
+      final CardPath path = chunk.df.resolve(fid);
+      final SelectFile select = new SelectFile(channel, path);
+      channel.transmit(select, response);
+      probed.incrementAndGet();
+      final StatusWord statusWord = select.evaluate(response);
+      if (isUnsupported(statusWord.getSW())) {
+        abort("SELECT " + path + " rejected with " + statusWord);
+        return;
+      }
+      if (statusWord.getSeverity() == Severity.ERROR && statusWord.getSW() >>> 8 != 0x69) {
+        continue;
+      }
+      final FileInfo info = statusWord.getSeverity() == Severity.ERROR ? null : FileInfo.parse(fid,
+          response.getBuffer(), 0, response.getLength() - 2);
+      found.incrementAndGet();
+      listener.fileFound(path, info, statusWord);
+      final boolean dedicated = info != null && info.getStructure() != FileInfo.Structure.UNKNOWN ? info
+          .isDedicatedFile() : CardPath.isDedicatedFileId(fid);
+      if (dedicated && chunk.level < depth) {
+        offer(path, 0, 0xFFFF, chunk.level + 1);
+      }
+    }
+  }
+
+  /**
+   * Returns whether the given status word denotes a SELECT command not supported by the card.
+   */
+  private static boolean isUnsupported(final int sw) {
+    switch (sw >>> 8) {
+      case 0x67:
+      case 0x6B:
+      case 0x6D:
+      case 0x6E:
+        return true;
+      default:
+        return sw == SW_FUNCTION_NOT_SUPPORTED || sw == SW_WRONG_PARAMETERS || sw == SW_LC_INCONSISTENT;
+    }
+  }
+
+  /**
+   * Stops the scan, the chunks queued are dropped and the workers stop after the file identifier in progress.
+   */
+  private synchronized void abort(final String reason) {
+    if (failure == null) {
+      failure = reason;
+    }
+    pending -= chunks.size();
+    chunks.clear();
+    notifyAll();
+  }
+
+  /**
+   * Queues the given range split into chunks.
+   */
+  private synchronized void offer(final CardPath df, final int first, final int last, final int level) {
+    if (failure != null) {
+      return;
+    }
+    for (int start = first; start <= last; start += CHUNK_SIZE) {
+      chunks.add(new Chunk(df, start, Math.min(last, start + CHUNK_SIZE - 1), level));
+      pending++;
+    }
+    notifyAll();
+  }
+
+  /**
+   * Returns the next chunk, waiting while chunks are in progress which may queue further chunks.
+   *
+   * @return next chunk or {@code null}, if the scan has finished
+   */
+  private synchronized Chunk take() throws InterruptedException {
+    while (chunks.isEmpty() && pending > 0) {
+      wait();
+    }
+    return chunks.poll();
+  }
+
+  /**
+   * Marks a chunk taken before as processed.
+   */
+  private synchronized void done() {
+    if (--pending == 0) {
+      notifyAll();
+    }
+  }
+
+  /**
+   * Range of file identifiers below a DF.
+   */
+  private static final class Chunk {
+
+    /** path of the DF */
+    final CardPath df;
+
+    /** first file identifier */
+    final int first;
+
+    /** last file identifier */
+    final int last;
+
+    /** DF level, 1 for the DF the scan was started at */
+    final int level;
+
+    Chunk(final CardPath df, final int first, final int last, final int level) {
+      this.df = df;
+      this.first = first;
+      this.last = last;
+      this.level = level;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/******************************************************************************
+ * FileTree.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * In-memory cache of the file system of a {@link Card}. The tree holds the {@link FileInfo} of each file selected
+ * successfully through one of the channels of the card by its {@link CardPath}. Entries are invalidated, when commands
+ * modifying the file system are transmitted, and the whole tree is cleared, when the card is removed.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class FileTree {
+
+  /** metadata of the files by their paths */
+  private final Map<CardPath, FileInfo> files = new ConcurrentHashMap<CardPath, FileInfo>();
+
+  /**
+   * Adds or replaces the metadata of the file with the given path.
+   *
+   * @param path
+   *          path of the file
+   * @param info
+   *          metadata of the file
+   */
+  public void put(@NonNull final CardPath path, @NonNull final FileInfo info) {
+    files.put(Assert.ARG.isNotNull(path), Assert.ARG.isNotNull(info));
+  }
+
+  /**
+   * Returns the metadata of the file with the given path.
+   *
+   * @param path
+   *          path of the file
+   * @return cached metadata or {@code null}, if the file is not cached
+   */
+  @Nullable
+  public FileInfo get(@NonNull final CardPath path) {
+    return files.get(Assert.ARG.isNotNull(path));
+  }
+
+  /**
+   * Returns the paths of all cached files.
+   *
+   * @return paths of the cached files in depth-first order, each DF followed by the files below it
+   */
+  @NonNull
+  public List<CardPath> getPaths() {
+    final List<CardPath> paths = new ArrayList<CardPath>(files.keySet());
+    Collections.sort(paths, Comparator.comparing(CardPath::toString));
+    return paths;
+  }
+
+  /**
+   * Returns the paths of the cached children of the given DF. Besides the cached files themselves, the DFs leading to
+   * cached files are included, even if they were never selected on their own.
+   *
+   * @param path
+   *          path of the DF
+   * @return paths of the cached children ordered by their file identifiers, empty if no child is cached
+   */
+  @NonNull
+  public List<CardPath> getChildren(@NonNull final CardPath path) {
+    Assert.ARG.isNotNull(path);
+    final Set<CardPath> children = new HashSet<CardPath>();
+    for (CardPath file : files.keySet()) {
+      while (file.getDepth() > path.getDepth() + 1) {
+        file = file.getParent();
+      }
+      if (path.equals(file.getParent())) {
+        children.add(file);
+      }
+    }
+    final List<CardPath> sorted = new ArrayList<CardPath>(children);
+    Collections.sort(sorted, Comparator.comparingInt(CardPath::getFileId));
+    return sorted;
+  }
+
+  /**
+   * Removes the file with the given path and all cached files below it. The whole tree is cleared, if the path is not
+   * known.
+   *
+   * @param path
+   *          path of the file or {@code null}, if unknown
+   */
+  public void invalidate(@Nullable final CardPath path) {
+    if (path == null) {
+      files.clear();
+    } else {
+      files.keySet().removeIf(file -> file.startsWith(path));
+    }
+  }
+
+  /**
+   * Removes all cached files.
+   */
+  public void clear() {
+    files.clear();
+  }
+
+  /**
+   * Returns the number of cached files.
+   *
+   * @return number of cached files
+   */
+  public int size() {
+    return files.size();
+  }
+}
@@ -12,10 +12,13 @@ package org.cardshell.smartcardshell;
 
 import static java.util.Collections.unmodifiableMap;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
 
 import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.PrefixIndex;
 import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
@@ -29,14 +32,14 @@ public enum FileType {
   /** master file */
   MASTER_FILE(0x3F, 0x00, "MF", "/");
 
-  /** synonym map */
-  private static final Map<String, FileType> synonyms;
+  /** synonym index used for lookup and completion */
+  private static final PrefixIndex<FileType> synonymIndex;
 
   static {
-    synonyms = new HashMap<String, FileType>();
+    synonymIndex = new PrefixIndex<FileType>();
     for (final FileType value : FileType.values()) {
       for (final String syn : value.syns) {
-        synonyms.put(syn, value);
+        synonymIndex.put(syn, value);
       }
     }
   }
@@ -61,16 +64,31 @@ public enum FileType {
   }
 
   /**
-   * Returns the complete map of synonyms to {@link FileType}s.
+   * Returns the complete map of synonyms to {@link FileType}s, sorted by synonym.
    *
    * @return complete map of synonyms to {@link FileType}s
    */
   public static Map<String, FileType> getAllSynonyms() {
+    final Map<String, FileType> synonyms = new TreeMap<String, FileType>();
+    synonymIndex.forEach(null, synonyms::put);
     return unmodifiableMap(synonyms);
   }
 
   public static final FileType getBySynonym(@NonNull final String synonym) {
     Assert.ARG.isNotNull(synonym);
-    return synonyms.get(synonym);
+    return synonymIndex.get(synonym);
+  }
+
+  /**
+   * Calls the given action for all synonyms starting with the given prefix, in alphabetical order.
+   *
+   * @param prefix
+   *          synonym prefix or {@code null} to enumerate all synonyms
+   * @param action
+   *          action to be called with each synonym and its {@link FileType}
+   */
+  public static final void forEachSynonym(@Nullable final String prefix,
+      @NonNull final BiConsumer<String, FileType> action) {
+    synonymIndex.forEach(prefix, action);
   }
 }
@@ -11,6 +11,7 @@
 package org.cardshell.smartcardshell;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.cardshell.smartcardshell.commons.NonNull;
 import org.cardshell.smartcardshell.commons.Nullable;
@@ -32,6 +33,27 @@ public interface Shell {
   @NonNull
   public List<Terminal> getCardTerminals();
 
+  /**
+   * Returns the available {@link Terminal} with the given name.
+   *
+   * @param name
+   *          name of the {@link Terminal}
+   * @return {@link Terminal} with the given name or {@code null}, if no such {@link Terminal} is available
+   */
+  @Nullable
+  public Terminal getCardTerminal(@NonNull String name);
+
+  /**
+   * Calls the given action for all available {@link Terminal}s whose names start with the given prefix, in the order of
+   * their names.
+   *
+   * @param prefix
+   *          name prefix or {@code null} to enumerate all available {@link Terminal}s
+   * @param action
+   *          action to be called with each {@link Terminal}
+   */
+  public void forEachCardTerminal(@Nullable String prefix, @NonNull Consumer<Terminal> action);
+
   /**
    * Returns the currently selected {@link Card}.
    *
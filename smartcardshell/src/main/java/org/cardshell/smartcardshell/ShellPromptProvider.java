@@ -59,8 +59,13 @@ final class ShellPromptProvider implements PromptProvider {
       prompt.append(selectedCardChannel.getName());
       prompt.append(" >");
 
+      final CardPath currentPath = selectedCardChannel.getCurrentPath();
       final File selectedFile = selectedCardChannel.getSelectedCardFile();
-      if (selectedFile != null) {
+      if (currentPath != null) {
+        prompt.append(" ");
+        prompt.append(currentPath.toString());
+        prompt.append(" >");
+      } else if (selectedFile != null) {
         prompt.append(" ");
         prompt.append(selectedFile.toString());
         prompt.append(" >");
@@ -12,8 +12,10 @@ package org.cardshell.smartcardshell.apdu;
 
 import org.cardshell.smartcardshell.CommandAPDU;
 import org.cardshell.smartcardshell.ResponseAPDU;
-import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
 import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
  * Basic implementation of a {@link CommandAPDU} that handles all general specified response codes.
@@ -23,6 +25,68 @@ import org.cardshell.smartcardshell.commons.NonNull;
  */
 public abstract class BasicAPDU extends CommandAPDU implements ResponseInterpreter {
 
+  /** message of status words unknown to a command */
+  private static final String UNKNOWN_RESPONSE_CODE = "Unknown response code";
+
+  /** status words specified for all commands by ISO/IEC 7816-4 */
+  protected static final StatusWordTable STATUS_WORDS = new StatusWordTable();
+
+  static {
+    STATUS_WORDS.put(0x9000, 0x90FF, Severity.SUCCESS, sw2 -> null);
+    STATUS_WORDS.put(0x6100, 0x61FF, Severity.SUCCESS, sw2 -> null);
+
+    STATUS_WORDS.put(0x6200, Severity.WARNING, "No information given");
+    STATUS_WORDS.put(0x6281, Severity.WARNING, "Part of returned data may be corrupted");
+    STATUS_WORDS.put(0x6282, Severity.WARNING, "End of file/record reached before reading Le bytes");
+    STATUS_WORDS.put(0x6283, Severity.WARNING, "Selected file invalidated");
+    STATUS_WORDS.put(0x6284, Severity.WARNING, "FCI not formatted according to 1.1.5");
+
+    STATUS_WORDS.put(0x6300, Severity.WARNING, "No information given");
+    STATUS_WORDS.put(0x6381, Severity.WARNING, "File filled up by the last write");
+    STATUS_WORDS.put(0x63C0, 0x63CF, Severity.WARNING,
+        sw2 -> "Counter " + (sw2 & 0x0F) + " (exact meaning depending on the command)");
+
+    STATUS_WORDS.put(0x6500, Severity.ERROR, "No information given");
+    STATUS_WORDS.put(0x6581, Severity.ERROR, "Memory failure");
+
+    STATUS_WORDS.put(0x6700, Severity.ERROR, "Wrong length");
+
+    STATUS_WORDS.put(0x6800, Severity.ERROR, "No information given");
+    STATUS_WORDS.put(0x6881, Severity.ERROR, "Logical channel not supported");
+    STATUS_WORDS.put(0x6882, Severity.ERROR, "Secure messaging not supported");
+
+    STATUS_WORDS.put(0x6900, Severity.ERROR, "No information given");
+    STATUS_WORDS.put(0x6981, Severity.ERROR, "Command incompatible with file structure");
+    STATUS_WORDS.put(0x6982, Severity.ERROR, "Security status not satisfied");
+    STATUS_WORDS.put(0x6983, Severity.ERROR, "Authentication method blocked");
+    STATUS_WORDS.put(0x6984, Severity.ERROR, "Referenced data invalidated");
+    STATUS_WORDS.put(0x6985, Severity.ERROR, "Conditions of use not satisfied");
+    STATUS_WORDS.put(0x6986, Severity.ERROR, "Command not allowed (no current EF)");
+    STATUS_WORDS.put(0x6987, Severity.ERROR, "Expected SM data objects missing");
+    STATUS_WORDS.put(0x6988, Severity.ERROR, "SM data objects incorrect");
+
+    STATUS_WORDS.put(0x6A00, Severity.ERROR, "No information given");
+    STATUS_WORDS.put(0x6A80, Severity.ERROR, "Incorrect parameters in the data field");
+    STATUS_WORDS.put(0x6A81, Severity.ERROR, "Function not supported");
+    STATUS_WORDS.put(0x6A82, Severity.ERROR, "File not found");
+    STATUS_WORDS.put(0x6A83, Severity.ERROR, "Record not found");
+    STATUS_WORDS.put(0x6A84, Severity.ERROR, "Not enough memory space in the file");
+    STATUS_WORDS.put(0x6A85, Severity.ERROR, "Lc inconsistent with TLV structure");
+    STATUS_WORDS.put(0x6A86, Severity.ERROR, "Incorrect parameters P1-P2");
+    STATUS_WORDS.put(0x6A87, Severity.ERROR, "Lc inconsistent with P1-P2");
+    STATUS_WORDS.put(0x6A88, Severity.ERROR, "Referenced data not found");
+
+    STATUS_WORDS.put(0x6B00, Severity.ERROR, "Wrong parameter(s) P1-P2");
+
+    STATUS_WORDS.put(0x6C00, 0x6CFF, Severity.ERROR, sw2 -> "Wrong length Le: SW2 indicates the exact length");
+
+    STATUS_WORDS.put(0x6D00, Severity.ERROR, "Instruction code not supported or invalid");
+
+    STATUS_WORDS.put(0x6E00, Severity.ERROR, "Class not supported");
+
+    STATUS_WORDS.put(0x6F00, Severity.ERROR, "No precise diagnosis");
+  }
+
   /**
    * Creates a new mutable command APDU and initializes it with the given buffer. The internal buffer's length is set to
    * the length of the buffer passed.
@@ -68,80 +132,45 @@ public abstract class BasicAPDU extends CommandAPDU implements ResponseInterpret
    */
   @Override
   public String interprete(@NonNull final ResponseAPDU response) throws TransmissionException {
-    final String sw1 = Hex.toHexString(response.getSW1());
-    final String sw2 = Hex.toHexString(response.getSW2());
-
-    final String warning;
-    final String error;
-
-    switch (sw1) {
-      case "90":
-        return sw1 + sw2;
-      case "61":
-        return sw1 + sw2;
-      case "62":
-        warning = interprete62(sw2);
-        error = null;
-        break;
-      case "63":
-        warning = interprete63(sw2);
-        error = null;
-        break;
-      case "65":
-        warning = null;
-        error = interprete65(sw2);
-        break;
-      case "67":
-        warning = null;
-        error = interprete67(sw2);
-        break;
-      case "68":
-        warning = null;
-        error = interprete68(sw2);
-        break;
-      case "69":
-        warning = null;
-        error = interprete69(sw2);
-        break;
-      case "6A":
-        warning = null;
-        error = interprete6A(sw2);
-        break;
-      case "6B":
-        warning = null;
-        error = interprete6B(sw2);
-        break;
-      case "6C":
-        warning = null;
-        error = interprete6C(sw2);
-        break;
-      case "6D":
-        warning = null;
-        error = interprete6D(sw2);
-        break;
-      case "6E":
-        warning = null;
-        error = interprete6E(sw2);
-        break;
-      case "6F":
-        warning = null;
-        error = interprete6F(sw2);
-        break;
-      default:
-        warning = null;
-        error = null;
-    }
-    if (warning != null) {
-      return warning;
+    final StatusWord statusWord = getStatusWords().get(response.getSW());
+    if (statusWord == null) {
+      return interpreteSpecific(response);
     }
-    if (error != null) {
-      throw new TransmissionException(error, response);
+    if (statusWord.getSeverity() == Severity.ERROR) {
+      throw new TransmissionException(statusWord, response);
     }
-    return interpreteSpecific(response);
+    return statusWord.getMessage();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Status words not contained in {@link #getStatusWords()} are evaluated by {@link #evaluateSpecific(ResponseAPDU)},
+   * which {@link #interprete(ResponseAPDU)} uses as well, without creating a {@link TransmissionException}.
+   *
+   * @see org.cardshell.smartcardshell.apdu.ResponseInterpreter#evaluate(org.cardshell.smartcardshell.ResponseAPDU)
+   */
+  @NonNull
+  @Override
+  public StatusWord evaluate(@NonNull final ResponseAPDU response) {
+    final StatusWord statusWord = getStatusWords().get(response.getSW());
+    return statusWord != null ? statusWord : evaluateSpecific(response);
+  }
+
+  /**
+   * Returns the table of status words known for this command. Subclasses may return a copy of {@link #STATUS_WORDS}
+   * extended by command specific entries.
+   *
+   * @return table of known status words
+   */
+  @NonNull
+  protected StatusWordTable getStatusWords() {
+    return STATUS_WORDS;
   }
 
   /**
-   * Interpretion of the given {@link ResponseAPDU} to do by any subclass.
+   * Interpretion of a {@link ResponseAPDU} whose status word is not contained in {@link #getStatusWords()}. The result is
+   * derived from {@link #evaluateSpecific(ResponseAPDU)}, so subclasses only override that method.
    *
    * @param response
    *          {@link ResponseAPDU} to interprete
@@ -149,160 +178,26 @@ public abstract class BasicAPDU extends CommandAPDU implements ResponseInterpret
    * @throws TransmissionException
    *           if the given {@link ResponseAPDU} represents an error
    */
-  protected abstract String interpreteSpecific(@NonNull final ResponseAPDU response) throws TransmissionException;
-
-  private String interprete62(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "No information given";
-      case "81":
-        return "Part of returned data may be corrupted";
-      case "82":
-        return "End of file/record reached before reading Le bytes";
-      case "83":
-        return "Selected file invalidated";
-      case "84":
-        return "FCI not formatted according to 1.1.5";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete63(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "No information given";
-      case "81":
-        return "File filled up by the last write";
-      case "CX":
-        return "Counter provided by 'X' (valued from 0 to 15) (exact meaning depending on the command)";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete65(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "No information given";
-      case "81":
-        return "Memory failure";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete67(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "Wrong length";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete68(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "No information given";
-      case "81":
-        return "Logical channel not supported";
-      case "82":
-        return "Secure messaging not supported";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete69(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "No information given";
-      case "81":
-        return "Command incompatible with file structure";
-      case "82":
-        return "Security status not satisfied";
-      case "83":
-        return "Authentication method blocked";
-      case "84":
-        return "Referenced data invalidated";
-      case "85":
-        return "Conditions of use not satisfied";
-      case "86":
-        return "Command not allowed (no current EF)";
-      case "87":
-        return "Expected SM data objects missing";
-      case "88":
-        return "SM data objects incorrect";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete6A(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "No information given";
-      case "80":
-        return "Incorrect parameters in the data field";
-      case "81":
-        return "Function not supported";
-      case "82":
-        return "File not found";
-      case "83":
-        return "Record not found";
-      case "84":
-        return "Not enough memory space in the file";
-      case "85":
-        return "Lc inconsistent with TLV structure";
-      case "86":
-        return "Incorrect parameters P1-P2";
-      case "87":
-        return "Lc inconsistent with P1-P2";
-      case "88":
-        return "Referenced data not found";
-      default:
-        return null;
+  @Nullable
+  protected String interpreteSpecific(@NonNull final ResponseAPDU response) throws TransmissionException {
+    final StatusWord statusWord = evaluateSpecific(response);
+    if (statusWord.getSeverity() == Severity.ERROR) {
+      throw new TransmissionException(statusWord, response);
     }
+    return statusWord.getSeverity() == Severity.SUCCESS ? null : statusWord.getMessage();
   }
 
-  private String interprete6B(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "Wrong parameter(s) P1-P2";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete6C(final String sw2) {
-    return "Wrong length Le: SW2 indicates the exact length";
-  }
-
-  private String interprete6D(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "Instruction code not supported or invalid";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete6E(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "Class not supported";
-      default:
-        return null;
-    }
-  }
-
-  private String interprete6F(final String sw2) {
-    switch (sw2) {
-      case "00":
-        return "No precise diagnosis";
-      default:
-        return null;
-    }
+  /**
+   * Evaluation of a {@link ResponseAPDU} whose status word is not contained in {@link #getStatusWords()} to do by any
+   * subclass knowing further status words. Status words unknown to this command are errors. The returned
+   * {@link StatusWord} is allocated per call, since it is not part of a table.
+   *
+   * @param response
+   *          {@link ResponseAPDU} to evaluate
+   * @return {@link StatusWord} of the response
+   */
+  @NonNull
+  protected StatusWord evaluateSpecific(@NonNull final ResponseAPDU response) {
+    return new StatusWord(Assert.ARG.isNotNull(response).getSW(), Severity.ERROR, UNKNOWN_RESPONSE_CODE);
   }
 }
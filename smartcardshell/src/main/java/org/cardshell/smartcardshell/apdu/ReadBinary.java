@@ -0,0 +1,95 @@
+/******************************************************************************
+ * ReadBinary.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.apdu;
+
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Implementation of a {@link CommandAPDU} reading from the current transparent EF (READ BINARY with offset addressing).
+ * The offset and the number of expected bytes can be changed, so one instance can be reused for reading a whole file.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public class ReadBinary extends BasicAPDU {
+
+  /** maximum offset addressable by P1-P2 */
+  public static final int MAX_OFFSET = 0x7FFF;
+
+  /** status words of the READ BINARY command */
+  private static final StatusWordTable READ_BINARY_STATUS_WORDS = new StatusWordTable();
+
+  static {
+    READ_BINARY_STATUS_WORDS.putAll(STATUS_WORDS);
+    READ_BINARY_STATUS_WORDS.put(0x6B00, Severity.ERROR, "Offset outside the EF");
+  }
+
+  /**
+   * Creates a new instance.
+   *
+   * @param channel
+   *          channel the command is transmitted on
+   * @param offset
+   *          offset within the EF
+   * @param ne
+   *          number of expected bytes, values beyond {@link CommandAPDU#MAX_SHORT_NE} are encoded as extended length
+   * @throws IllegalArgumentException
+   *           if the offset or the number of expected bytes is out of range
+   */
+  public ReadBinary(@NonNull final Channel channel, final int offset, final int ne) {
+    super(7);
+    append(Assert.ARG.isNotNull(channel).getNumber());
+    append((byte) 0xB0);
+    append((byte) 0x00);
+    append((byte) 0x00);
+    set(offset, ne);
+  }
+
+  /**
+   * Changes the offset and the number of expected bytes of this command.
+   *
+   * @param offset
+   *          offset within the EF
+   * @param ne
+   *          number of expected bytes, values beyond {@link CommandAPDU#MAX_SHORT_NE} are encoded as extended length
+   * @throws IllegalArgumentException
+   *           if the offset or the number of expected bytes is out of range
+   */
+  public final void set(final int offset, final int ne) {
+    Assert.ARG.isTrue(offset >= 0 && offset <= MAX_OFFSET, "Offset out of range");
+    Assert.ARG.isTrue(ne > 0 && ne <= MAX_EXTENDED_NE, "Number of expected bytes out of range");
+    setByte(2, offset >>> 8);
+    setByte(3, offset);
+    setLength(4);
+    if (ne <= MAX_SHORT_NE) {
+      append((byte) ne);
+    } else {
+      append((byte) 0x00);
+      append((byte) (ne >>> 8));
+      append((byte) ne);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.apdu.BasicAPDU#getStatusWords()
+   */
+  @NonNull
+  @Override
+  protected StatusWordTable getStatusWords() {
+    return READ_BINARY_STATUS_WORDS;
+  }
+}
@@ -0,0 +1,82 @@
+/******************************************************************************
+ * ReadRecord.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.apdu;
+
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Implementation of a {@link CommandAPDU} reading a record of the current record EF (READ RECORD of a single record
+ * addressed by its number). The record number can be changed, so one instance can be reused for reading a whole file.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public class ReadRecord extends BasicAPDU {
+
+  /** maximum record number */
+  public static final int MAX_RECORD_NUMBER = 0xFE;
+
+  /** status words of the READ RECORD command */
+  private static final StatusWordTable READ_RECORD_STATUS_WORDS = new StatusWordTable();
+
+  static {
+    READ_RECORD_STATUS_WORDS.putAll(STATUS_WORDS);
+    READ_RECORD_STATUS_WORDS.put(0x6A83, Severity.ERROR, "Record not found");
+  }
+
+  /**
+   * Creates a new instance expecting up to 256 bytes.
+   *
+   * @param channel
+   *          channel the command is transmitted on
+   * @param number
+   *          record number starting with 1
+   * @throws IllegalArgumentException
+   *           if the record number is out of range
+   */
+  public ReadRecord(@NonNull final Channel channel, final int number) {
+    super(5);
+    append(Assert.ARG.isNotNull(channel).getNumber());
+    append((byte) 0xB2);
+    append((byte) 0x00);
+    append((byte) 0x04);
+    append((byte) 0x00);
+    setNumber(number);
+  }
+
+  /**
+   * Changes the record number of this command.
+   *
+   * @param number
+   *          record number starting with 1
+   * @throws IllegalArgumentException
+   *           if the record number is out of range
+   */
+  public final void setNumber(final int number) {
+    Assert.ARG.isTrue(number > 0 && number <= MAX_RECORD_NUMBER, "Record number out of range");
+    setByte(2, number);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.apdu.BasicAPDU#getStatusWords()
+   */
+  @NonNull
+  @Override
+  protected StatusWordTable getStatusWords() {
+    return READ_RECORD_STATUS_WORDS;
+  }
+}
@@ -33,4 +33,15 @@ public interface ResponseInterpreter {
    */
   @Nullable
   public String interprete(@NonNull ResponseAPDU response) throws TransmissionException;
+
+  /**
+   * Evaluates the given {@link ResponseAPDU} without throwing an exception. This is meant for bulk operations expecting
+   * many error responses, e.g. probing for files or applications.
+   *
+   * @param response
+   *          response to evaluate
+   * @return {@link StatusWord} describing the response, its severity tells whether the response indicates an error
+   */
+  @NonNull
+  public StatusWord evaluate(@NonNull ResponseAPDU response);
 }
@@ -10,14 +10,13 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell.apdu;
 
+import org.cardshell.smartcardshell.CardPath;
 import org.cardshell.smartcardshell.Channel;
 import org.cardshell.smartcardshell.CommandAPDU;
 import org.cardshell.smartcardshell.File;
-import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
 import org.cardshell.smartcardshell.commons.Hex;
 import org.cardshell.smartcardshell.commons.NonNull;
-import org.cardshell.smartcardshell.commons.Nullable;
-import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
  * Implementation of a {@link CommandAPDU} for {@link File} selection.
@@ -27,60 +26,71 @@ import org.cardshell.smartcardshell.commons.assertion.Assert;
  */
 public class SelectFile extends BasicAPDU {
 
+  /** status words of the SELECT command */
+  private static final StatusWordTable SELECT_STATUS_WORDS = new StatusWordTable();
+
+  static {
+    SELECT_STATUS_WORDS.put(0x6200, 0x62FF, Severity.WARNING, sw2 -> "Unknown status word 2 [" + Hex.toHexString(sw2)
+        + "]");
+    SELECT_STATUS_WORDS.put(0x6A00, 0x6AFF, Severity.ERROR, sw2 -> "Unknown status word 2 [" + Hex.toHexString(sw2)
+        + "]");
+    SELECT_STATUS_WORDS.putAll(STATUS_WORDS);
+    SELECT_STATUS_WORDS.put(0x6283, Severity.WARNING, "Selected file invalidated");
+    SELECT_STATUS_WORDS.put(0x6284, Severity.WARNING, "FCI not formatted according to 5.1.5");
+    SELECT_STATUS_WORDS.put(0x6A81, Severity.ERROR, "Function not supported");
+    SELECT_STATUS_WORDS.put(0x6A82, Severity.ERROR, "File not found");
+    SELECT_STATUS_WORDS.put(0x6A86, Severity.ERROR, "Incorrect parameters P1-P2");
+    SELECT_STATUS_WORDS.put(0x6A87, Severity.ERROR, "Lc inconsistent with P1-P2");
+  }
+
+  /** P1 selecting by file identifier */
+  private static final byte P1_BY_ID = 0x00;
+
+  /** P1 selecting by path from the MF */
+  private static final byte P1_BY_PATH = 0x08;
+
+  /** P2 returning the FCI of the first or only occurrence */
+  private static final byte P2_FCI = 0x00;
+
   public SelectFile(@NonNull final Channel channel, @NonNull final File file) {
-    super(7);
-    append(channel.getNumber());
-    append(Hex.parseHexString("A4"));
-    append(Hex.parseHexString("00"));
-    append(Hex.parseHexString("00"));
-    append(Hex.parseHexString("02"));
-    append(file.getId());
+    this(channel, P1_BY_ID, file.getId());
   }
 
   /**
-   * {@inheritDoc}
+   * Creates a new instance selecting the file with the given path, by path from the MF or the MF itself by its file
+   * identifier.
    *
-   * @see org.cardshell.smartcardshell.apdu.ResponseInterpreter#interprete(org.cardshell.smartcardshell.ResponseAPDU)
+   * @param channel
+   *          channel the command is transmitted on
+   * @param path
+   *          absolute path of the file
    */
-  @Nullable
-  @Override
-  public String interpreteSpecific(@NonNull final ResponseAPDU response) throws TransmissionException {
-    Assert.ARG.isNotNull(response);
-    final String sw1 = Hex.toHexString(response.getSW1());
-    final String sw2 = Hex.toHexString(response.getSW2());
-
-    if ("62".equals(sw1)) {
-      return getWarningMessage(sw2);
-    }
-    if ("6A".equals(sw1)) {
-      throw new TransmissionException(getErrorMessage(sw2), response);
-    }
-    throw new TransmissionException("Unknown response code", response);
+  public SelectFile(@NonNull final Channel channel, @NonNull final CardPath path) {
+    this(channel, path.isMasterFile() ? P1_BY_ID : P1_BY_PATH, path.isMasterFile() ? path.getFileIdBytes() : path
+        .getPathBytes());
   }
 
-  private String getErrorMessage(final String sw2) {
-    switch (sw2) {
-      case "81":
-        return "Function not supported";
-      case "82":
-        return "File not found";
-      case "86":
-        return "Incorrect parameters P1-P2";
-      case "87":
-        return "Lc inconsistent with P1-P2";
-      default:
-        return String.format("Unknown status word 2 [%s]", sw2);
-    }
+  /**
+   * Creates a new instance requesting the FCI of the selected file. {@code Le} is always present, so T=1 cards return
+   * the FCI in the response to the SELECT command rather than just the status word.
+   */
+  private SelectFile(final Channel channel, final byte p1, final byte[] data) {
+    super(encodedLength(data.length, MAX_SHORT_NE));
+    append(channel.getNumber());
+    append((byte) 0xA4);
+    append(p1);
+    append(P2_FCI);
+    appendBody(data, MAX_SHORT_NE);
   }
 
-  private String getWarningMessage(final String sw2) {
-    switch (sw2) {
-      case "83":
-        return "Selected file invalidated";
-      case "84":
-        return "FCI not formatted according to 5.1.5";
-      default:
-        return String.format("Unknown status word 2 [%s]", sw2);
-    }
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.apdu.BasicAPDU#getStatusWords()
+   */
+  @NonNull
+  @Override
+  protected StatusWordTable getStatusWords() {
+    return SELECT_STATUS_WORDS;
   }
 }
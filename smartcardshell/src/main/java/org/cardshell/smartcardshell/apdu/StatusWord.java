@@ -0,0 +1,120 @@
+/******************************************************************************
+ * StatusWord.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.apdu;
+
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Immutable interpretation of a status word ({@code SW1} and {@code SW2}) of a {@link ResponseAPDU}. The hexadecimal
+ * code and the message are computed once, when the instance is created.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class StatusWord {
+
+  /**
+   * Enumerates the severities of status words.
+   */
+  public enum Severity {
+
+    /** command processed successfully */
+    SUCCESS,
+
+    /** command processed with a warning */
+    WARNING,
+
+    /** command aborted with an error */
+    ERROR
+  }
+
+  /** status word as unsigned 16-bit value */
+  private final int sw;
+
+  /** severity */
+  private final Severity severity;
+
+  /** hexadecimal code, e.g. {@code 9000} */
+  private final String code;
+
+  /** human readable message */
+  private final String message;
+
+  /**
+   * Creates a new instance. The message of a successful status word is its hexadecimal code.
+   *
+   * @param sw
+   *          status word as unsigned 16-bit value
+   * @param severity
+   *          severity
+   * @param message
+   *          human readable message, ignored for {@link Severity#SUCCESS}
+   */
+  public StatusWord(final int sw, @NonNull final Severity severity, @NonNull final String message) {
+    this.sw = sw & 0xFFFF;
+    this.severity = Assert.ARG.isNotNull(severity);
+    code = Hex.append(Hex.append(new StringBuilder(4), sw >>> 8), sw).toString();
+    this.message = severity == Severity.SUCCESS ? code : Assert.ARG.isNotNull(message);
+  }
+
+  /**
+   * Returns the status word as unsigned 16-bit value.
+   *
+   * @return status word
+   */
+  public int getSW() {
+    return sw;
+  }
+
+  /**
+   * Returns the severity of this status word.
+   *
+   * @return severity
+   */
+  @NonNull
+  public Severity getSeverity() {
+    return severity;
+  }
+
+  /**
+   * Returns the hexadecimal code of this status word, e.g. {@code 9000}.
+   *
+   * @return hexadecimal code
+   */
+  @NonNull
+  public String getCode() {
+    return code;
+  }
+
+  /**
+   * Returns the human readable message of this status word. The message of a successful status word is its hexadecimal
+   * code.
+   *
+   * @return human readable message
+   */
+  @NonNull
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return severity == Severity.SUCCESS ? code : code + ": " + message;
+  }
+}
@@ -0,0 +1,115 @@
+/******************************************************************************
+ * StatusWordTable.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.apdu;
+
+import java.util.function.IntFunction;
+
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Two-level lookup table of {@link StatusWord}s indexed by {@link ResponseAPDU#getSW()}. The first level is indexed by
+ * {@code SW1} and holds a page of 256 entries indexed by {@code SW2} for each {@code SW1} in use, so a lookup is two
+ * array accesses without any allocation.
+ * <p>
+ * Tables are filled in static initializers and must not be modified after they have been published. A command specific
+ * table may take over the entries of a general one by {@link #putAll(StatusWordTable)} and override some of them.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class StatusWordTable {
+
+  /** pages of entries indexed by {@code SW1} and {@code SW2} */
+  private final StatusWord[][] pages = new StatusWord[256][];
+
+  /**
+   * Creates a new empty table.
+   */
+  public StatusWordTable() {}
+
+  /**
+   * Returns the {@link StatusWord} for the given status word.
+   *
+   * @param sw
+   *          status word as unsigned 16-bit value
+   * @return {@link StatusWord} or {@code null}, if the status word is not contained in this table
+   */
+  @Nullable
+  public StatusWord get(final int sw) {
+    final StatusWord[] page = pages[sw >>> 8 & 0xFF];
+    return page == null ? null : page[sw & 0xFF];
+  }
+
+  /**
+   * Adds or replaces the entry for a single status word.
+   *
+   * @param sw
+   *          status word as unsigned 16-bit value
+   * @param severity
+   *          severity
+   * @param message
+   *          human readable message
+   */
+  public void put(final int sw, @NonNull final Severity severity, @NonNull final String message) {
+    page(sw >>> 8 & 0xFF)[sw & 0xFF] = new StatusWord(sw, severity, message);
+  }
+
+  /**
+   * Adds or replaces the entries for a range of status words sharing the same {@code SW1}.
+   *
+   * @param first
+   *          first status word of the range
+   * @param last
+   *          last status word of the range, must have the same {@code SW1} as the first one
+   * @param severity
+   *          severity
+   * @param message
+   *          function computing the human readable message from {@code SW2}
+   */
+  public void put(final int first, final int last, @NonNull final Severity severity,
+      @NonNull final IntFunction<String> message) {
+    Assert.ARG.isTrue((first & 0xFF00) == (last & 0xFF00) && first <= last);
+    final StatusWord[] page = page(first >>> 8 & 0xFF);
+    for (int sw = first; sw <= last; sw++) {
+      page[sw & 0xFF] = new StatusWord(sw, severity, message.apply(sw & 0xFF));
+    }
+  }
+
+  /**
+   * Adds or replaces all entries contained in the given table.
+   *
+   * @param table
+   *          table whose entries are added
+   */
+  public void putAll(@NonNull final StatusWordTable table) {
+    for (int sw1 = 0; sw1 < pages.length; sw1++) {
+      final StatusWord[] source = Assert.ARG.isNotNull(table).pages[sw1];
+      if (source != null) {
+        for (int sw2 = 0; sw2 < source.length; sw2++) {
+          if (source[sw2] != null) {
+            page(sw1)[sw2] = source[sw2];
+          }
+        }
+      }
+    }
+  }
+
+  private StatusWord[] page(final int sw1) {
+    if (pages[sw1] == null) {
+      pages[sw1] = new StatusWord[256];
+    }
+    return pages[sw1];
+  }
+}
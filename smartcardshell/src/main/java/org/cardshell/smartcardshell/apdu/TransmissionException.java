@@ -18,21 +18,31 @@ import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
  * Exception thrown due to {@link APDU}-transmissions with irregular response.
+ * <p>
+ * Since error responses are expected in bulk operations, instances do not capture a stack trace unless the system
+ * property {@value #STACK_TRACE_PROPERTY} is set to {@code true}. Use {@link ResponseInterpreter#evaluate(ResponseAPDU)}
+ * to avoid exceptions altogether.
  *
  * @author Sascha Zak
  * @since 0.1.0
  */
 public final class TransmissionException extends RuntimeException {
 
+  /** system property enabling stack traces for debugging */
+  public static final String STACK_TRACE_PROPERTY = "cardshell.transmission.stacktrace";
+
   /** */
   private static final long serialVersionUID = 6598920453203414361L;
 
+  /** whether stack traces are captured */
+  private static final boolean STACK_TRACE = Boolean.getBoolean(STACK_TRACE_PROPERTY);
+
   /** causing {@link ResponseAPDU} */
   private final ResponseAPDU cause;
 
   /**
-   * Constructs a new runtime exception with the specified detail message. The cause is not initialized, and may
-   * subsequently be initialized by a call to {@link #initCause}.
+   * Constructs a new runtime exception with the specified detail message. The message is prefixed by the status word of
+   * the causing {@link ResponseAPDU}.
    *
    * @param message
    *          the detail message. The detail message is saved for later retrieval by the {@link #getMessage()} method.
@@ -40,26 +50,31 @@ public final class TransmissionException extends RuntimeException {
    *          {@link ResponseAPDU} causing this exception
    */
   public TransmissionException(@NonNull final String message, @NonNull final ResponseAPDU cause) {
-    super(Assert.ARG.isNotNull(message));
-    this.cause = Assert.ARG.isNotNull(cause);
+    super(Hex.append(Hex.append(new StringBuilder(), Assert.ARG.isNotNull(cause).getSW1()), cause.getSW2())
+        .append(": ").append(Assert.ARG.isNotNull(message)).toString(), null, false, STACK_TRACE);
+    this.cause = cause;
   }
 
   /**
-   * Returns the {@link ResponseAPDU} causing this exception.
+   * Constructs a new runtime exception for the given {@link StatusWord}. The detail message is the one precomputed by
+   * the {@link StatusWord}.
    *
-   * @return {@link ResponseAPDU} causing this exception
+   * @param statusWord
+   *          {@link StatusWord} of the causing {@link ResponseAPDU}
+   * @param cause
+   *          {@link ResponseAPDU} causing this exception
    */
-  public final ResponseAPDU getCauseResponse() {
-    return cause;
+  public TransmissionException(@NonNull final StatusWord statusWord, @NonNull final ResponseAPDU cause) {
+    super(Assert.ARG.isNotNull(statusWord).toString(), null, false, STACK_TRACE);
+    this.cause = Assert.ARG.isNotNull(cause);
   }
 
   /**
-   * {@inheritDoc}
+   * Returns the {@link ResponseAPDU} causing this exception.
    *
-   * @see java.lang.Throwable#getMessage()
+   * @return {@link ResponseAPDU} causing this exception
    */
-  @Override
-  public String getMessage() {
-    return Hex.toHexString(cause.getSW1()) + Hex.toHexString(cause.getSW2()) + ": " + super.getMessage();
+  public final ResponseAPDU getCauseResponse() {
+    return cause;
   }
 }
@@ -11,10 +11,8 @@
 package org.cardshell.smartcardshell.apdu;
 
 import org.cardshell.smartcardshell.CommandAPDU;
-import org.cardshell.smartcardshell.ResponseAPDU;
 import org.cardshell.smartcardshell.commons.Hex;
 import org.cardshell.smartcardshell.commons.NonNull;
-import org.cardshell.smartcardshell.commons.Nullable;
 
 /**
  * Implementation of a {@link CommandAPDU} for transmission of any given APDU.
@@ -35,13 +33,12 @@ public final class Transmit extends BasicAPDU {
   }
 
   /**
-   * {@inheritDoc}
+   * Creates a new instance with the given APDU bytes. The given array is used as buffer of this command.
    *
-   * @see org.cardshell.smartcardshell.apdu.ResponseInterpreter#interprete(org.cardshell.smartcardshell.ResponseAPDU)
+   * @param apdu
+   *          APDU bytes
    */
-  @Nullable
-  @Override
-  public String interpreteSpecific(@NonNull final ResponseAPDU response) throws TransmissionException {
-    throw new TransmissionException("Unknown response code", response);
+  public Transmit(@NonNull final byte[] apdu) {
+    super(apdu);
   }
 }
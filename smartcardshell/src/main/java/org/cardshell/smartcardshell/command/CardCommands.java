@@ -11,13 +11,25 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell.command;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
 import org.cardshell.smartcardshell.Card;
+import org.cardshell.smartcardshell.CardPath;
 import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.FileScanner;
+import org.cardshell.smartcardshell.FileTree;
 import org.cardshell.smartcardshell.Shell;
+import org.cardshell.smartcardshell.Terminal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.shell.core.CommandMarker;
 import org.springframework.shell.core.annotation.CliAvailabilityIndicator;
 import org.springframework.shell.core.annotation.CliCommand;
+import org.springframework.shell.core.annotation.CliOption;
 import org.springframework.stereotype.Component;
 
 /**
@@ -50,12 +62,147 @@ public class CardCommands implements CommandMarker {
     return "Opened " + channel.getName();
   }
 
+  /**
+   * Discovers the files of the selected card by selecting each file identifier of a range. The range is split across
+   * several logical channels of the card and, optionally, across the cards of other terminals having the same ATR. Files
+   * are printed as they are found and added to the file system cache of the selected card. The scan runs on logical
+   * channels opened for it and closed afterwards, so the channels opened by the user keep their current files. Only if
+   * no channel can be opened on the selected card, the selected channel is used and its current file selected again.
+   *
+   * @param path
+   *          path of the DF to be scanned, relative to the current DF of the selected channel
+   * @param from
+   *          first file identifier as 4 hexadecimal digits
+   * @param to
+   *          last file identifier as 4 hexadecimal digits
+   * @param channels
+   *          number of logical channels used per card
+   * @param depth
+   *          number of DF levels to be scanned
+   * @param all
+   *          whether identical cards in other terminals are used as well
+   * @return summary of the scan
+   */
+  @CliCommand(value = "scan", help = "Discovers the files of the selected card")
+  public final String scan(
+      @CliOption(key = { "", "path" }, unspecifiedDefaultValue = ".", help = "DF to be scanned") final String path,
+      @CliOption(key = "from", unspecifiedDefaultValue = "0000", help = "First file identifier") final String from,
+      @CliOption(key = "to", unspecifiedDefaultValue = "FFFF", help = "Last file identifier") final String to,
+      @CliOption(key = "channels", unspecifiedDefaultValue = "4", help = "Logical channels per card") final int channels,
+      @CliOption(key = "depth", unspecifiedDefaultValue = "1", help = "DF levels to be scanned") final int depth,
+      @CliOption(key = "all", specifiedDefaultValue = "true", unspecifiedDefaultValue = "false", help = "Uses identical cards of all terminals") final boolean all) {
+    final Card card = shell.getSelectedCard();
+    if (card == null) {
+      return "No card selected";
+    }
+    if (channels < 1) {
+      return "At least one channel required";
+    }
+    if (depth < 1) {
+      return "Depth must be at least 1";
+    }
+    final Channel selectedChannel = shell.getSelectedCardChannel();
+    final CardPath df;
+    final int first;
+    final int last;
+    try {
+      df = CardPath.parse(path.trim(), selectedChannel == null ? CardPath.MF : selectedChannel.getCurrentDF());
+      first = Integer.parseInt(from, 16);
+      last = Integer.parseInt(to, 16);
+    } catch (final IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    final Map<Channel, Card> opened = new IdentityHashMap<>();
+    final FileTree fileTree = card.getFileTree();
+    final Channel fallback = selectedChannel != null || card.getCardChannels().isEmpty() ? selectedChannel
+        : card.getCardChannels().get(0);
+    final CardPath fallbackPath = fallback == null ? null : fallback.getCurrentPath();
+    try {
+      final List<Channel> scanChannels = getChannels(card, channels, fallback, opened);
+      if (scanChannels.isEmpty()) {
+        return "No channel available";
+      }
+      if (all) {
+        for (final Terminal terminal : shell.getCardTerminals()) {
+          for (final Card other : terminal.getCards()) {
+            if (other != card && Arrays.equals(other.getATR(), card.getATR())) {
+              scanChannels.addAll(getChannels(other, channels, null, opened));
+            }
+          }
+        }
+      }
+      return new FileScanner(scanChannels, depth).scan(df, first, last, (file, info, statusWord) -> {
+        if (info != null) {
+          fileTree.put(file, info);
+        }
+        synchronized (System.out) {
+          System.out.println(file + " " + (info != null ? info : statusWord.getMessage()));
+        }
+      });
+    } catch (final IllegalArgumentException e) {
+      return e.getMessage();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return "Interrupted";
+    } finally {
+      opened.forEach((cardChannel, owner) -> owner.closeChannel(cardChannel));
+      if (fallbackPath != null && !Objects.equals(fallbackPath, fallback.getCurrentPath())) {
+        restorePath(fallback, fallbackPath);
+      }
+    }
+  }
+
+  /**
+   * Opens up to the given number of logical channels of the given card for a scan. Channels already open are left out,
+   * except the fallback channel, which is returned, if no channel can be opened.
+   *
+   * @param card
+   *          card
+   * @param count
+   *          number of channels wanted
+   * @param fallback
+   *          channel to be used, if no channel can be opened, or {@code null}
+   * @param opened
+   *          receives the logical channels opened by this method with their card, the basic channel stays open
+   * @return channels to be used by the scan, empty if no channel can be opened and there is no fallback
+   */
+  private static List<Channel> getChannels(final Card card, final int count, final Channel fallback,
+      final Map<Channel, Card> opened) {
+    final List<Channel> channels = new ArrayList<>();
+    try {
+      while (channels.size() < count) {
+        final Channel cardChannel = card.openChannel();
+        if (cardChannel.getNumber() != 0) {
+          opened.put(cardChannel, card);
+        }
+        channels.add(cardChannel);
+      }
+    } catch (final IllegalStateException e) {
+      if (channels.isEmpty() && fallback != null) {
+        channels.add(fallback);
+      }
+    }
+    return channels;
+  }
+
+  /**
+   * Selects the given path again on a channel used by a scan. Failures are printed only, since the scan result is still
+   * valid.
+   */
+  private static void restorePath(final Channel cardChannel, final CardPath path) {
+    try {
+      cardChannel.selectCardPath(path);
+    } catch (final RuntimeException e) {
+      System.out.println("Failed to restore " + path + " on " + cardChannel.getName() + ": " + e.getMessage());
+    }
+  }
+
   /**
    * Returns whether the open channel command is available.
    *
    * @return {@code true} if the open channel command is available, {@code false} otherwise
    */
-  @CliAvailabilityIndicator(value = "open channel")
+  @CliAvailabilityIndicator(value = { "open channel", "scan" })
   public boolean openChannelAvailable() {
     return shell.getSelectedCard() != null;
   }
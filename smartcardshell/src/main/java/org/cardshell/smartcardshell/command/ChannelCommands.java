@@ -11,11 +11,27 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell.command;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.BasicChannel;
+import org.cardshell.smartcardshell.BinaryFileReader;
+import org.cardshell.smartcardshell.Card;
+import org.cardshell.smartcardshell.CardPath;
 import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.FileInfo;
+import org.cardshell.smartcardshell.FileTree;
 import org.cardshell.smartcardshell.ResponseAPDU;
 import org.cardshell.smartcardshell.Shell;
+import org.cardshell.smartcardshell.apdu.TransmissionException;
 import org.cardshell.smartcardshell.apdu.Transmit;
 import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.HexDumpChannel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.shell.core.CommandMarker;
 import org.springframework.shell.core.annotation.CliAvailabilityIndicator;
@@ -37,14 +53,16 @@ public class ChannelCommands implements CommandMarker {
   private Shell shell;
 
   /**
-   * Selects the choosen card.
+   * Changes the current file of the selected card channel. The path is either absolute (starting with {@code /}) or
+   * relative to the current DF and consists of file identifiers separated by {@code /}, {@code ..} denotes the parent
+   * DF. Selecting a file which is already current does not transmit any command.
    *
-   * @param card
-   *          card to select
-   * @return confirmation text
+   * @param path
+   *          path of the file to select
+   * @return warning or error message
    */
   @CliCommand(value = "cd", help = "Changes the current DF")
-  public final String cd(@CliOption(key = "path", unspecifiedDefaultValue = ".") final String path) {
+  public final String cd(@CliOption(key = { "", "path" }, unspecifiedDefaultValue = ".") final String path) {
     final Channel cardChannel = shell.getSelectedCardChannel();
     if (cardChannel == null) {
       return "No card channel selected";
@@ -52,8 +70,52 @@ public class ChannelCommands implements CommandMarker {
     if (path == null || path.trim().isEmpty() || path.equals(".")) {
       return null;
     }
-    // TODO (Sascha Zak): implement cd command
-    return "Nothing read";
+    final CardPath target;
+    try {
+      target = CardPath.parse(path.trim(), cardChannel.getCurrentDF());
+    } catch (final IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    try {
+      return cardChannel.selectCardPath(target);
+    } catch (final TransmissionException e) {
+      return e.getMessage();
+    }
+  }
+
+  /**
+   * Lists the files of a DF known from the file system cache of the selected card, i.e. the files selected before
+   * through any of its channels. No command is transmitted.
+   *
+   * @param path
+   *          path of the DF to be listed, the current DF by default
+   * @return listing of the cached files
+   */
+  @CliCommand(value = "ls", help = "Lists the cached files of a DF")
+  public final String ls(@CliOption(key = { "", "path" }, unspecifiedDefaultValue = ".") final String path) {
+    final Card card = shell.getSelectedCard();
+    final Channel cardChannel = shell.getSelectedCardChannel();
+    if (card == null || cardChannel == null) {
+      return "No card channel selected";
+    }
+    final CardPath df;
+    try {
+      df = CardPath.parse(path.trim(), cardChannel.getCurrentDF());
+    } catch (final IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    final FileTree fileTree = card.getFileTree();
+    final List<CardPath> children = fileTree.getChildren(df);
+    if (children.isEmpty()) {
+      return String.format("No files of %s cached", df);
+    }
+    final StringBuilder listing = new StringBuilder();
+    for (final CardPath child : children) {
+      final FileInfo info = fileTree.get(child);
+      listing.append(listing.length() == 0 ? "" : System.lineSeparator());
+      listing.append(info != null ? info : String.format("%04X DF", child.getFileId()));
+    }
+    return listing.toString();
   }
 
   /**
@@ -61,26 +123,96 @@ public class ChannelCommands implements CommandMarker {
    *
    * @return {@code true}, if the read command is available, {@code false} otherwise
    */
-  @CliAvailabilityIndicator(value = { "read", "cd" })
+  @CliAvailabilityIndicator(value = { "read", "cd", "ls", "set" })
   public boolean isChannelCommandAvailable() {
     return shell.getSelectedCardChannel() != null;
   }
 
   /**
-   * Selects the choosen card.
+   * Reads the current transparent EF of the selected card channel. The data is streamed as hexadecimal dump to the
+   * console or as binary data to a file. If the size of the EF is known from the file system cache, reading stops at the
+   * end of the file without probing it.
    *
-   * @param card
-   *          card to select
-   * @return confirmation text
+   * @param offset
+   *          offset to start reading at
+   * @param length
+   *          maximum number of bytes to read or a negative value to read until the end of the file
+   * @param file
+   *          file to write the data to or {@code null} to dump it to the console
+   * @return summary text
    */
   @CliCommand(value = "read", help = "Reads data from a card channel")
-  public final String read() {
+  public final String read(
+      @CliOption(key = "offset", unspecifiedDefaultValue = "0", help = "Offset to start reading at") final int offset,
+      @CliOption(key = "length", unspecifiedDefaultValue = "-1", help = "Number of bytes to read, all by default") final long length,
+      @CliOption(key = "file", help = "File to write the data to") final String file) {
+    final Channel cardChannel = shell.getSelectedCardChannel();
+    if (cardChannel == null) {
+      return "No card channel selected";
+    }
+    final long size = length < 0 ? getCachedSize(cardChannel) : -1;
+    final long limit = size > offset ? size - offset : length;
+    final long start = System.nanoTime();
+    final long count;
+    try (WritableByteChannel sink = file == null ? new HexDumpChannel(System.out, offset) : FileChannel.open(
+        Paths.get(file), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      count = new BinaryFileReader(cardChannel).read(offset, limit, sink);
+    } catch (final IOException e) {
+      return "Failed to write data: " + e.getMessage();
+    } catch (final TransmissionException | IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    return String.format("%s bytes read in %s ms", count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /**
+   * Returns the size of the current file of the given channel as cached by the file system cache of the selected card.
+   *
+   * @param cardChannel
+   *          card channel
+   * @return size of the current file or -1, if unknown
+   */
+  private long getCachedSize(final Channel cardChannel) {
+    final Card card = shell.getSelectedCard();
+    final CardPath path = cardChannel.getCurrentPath();
+    final FileInfo info = card == null || path == null ? null : card.getFileTree().get(path);
+    return info == null ? -1 : info.getSize();
+  }
+
+  /**
+   * Changes the transmission options of the selected card channel. Options not given are left unchanged.
+   *
+   * @param chaining
+   *          maximum number of data bytes per command of a command chain or 0 to disable command chaining
+   * @param leCorrection
+   *          whether commands answered with 6Cxx are retransmitted with the corrected {@code Le}
+   * @return current options
+   */
+  @CliCommand(value = "set", help = "Changes the transmission options of the selected card channel")
+  public final String set(
+      @CliOption(key = "chaining", help = "Data bytes per chained command, 0 to disable chaining") final Integer chaining,
+      @CliOption(key = "le-correction", help = "Retransmit commands answered with 6Cxx", specifiedDefaultValue = "true") final Boolean leCorrection) {
     final Channel cardChannel = shell.getSelectedCardChannel();
     if (cardChannel == null) {
       return "No card channel selected";
     }
-    // TODO (Sascha Zak): implement read command
-    return "Nothing read";
+    if (!(cardChannel instanceof BasicChannel)) {
+      return "Options not supported by " + cardChannel.getName();
+    }
+    final BasicChannel basicChannel = (BasicChannel) cardChannel;
+    try {
+      if (chaining != null) {
+        basicChannel.setChainingSegmentSize(chaining);
+      }
+    } catch (final IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    if (leCorrection != null) {
+      basicChannel.setLeCorrection(leCorrection);
+    }
+    final int segmentSize = basicChannel.getChainingSegmentSize();
+    return "Command chaining: " + (segmentSize == 0 ? "disabled" : segmentSize + " bytes per command")
+        + System.lineSeparator() + "Le correction: " + (basicChannel.isLeCorrection() ? "enabled" : "disabled");
   }
 
   @CliCommand(value = "transmit", help = "Transmits an APDU")
@@ -0,0 +1,128 @@
+/******************************************************************************
+ * DumpCommands.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.command;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.Card;
+import org.cardshell.smartcardshell.CardPath;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.FileTree;
+import org.cardshell.smartcardshell.Shell;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.HexDumpChannel;
+import org.cardshell.smartcardshell.dump.CardDumper;
+import org.cardshell.smartcardshell.dump.DumpImage;
+import org.cardshell.smartcardshell.dump.DumpWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.shell.core.CommandMarker;
+import org.springframework.shell.core.annotation.CliAvailabilityIndicator;
+import org.springframework.shell.core.annotation.CliCommand;
+import org.springframework.shell.core.annotation.CliOption;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collection of commands related to card images.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@Component
+public class DumpCommands implements CommandMarker {
+
+  /** card shell instance */
+  @Autowired
+  private Shell shell;
+
+  /**
+   * Dumps all files known from the file system cache of the selected card into an image file. Each file is written as
+   * soon as it has been read, so an interrupted dump keeps the files read so far.
+   *
+   * @param file
+   *          image file
+   * @return summary of the dump
+   */
+  @CliCommand(value = "dump", help = "Dumps the cached files of the selected card into an image file")
+  public final String dump(@CliOption(key = { "", "file" }, mandatory = true, help = "Image file") final String file) {
+    final Card card = shell.getSelectedCard();
+    final Channel cardChannel = shell.getSelectedCardChannel();
+    if (card == null || cardChannel == null) {
+      return "No card channel selected";
+    }
+    final FileTree fileTree = card.getFileTree();
+    final List<CardPath> paths = fileTree.getPaths();
+    if (paths.isEmpty()) {
+      return "No files cached, use cd or scan to discover the files first";
+    }
+    final long start = System.nanoTime();
+    final int count;
+    try (DumpWriter writer = new DumpWriter(Paths.get(file), card.getATR(), paths.size())) {
+      count = new CardDumper(cardChannel).dump(fileTree, paths, writer, (path, length, error) -> System.out.println(
+          path + " " + length + " bytes" + (error == null ? "" : " (" + error + ")")));
+    } catch (final IOException e) {
+      return "Failed to write image: " + e.getMessage();
+    }
+    return String.format("%s files dumped in %s ms", count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  /**
+   * Lists the files of an image file or prints the content of one of them.
+   *
+   * @param file
+   *          image file
+   * @param path
+   *          absolute path of the file to be printed or {@code null} to list all files
+   * @return listing or content
+   */
+  @CliCommand(value = "image", help = "Lists the files of an image file or prints one of them")
+  public final String image(@CliOption(key = { "", "file" }, mandatory = true, help = "Image file") final String file,
+      @CliOption(key = "path", help = "File to be printed") final String path) {
+    try {
+      final DumpImage image = new DumpImage(Paths.get(file));
+      if (path == null) {
+        final StringBuilder listing = new StringBuilder("ATR ").append(Hex.toHexString(image.getATR()));
+        for (final DumpImage.Entry entry : image.getEntries()) {
+          listing.append(System.lineSeparator()).append(entry);
+        }
+        return listing.toString();
+      }
+      final DumpImage.Entry entry = image.getEntry(CardPath.parse(path, null));
+      if (entry == null) {
+        return "File not found in image";
+      }
+      try (HexDumpChannel dump = new HexDumpChannel(System.out, 0)) {
+        final ByteBuffer content = entry.getContent();
+        while (content.hasRemaining()) {
+          dump.write(content);
+        }
+      }
+      return String.valueOf(entry.getInfo());
+    } catch (final IOException e) {
+      return "Failed to read image: " + e.getMessage();
+    } catch (final IllegalArgumentException e) {
+      return e.getMessage();
+    }
+  }
+
+  /**
+   * Returns whether the dump command is available.
+   *
+   * @return {@code true}, if the dump command is available, {@code false} otherwise
+   */
+  @CliAvailabilityIndicator(value = "dump")
+  public boolean isDumpAvailable() {
+    return shell.getSelectedCardChannel() != null;
+  }
+}
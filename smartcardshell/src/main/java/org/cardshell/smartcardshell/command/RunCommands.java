@@ -0,0 +1,118 @@
+/******************************************************************************
+ * RunCommands.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.command;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.Shell;
+import org.cardshell.smartcardshell.Terminal;
+import org.cardshell.smartcardshell.script.ParallelScriptRunner;
+import org.cardshell.smartcardshell.script.Script;
+import org.cardshell.smartcardshell.script.ScriptPrinter;
+import org.cardshell.smartcardshell.script.ScriptResult;
+import org.cardshell.smartcardshell.script.ScriptRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.shell.core.CommandMarker;
+import org.springframework.shell.core.annotation.CliAvailabilityIndicator;
+import org.springframework.shell.core.annotation.CliCommand;
+import org.springframework.shell.core.annotation.CliOption;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collection of commands related to APDU {@link Script}s.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@Component
+public class RunCommands implements CommandMarker {
+
+  /** card shell instance */
+  @Autowired
+  private Shell shell;
+
+  /**
+   * Runs an APDU script against the selected card channel or on all cards at once. The result of each command is
+   * printed while the script is running.
+   *
+   * @param script
+   *          path of the script file, with {@code all} a {@code {terminal}} within the path is replaced by the name of
+   *          each terminal
+   * @param all
+   *          whether the script is run on the cards of all terminals in parallel
+   * @param continueOnFailure
+   *          whether the script continues after an unexpected status word
+   * @param quiet
+   *          whether only failed commands are printed
+   * @return summary of the run
+   */
+  @CliCommand(value = "run", help = "Runs an APDU script against the selected card channel or all cards")
+  public final String run(
+      @CliOption(key = "script", mandatory = true, help = "Path of the script file") final String script,
+      @CliOption(key = "all", specifiedDefaultValue = "true", unspecifiedDefaultValue = "false", help = "Runs the script on all cards in parallel") final boolean all,
+      @CliOption(key = "continue", specifiedDefaultValue = "true", unspecifiedDefaultValue = "false", help = "Continues after unexpected status words") final boolean continueOnFailure,
+      @CliOption(key = "quiet", specifiedDefaultValue = "true", unspecifiedDefaultValue = "false", help = "Prints failed commands only") final boolean quiet) {
+    if (all) {
+      return runAll(script, continueOnFailure, quiet);
+    }
+    final Channel cardChannel = shell.getSelectedCardChannel();
+    if (cardChannel == null) {
+      return "No card channel selected";
+    }
+    final Script parsed;
+    try {
+      parsed = Script.parse(Paths.get(script));
+    } catch (final IOException e) {
+      return "Failed to read script: " + e.getMessage();
+    } catch (final IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    final ScriptResult result = new ScriptRunner(cardChannel, !continueOnFailure).run(parsed,
+        new ScriptPrinter(System.out, !quiet));
+    return parsed.getName() + ": " + result;
+  }
+
+  private String runAll(final String script, final boolean continueOnFailure, final boolean quiet) {
+    final List<Terminal> terminals = shell.getCardTerminals();
+    final Map<Terminal, Script> scripts;
+    try {
+      scripts = ParallelScriptRunner.parse(script, terminals);
+    } catch (final IOException e) {
+      return "Failed to read script: " + e.getMessage();
+    } catch (final IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    if (scripts.isEmpty()) {
+      return "No card found";
+    }
+    try {
+      return new ParallelScriptRunner(terminals, !continueOnFailure).run(scripts::get,
+          terminal -> new ScriptPrinter(System.out, !quiet, terminal.getName() + " ")).toString();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return "Interrupted";
+    }
+  }
+
+  /**
+   * Returns whether the run command is available.
+   *
+   * @return {@code true}, if the run command is available, {@code false} otherwise
+   */
+  @CliAvailabilityIndicator(value = "run")
+  public boolean isRunAvailable() {
+    return shell.getSelectedCardChannel() != null || !shell.getCardTerminals().isEmpty();
+  }
+}
@@ -10,19 +10,39 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell.commons;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
- * Utility class to support handling with hexadecimal encoded values.
+ * Utility class to support handling with hexadecimal encoded values. Encoding and decoding are driven by lookup tables;
+ * besides the {@link String} based methods, there are variants decoding into existing buffers and encoding into existing
+ * {@link StringBuilder}s or {@link Appendable}s.
  *
  * @author Sascha Zak
  * @since 0.1.0
  */
 public final class Hex {
 
-  /** auxillary string array */
-  private static final String[] HEX_CHARS = { "0", "1", "2", "3", "4", "5", "6", "7", "8", "9", "A", "B", "C", "D",
-    "E", "F" };
+  /** upper case hexadecimal digits indexed by nibble value */
+  private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+
+  /** nibble values indexed by character, -1 for characters which are not hexadecimal digits */
+  private static final byte[] NIBBLES = new byte[128];
+
+  static {
+    Arrays.fill(NIBBLES, (byte) -1);
+    for (int i = 0; i < 10; i++) {
+      NIBBLES['0' + i] = (byte) i;
+    }
+    for (int i = 0; i < 6; i++) {
+      NIBBLES['A' + i] = (byte) (10 + i);
+      NIBBLES['a' + i] = (byte) (10 + i);
+    }
+  }
 
   /**
    * Prevents instantiation.
@@ -36,19 +56,69 @@ public final class Hex {
    *          the hexadecimal encoded {@link String} to be parsed, must not be {@code blank} and has to use two
    *          characters to represent one byte
    * @return the parsed byte array or an empty byte array
+   * @throws IllegalArgumentException
+   *           if the given {@link String} is not a valid hexadecimal encoding
    */
   @NonNull
   public static final byte[] parseHexString(@NonNull final String hexString) {
     Assert.ARG.isNotBlank(hexString);
     Assert.ARG.isTrue(hexString.length() % 2 == 0);
     final byte[] result = new byte[hexString.length() / 2];
-    for (int i = 0; i < hexString.length(); i += 2) {
-      final String toParse = hexString.substring(i, i + 2);
-      result[i / 2] = (byte) Integer.parseInt(toParse, 16);
-    }
+    decode(hexString, result, 0);
     return result;
   }
 
+  /**
+   * Decodes the given hexadecimal encoded characters into an existing byte array.
+   *
+   * @param hex
+   *          hexadecimal encoded characters, two characters per byte
+   * @param target
+   *          byte array to decode into
+   * @param offset
+   *          offset within the target array
+   * @return number of bytes decoded
+   * @throws IllegalArgumentException
+   *           if the given characters are not a valid hexadecimal encoding
+   * @throws IndexOutOfBoundsException
+   *           if the target array is too small
+   */
+  public static final int decode(@NonNull final CharSequence hex, @NonNull final byte[] target, final int offset) {
+    final int length = checkLength(hex);
+    if (offset < 0 || offset + length > target.length) {
+      throw new IndexOutOfBoundsException("Target array too small for " + length + " bytes at offset " + offset);
+    }
+    for (int i = 0, j = offset; i < hex.length(); i += 2, j++) {
+      target[j] = decode(hex, i);
+    }
+    return length;
+  }
+
+  /**
+   * Decodes the given hexadecimal encoded characters into an existing {@link ByteBuffer} at its current position. The
+   * position is advanced by the number of bytes decoded.
+   *
+   * @param hex
+   *          hexadecimal encoded characters, two characters per byte
+   * @param target
+   *          buffer to decode into
+   * @return number of bytes decoded
+   * @throws IllegalArgumentException
+   *           if the given characters are not a valid hexadecimal encoding
+   * @throws BufferOverflowException
+   *           if the remaining space of the buffer is too small
+   */
+  public static final int decode(@NonNull final CharSequence hex, @NonNull final ByteBuffer target) {
+    final int length = checkLength(hex);
+    if (target.remaining() < length) {
+      throw new BufferOverflowException();
+    }
+    for (int i = 0; i < hex.length(); i += 2) {
+      target.put(decode(hex, i));
+    }
+    return length;
+  }
+
   /**
    * Converts the given byte array into a hexadecimal {@link String} representation.
    *
@@ -58,15 +128,28 @@ public final class Hex {
    */
   @NonNull
   public static final String toHexString(@NonNull final byte[] data) {
-    Assert.ARG.isNotNull(data);
+    return toHexString(Assert.ARG.isNotNull(data), 0, data.length);
+  }
 
-    final StringBuffer out = new StringBuffer();
-    for (final byte element : data) {
-      out.append(HEX_CHARS[element >> 4 & 0x0f]);
-      out.append(HEX_CHARS[element & 0x0f]);
+  /**
+   * Converts a range of the given byte array into a hexadecimal {@link String} representation.
+   *
+   * @param data
+   *          byte array to convert
+   * @param offset
+   *          offset of the first byte to convert
+   * @param length
+   *          number of bytes to convert
+   * @return hexadecimal representation
+   */
+  @NonNull
+  public static final String toHexString(@NonNull final byte[] data, final int offset, final int length) {
+    final char[] chars = new char[length * 2];
+    for (int i = 0, j = offset; i < chars.length; i += 2, j++) {
+      chars[i] = DIGITS[data[j] >> 4 & 0x0F];
+      chars[i + 1] = DIGITS[data[j] & 0x0F];
     }
-
-    return out.toString();
+    return new String(chars);
   }
 
   /**
@@ -77,6 +160,85 @@ public final class Hex {
    * @return converted hexadecimal representation
    */
   public static final String toHexString(final int value) {
-    return HEX_CHARS[(value & 0xff & 0xf0) >>> 4] + HEX_CHARS[value & 0x0f];
+    return new String(new char[] { DIGITS[value >> 4 & 0x0F], DIGITS[value & 0x0F] });
+  }
+
+  /**
+   * Appends the hexadecimal representation of a range of the given byte array to a {@link StringBuilder}.
+   *
+   * @param out
+   *          {@link StringBuilder} to append to
+   * @param data
+   *          byte array to convert
+   * @param offset
+   *          offset of the first byte to convert
+   * @param length
+   *          number of bytes to convert
+   * @return the given {@link StringBuilder}
+   */
+  @NonNull
+  public static final StringBuilder append(@NonNull final StringBuilder out, @NonNull final byte[] data,
+      final int offset, final int length) {
+    out.ensureCapacity(out.length() + length * 2);
+    for (int i = offset; i < offset + length; i++) {
+      append(out, data[i]);
+    }
+    return out;
+  }
+
+  /**
+   * Appends the hexadecimal representation of the given int (as byte value) to a {@link StringBuilder}.
+   *
+   * @param out
+   *          {@link StringBuilder} to append to
+   * @param value
+   *          value to be converted
+   * @return the given {@link StringBuilder}
+   */
+  @NonNull
+  public static final StringBuilder append(@NonNull final StringBuilder out, final int value) {
+    return out.append(DIGITS[value >> 4 & 0x0F]).append(DIGITS[value & 0x0F]);
+  }
+
+  /**
+   * Appends the hexadecimal representation of a range of the given byte array to an {@link Appendable}.
+   *
+   * @param out
+   *          {@link Appendable} to append to
+   * @param data
+   *          byte array to convert
+   * @param offset
+   *          offset of the first byte to convert
+   * @param length
+   *          number of bytes to convert
+   * @return the given {@link Appendable}
+   * @throws IOException
+   *           if the {@link Appendable} fails
+   */
+  @NonNull
+  public static final Appendable append(@NonNull final Appendable out, @NonNull final byte[] data, final int offset,
+      final int length) throws IOException {
+    for (int i = offset; i < offset + length; i++) {
+      out.append(DIGITS[data[i] >> 4 & 0x0F]).append(DIGITS[data[i] & 0x0F]);
+    }
+    return out;
+  }
+
+  private static int checkLength(final CharSequence hex) {
+    if (hex.length() % 2 != 0) {
+      throw new IllegalArgumentException("Odd number of hexadecimal digits [" + hex + "]");
+    }
+    return hex.length() / 2;
+  }
+
+  private static byte decode(final CharSequence hex, final int index) {
+    final char high = hex.charAt(index);
+    final char low = hex.charAt(index + 1);
+    final int highNibble = high < NIBBLES.length ? NIBBLES[high] : -1;
+    final int lowNibble = low < NIBBLES.length ? NIBBLES[low] : -1;
+    if ((highNibble | lowNibble) < 0) {
+      throw new IllegalArgumentException("Invalid hexadecimal digits [" + high + low + "] at index " + index);
+    }
+    return (byte) (highNibble << 4 | lowNibble);
   }
 }
@@ -0,0 +1,116 @@
+/******************************************************************************
+ * HexDumpChannel.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.commons;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * {@link WritableByteChannel} writing the bytes written to it as hexadecimal dump to an {@link Appendable}, one line of
+ * 16 bytes prefixed by their offset at a time:
+ *
+ * <pre>
+ * 0000: 00 01 02 03 04 05 06 07 08 09 0A 0B 0C 0D 0E 0F
+ * </pre>
+ *
+ * Complete lines are written as soon as their bytes have been received, the last incomplete line is written when the
+ * channel is closed.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class HexDumpChannel implements WritableByteChannel {
+
+  /** number of bytes per line */
+  private static final int BYTES_PER_LINE = 16;
+
+  /** target of the dump */
+  private final Appendable out;
+
+  /** reused line buffer */
+  private final StringBuilder line = new StringBuilder(64);
+
+  /** offset of the next byte */
+  private long offset;
+
+  /** whether this channel is open */
+  private boolean open = true;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param out
+   *          target of the dump
+   * @param offset
+   *          offset of the first byte written, used as prefix of the lines
+   */
+  public HexDumpChannel(@NonNull final Appendable out, final long offset) {
+    this.out = Assert.ARG.isNotNull(out);
+    this.offset = offset;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.nio.channels.WritableByteChannel#write(java.nio.ByteBuffer)
+   */
+  @Override
+  public int write(@NonNull final ByteBuffer source) throws IOException {
+    if (!open) {
+      throw new ClosedChannelException();
+    }
+    final int count = source.remaining();
+    while (source.hasRemaining()) {
+      if (line.length() == 0) {
+        Hex.append(Hex.append(line, (int) (offset >>> 8)), (int) offset).append(':');
+      }
+      Hex.append(line.append(' '), source.get());
+      if (++offset % BYTES_PER_LINE == 0) {
+        flushLine();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.nio.channels.Channel#isOpen()
+   */
+  @Override
+  public boolean isOpen() {
+    return open;
+  }
+
+  /**
+   * {@inheritDoc} The last incomplete line is written, the target of the dump is not closed.
+   *
+   * @see java.nio.channels.Channel#close()
+   */
+  @Override
+  public void close() throws IOException {
+    if (open) {
+      open = false;
+      if (line.length() > 0) {
+        flushLine();
+      }
+    }
+  }
+
+  private void flushLine() throws IOException {
+    out.append(line.append(System.lineSeparator()));
+    line.setLength(0);
+  }
+}
@@ -0,0 +1,165 @@
+/******************************************************************************
+ * PrefixIndex.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.commons;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Index of values by string keys based on a prefix trie. Lookups take time proportional to the length of the key, and all
+ * entries starting with a given prefix are enumerated in key order without visiting any other entries.
+ * <p>
+ * Instances are not thread-safe for modification. An index shared between threads has to be filled completely before it
+ * is published, and must not be modified afterwards.
+ *
+ * @param <V>
+ *          type of the indexed values
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class PrefixIndex<V> {
+
+  /** root node representing the empty prefix */
+  private final Node<V> root = new Node<>();
+
+  /** number of entries */
+  private int size;
+
+  /**
+   * Adds an entry to this index. A value already indexed under the given key is replaced.
+   *
+   * @param key
+   *          key of the entry
+   * @param value
+   *          value of the entry
+   */
+  public void put(@NonNull final String key, @NonNull final V value) {
+    Assert.ARG.isNotNull(key);
+    Assert.ARG.isNotNull(value);
+    Node<V> node = root;
+    for (int i = 0; i < key.length(); i++) {
+      node = node.getOrAddChild(key.charAt(i));
+    }
+    if (node.key == null) {
+      size++;
+    }
+    node.key = key;
+    node.value = value;
+  }
+
+  /**
+   * Returns the value indexed under the given key.
+   *
+   * @param key
+   *          key of the entry
+   * @return indexed value or {@code null}, if there is no entry with the given key
+   */
+  @Nullable
+  public V get(@Nullable final String key) {
+    final Node<V> node = find(key);
+    return node == null ? null : node.value;
+  }
+
+  /**
+   * Calls the given action for all entries whose keys start with the given prefix, in key order.
+   *
+   * @param prefix
+   *          key prefix or {@code null} to enumerate all entries
+   * @param action
+   *          action to be called with key and value of each entry
+   */
+  public void forEach(@Nullable final String prefix, @NonNull final BiConsumer<String, V> action) {
+    Assert.ARG.isNotNull(action);
+    final Node<V> node = find(prefix == null ? "" : prefix);
+    if (node != null) {
+      node.forEach(action);
+    }
+  }
+
+  /**
+   * Returns the number of entries in this index.
+   *
+   * @return number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  private Node<V> find(final String key) {
+    if (key == null) {
+      return null;
+    }
+    Node<V> node = root;
+    for (int i = 0; i < key.length() && node != null; i++) {
+      node = node.getChild(key.charAt(i));
+    }
+    return node;
+  }
+
+  /**
+   * Trie node with its children kept in arrays sorted by character.
+   */
+  private static final class Node<V> {
+
+    /** no children */
+    private static final char[] NO_CHARS = new char[0];
+
+    /** sorted characters leading to the children */
+    private char[] chars = NO_CHARS;
+
+    /** children in the order of {@link #chars} */
+    private Node<V>[] children;
+
+    /** key of the entry ending at this node or {@code null} */
+    private String key;
+
+    /** value of the entry ending at this node or {@code null} */
+    private V value;
+
+    private Node<V> getChild(final char c) {
+      final int index = Arrays.binarySearch(chars, c);
+      return index < 0 ? null : children[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private Node<V> getOrAddChild(final char c) {
+      int index = Arrays.binarySearch(chars, c);
+      if (index >= 0) {
+        return children[index];
+      }
+      index = -index - 1;
+      final char[] newChars = new char[chars.length + 1];
+      final Node<V>[] newChildren = (Node<V>[]) new Node<?>[chars.length + 1];
+      System.arraycopy(chars, 0, newChars, 0, index);
+      System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+      if (children != null) {
+        System.arraycopy(children, 0, newChildren, 0, index);
+        System.arraycopy(children, index, newChildren, index + 1, chars.length - index);
+      }
+      newChars[index] = c;
+      newChildren[index] = new Node<>();
+      chars = newChars;
+      children = newChildren;
+      return newChildren[index];
+    }
+
+    private void forEach(final BiConsumer<String, V> action) {
+      if (key != null) {
+        action.accept(key, value);
+      }
+      for (int i = 0; i < chars.length; i++) {
+        children[i].forEach(action);
+      }
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/******************************************************************************
+ * SerialExecutor.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.commons;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * {@link Executor} running its tasks one after another in submission order on the threads of another, shared
+ * {@link Executor}. At most one thread of the shared executor is used at a time, and it is handed back after a batch of
+ * tasks, so many serial executors can share a small thread pool fairly.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class SerialExecutor implements Executor {
+
+  /** logger */
+  private static final Logger LOG = Logger.getLogger(SerialExecutor.class.getName());
+
+  /** maximum number of tasks run before the thread is handed back to the shared executor */
+  private static final int BATCH_SIZE = 16;
+
+  /** executor providing the threads */
+  private final Executor executor;
+
+  /** tasks waiting to be run */
+  private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+  /** number of submitted tasks not yet completed, the submitter raising it from 0 starts the drain */
+  private final AtomicInteger pending = new AtomicInteger();
+
+  /** drains the task queue */
+  private final Runnable drain = this::drain;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param executor
+   *          executor providing the threads
+   */
+  public SerialExecutor(@NonNull final Executor executor) {
+    this.executor = Assert.ARG.isNotNull(executor);
+  }
+
+  /**
+   * {@inheritDoc} The task is run after all previously submitted tasks have completed. Exceptions thrown by a task are
+   * logged and do not affect the following tasks.
+   *
+   * @see java.util.concurrent.Executor#execute(java.lang.Runnable)
+   */
+  @Override
+  public void execute(@NonNull final Runnable task) {
+    tasks.add(Assert.ARG.isNotNull(task));
+    if (pending.getAndIncrement() == 0) {
+      try {
+        executor.execute(drain);
+      } catch (final RejectedExecutionException e) {
+        tasks.remove(task);
+        pending.decrementAndGet();
+        throw e;
+      }
+    }
+  }
+
+  private void drain() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      final Runnable task = tasks.poll();
+      try {
+        task.run();
+      } catch (final RuntimeException e) {
+        LOG.log(Level.WARNING, "Task failed", e);
+      }
+      if (pending.decrementAndGet() == 0) {
+        return;
+      }
+    }
+    executor.execute(drain);
+  }
+}
@@ -47,12 +47,7 @@ public final class ChannelConverter implements Converter<Channel> {
     if (selectedCard == null) {
       throw new IllegalStateException("No card selected");
     }
-    for (final Channel cardChannel : selectedCard.getCardChannels()) {
-      if (cardChannel.getName().equals(value)) {
-        return cardChannel;
-      }
-    }
-    return null;
+    return selectedCard.getCardChannel(value);
   }
 
   /**
@@ -68,9 +63,8 @@ public final class ChannelConverter implements Converter<Channel> {
     if (selectedCard == null) {
       return true;
     }
-    for (final Channel cardChannel : selectedCard.getCardChannels()) {
-      completions.add(new Completion(cardChannel.getName()));
-    }
+    selectedCard.forEachCardChannel(existingData, cardChannel -> completions.add(new Completion(cardChannel
+        .getName())));
     return true;
   }
 
@@ -58,11 +58,7 @@ public final class FileConverter implements Converter<File> {
   @Override
   public boolean getAllPossibleValues(final List<Completion> completions, final Class<?> targetType,
       final String existingData, final String optionContext, final MethodTarget target) {
-    for (final String synonym : FileType.getAllSynonyms().keySet()) {
-      if (synonym.startsWith(existingData)) {
-        completions.add(new Completion(synonym));
-      }
-    }
+    FileType.forEachSynonym(existingData, (synonym, fileType) -> completions.add(new Completion(synonym)));
     return true;
   }
 
@@ -42,12 +42,7 @@ public final class TerminalConverter implements Converter<Terminal> {
    */
   @Override
   public Terminal convertFromText(final String value, final Class<?> targetType, final String optionContext) {
-    for (final Terminal terminal : shell.getCardTerminals()) {
-      if (terminal.getName().equals(value)) {
-        return terminal;
-      }
-    }
-    return null;
+    return shell.getCardTerminal(value);
   }
 
   /**
@@ -59,9 +54,7 @@ public final class TerminalConverter implements Converter<Terminal> {
   @Override
   public boolean getAllPossibleValues(final List<Completion> completions, final Class<?> targetType,
       final String existingData, final String optionContext, final MethodTarget target) {
-    for (final Terminal terminal : shell.getCardTerminals()) {
-      completions.add(new Completion(terminal.getName()));
-    }
+    shell.forEachCardTerminal(existingData, terminal -> completions.add(new Completion(terminal.getName())));
     return true;
 
   }
@@ -0,0 +1,162 @@
+/******************************************************************************
+ * CardDumper.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.dump;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+import org.cardshell.smartcardshell.BinaryFileReader;
+import org.cardshell.smartcardshell.CardPath;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.FileInfo;
+import org.cardshell.smartcardshell.FileTree;
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.apdu.ReadRecord;
+import org.cardshell.smartcardshell.apdu.StatusWord;
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
+import org.cardshell.smartcardshell.apdu.TransmissionException;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Dumps the files known from the {@link FileTree} of a card into a {@link DumpWriter}. DFs are written with their FCP
+ * or FCI only, transparent EFs are read by {@link BinaryFileReader} and record EFs record by record. Each file is
+ * committed as soon as it has been read, a file which cannot be selected or read completely is written with the data
+ * read so far.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class CardDumper {
+
+  /**
+   * Listener notified about the progress of a {@link CardDumper}.
+   */
+  public interface Listener {
+
+    /**
+     * Called for each file written to the image.
+     *
+     * @param path
+     *          path of the file
+     * @param length
+     *          number of content bytes written
+     * @param error
+     *          message of the error which stopped reading the file or {@code null}, if the file was read completely
+     */
+    public void fileDumped(@NonNull CardPath path, long length, @Nullable String error);
+  }
+
+  /** status word denoting the end of a record EF */
+  private static final int SW_RECORD_NOT_FOUND = 0x6A83;
+
+  /** channel the files are read on */
+  private final Channel channel;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param channel
+   *          channel the files are read on, its current file is undefined afterwards
+   */
+  public CardDumper(@NonNull final Channel channel) {
+    this.channel = Assert.ARG.isNotNull(channel);
+  }
+
+  /**
+   * Dumps the given files in the given order. The paths are taken once by the caller, usually from
+   * {@link FileTree#getPaths()}, so files added to the tree while dumping, e.g. by a concurrent scan, cannot overflow the
+   * index of the image.
+   *
+   * @param fileTree
+   *          tree providing the metadata of the files
+   * @param paths
+   *          paths of the files to be dumped, the writer has to have a capacity for all of them
+   * @param writer
+   *          image the files are written to
+   * @param listener
+   *          listener notified about each file written
+   * @return number of files written
+   * @throws IOException
+   *           if writing the image fails
+   */
+  public int dump(@NonNull final FileTree fileTree, @NonNull final List<CardPath> paths,
+      @NonNull final DumpWriter writer, @NonNull final Listener listener) throws IOException {
+    Assert.ARG.isNotNull(fileTree);
+    int count = 0;
+    for (final CardPath path : Assert.ARG.isNotNull(paths)) {
+      final FileInfo info = fileTree.get(path);
+      final WritableByteChannel content = writer.startEntry(path, info);
+      String error = null;
+      try {
+        read(path, info, content);
+      } catch (final TransmissionException e) {
+        error = e.getMessage();
+      }
+      listener.fileDumped(path, writer.commitEntry(), error);
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Reads the content of the given file. Files of unknown structure are read as transparent EFs, if their size is known.
+   */
+  private void read(final CardPath path, final FileInfo info, final WritableByteChannel content) throws IOException {
+    if (info == null || info.isDedicatedFile()) {
+      return;
+    }
+    switch (info.getStructure()) {
+      case TRANSPARENT:
+        channel.selectCardPath(path);
+        new BinaryFileReader(channel).read(0, info.getSize(), content);
+        break;
+      case UNKNOWN:
+        if (info.getSize() >= 0) {
+          channel.selectCardPath(path);
+          new BinaryFileReader(channel).read(0, info.getSize(), content);
+        }
+        break;
+      default:
+        channel.selectCardPath(path);
+        readRecords(content);
+    }
+  }
+
+  /**
+   * Reads the records of the current record EF until the card reports a missing record.
+   */
+  private void readRecords(final WritableByteChannel content) throws IOException {
+    final ResponseAPDU response = new ResponseAPDU(CommandAPDU.MAX_SHORT_NE + 2);
+    final ByteBuffer length = ByteBuffer.allocate(2);
+    final ReadRecord command = new ReadRecord(channel, 1);
+    for (int number = 1; number <= ReadRecord.MAX_RECORD_NUMBER; number++) {
+      command.setNumber(number);
+      channel.transmit(command, response);
+      final StatusWord statusWord = command.evaluate(response);
+      if (statusWord.getSW() == SW_RECORD_NOT_FOUND) {
+        break;
+      }
+      if (statusWord.getSeverity() == Severity.ERROR) {
+        throw new TransmissionException(statusWord, response);
+      }
+      final byte[] record = response.getData();
+      length.clear();
+      length.putShort((short) record.length).flip();
+      content.write(length);
+      content.write(ByteBuffer.wrap(record));
+    }
+  }
+}
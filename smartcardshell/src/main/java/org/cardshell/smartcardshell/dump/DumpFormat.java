@@ -0,0 +1,84 @@
+/******************************************************************************
+ * DumpFormat.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.dump;
+
+/**
+ * Binary format of card images written by {@link DumpWriter} and read by {@link DumpImage}. All values are big-endian.
+ * The index has a fixed capacity, so entries can be looked up without reading the data region. The entry count and the
+ * end of the data region are updated last for each entry, so an interrupted dump leaves a valid image of the entries
+ * written so far.
+ *
+ * <pre>
+ * header: magic "CSDI" (4), version (1), reserved (3), index capacity (4), entry count (4), end of data (8),
+ *         ATR length (1), ATR (up to 33), reserved up to 64 bytes
+ * index:  one slot of 32 bytes per entry: path depth (1), file structure (1), FCP/FCI length (2),
+ *         file identifiers below the MF (8 x 2), offset of the entry data (8), content length (4)
+ * data:   per entry FCP/FCI bytes followed by the content; transparent EFs hold their bytes, record EFs a sequence of
+ *         record length (2) and record bytes
+ * </pre>
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+final class DumpFormat {
+
+  /** magic number at the start of each image */
+  static final int MAGIC = 0x43534449;
+
+  /** format version */
+  static final byte VERSION = 1;
+
+  /** length of the header */
+  static final int HEADER_LENGTH = 64;
+
+  /** offset of the index capacity within the header */
+  static final int CAPACITY_OFFSET = 8;
+
+  /** offset of the entry count within the header */
+  static final int COUNT_OFFSET = 12;
+
+  /** offset of the end of the data region within the header */
+  static final int DATA_END_OFFSET = 16;
+
+  /** offset of the ATR length within the header */
+  static final int ATR_OFFSET = 24;
+
+  /** maximum length of the ATR */
+  static final int MAX_ATR_LENGTH = 33;
+
+  /** length of an index slot */
+  static final int SLOT_LENGTH = 32;
+
+  /** maximum number of file identifiers below the MF */
+  static final int MAX_DEPTH = 8;
+
+  /** offset of the data offset within an index slot */
+  static final int SLOT_DATA_OFFSET = 20;
+
+  /** offset of the content length within an index slot */
+  static final int SLOT_CONTENT_LENGTH = 28;
+
+  /**
+   * Prevents instantiation.
+   */
+  private DumpFormat() {}
+
+  /**
+   * Returns the offset of the index slot with the given number.
+   *
+   * @param slot
+   *          slot number
+   * @return offset within the image
+   */
+  static long slotOffset(final int slot) {
+    return HEADER_LENGTH + (long) slot * SLOT_LENGTH;
+  }
+}
@@ -0,0 +1,248 @@
+/******************************************************************************
+ * DumpImage.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.dump;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cardshell.smartcardshell.CardPath;
+import org.cardshell.smartcardshell.FileInfo;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Card image written by {@link DumpWriter}. The image file is memory-mapped and only its index is read when opening
+ * it, the content of a file is accessed on demand without copying.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class DumpImage {
+
+  /** mapped image */
+  private final MappedByteBuffer image;
+
+  /** ATR of the dumped card */
+  private final byte[] atr;
+
+  /** entries by path in the order they were written */
+  private final Map<CardPath, Entry> entries = new LinkedHashMap<>();
+
+  /**
+   * Opens the given image.
+   *
+   * @param file
+   *          image file
+   * @throws IOException
+   *           if the file cannot be read
+   * @throws IllegalArgumentException
+   *           if the file is no card image
+   */
+  public DumpImage(@NonNull final Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(Assert.ARG.isNotNull(file), StandardOpenOption.READ)) {
+      image = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (image.limit() < DumpFormat.HEADER_LENGTH || image.getInt(0) != DumpFormat.MAGIC
+        || image.get(4) != DumpFormat.VERSION) {
+      throw new IllegalArgumentException(String.format("Invalid card image [%s]", file));
+    }
+    final int capacity = image.getInt(DumpFormat.CAPACITY_OFFSET);
+    final int count = image.getInt(DumpFormat.COUNT_OFFSET);
+    final long dataEnd = image.getLong(DumpFormat.DATA_END_OFFSET);
+    final int atrLength = image.get(DumpFormat.ATR_OFFSET) & 0xFF;
+    if (count < 0 || count > capacity || dataEnd > image.limit() || DumpFormat.slotOffset(capacity) > dataEnd
+        || atrLength > DumpFormat.MAX_ATR_LENGTH) {
+      throw new IllegalArgumentException(String.format("Corrupt card image [%s]", file));
+    }
+    atr = new byte[atrLength];
+    for (int i = 0; i < atrLength; i++) {
+      atr[i] = image.get(DumpFormat.ATR_OFFSET + 1 + i);
+    }
+    final long dataStart = DumpFormat.slotOffset(capacity);
+    for (int i = 0; i < count; i++) {
+      final Entry entry = readEntry((int) DumpFormat.slotOffset(i));
+      if (entry.offset < dataStart || entry.contentLength < 0
+          || entry.offset + entry.infoLength + entry.contentLength > dataEnd) {
+        throw new IllegalArgumentException(String.format("Corrupt card image [%s]", file));
+      }
+      entries.put(entry.path, entry);
+    }
+  }
+
+  private Entry readEntry(final int slot) {
+    final int depth = image.get(slot);
+    final int[] fids = new int[Math.min(depth, DumpFormat.MAX_DEPTH)];
+    for (int i = 0; i < fids.length; i++) {
+      fids[i] = image.getShort(slot + 4 + i * 2) & 0xFFFF;
+    }
+    final FileInfo.Structure[] structures = FileInfo.Structure.values();
+    final int structure = image.get(slot + 1);
+    return new Entry(CardPath.of(fids), structure >= 0 && structure < structures.length ? structures[structure]
+        : FileInfo.Structure.UNKNOWN, image.getShort(slot + 2) & 0xFFFF, image.getLong(slot
+        + DumpFormat.SLOT_DATA_OFFSET), image.getInt(slot + DumpFormat.SLOT_CONTENT_LENGTH));
+  }
+
+  /**
+   * Returns the ATR of the dumped card.
+   *
+   * @return ATR
+   */
+  @NonNull
+  public byte[] getATR() {
+    return atr.clone();
+  }
+
+  /**
+   * Returns the entries of this image.
+   *
+   * @return entries in the order they were written
+   */
+  @NonNull
+  public List<Entry> getEntries() {
+    return Collections.unmodifiableList(new ArrayList<>(entries.values()));
+  }
+
+  /**
+   * Returns the entry of the file with the given path.
+   *
+   * @param path
+   *          path of the file
+   * @return entry or {@code null}, if the image does not contain the file
+   */
+  @Nullable
+  public Entry getEntry(@NonNull final CardPath path) {
+    return entries.get(Assert.ARG.isNotNull(path));
+  }
+
+  /**
+   * Entry of a {@link DumpImage}, i.e. a dumped file.
+   */
+  public final class Entry {
+
+    /** path of the file */
+    private final CardPath path;
+
+    /** structure of the file */
+    private final FileInfo.Structure structure;
+
+    /** FCP/FCI length */
+    private final int infoLength;
+
+    /** offset of the FCP/FCI within the image */
+    private final long offset;
+
+    /** content length */
+    private final int contentLength;
+
+    Entry(final CardPath path, final FileInfo.Structure structure, final int infoLength, final long offset,
+        final int contentLength) {
+      this.path = path;
+      this.structure = structure;
+      this.infoLength = infoLength;
+      this.offset = offset;
+      this.contentLength = contentLength;
+    }
+
+    /**
+     * Returns the path of the file.
+     *
+     * @return path
+     */
+    @NonNull
+    public CardPath getPath() {
+      return path;
+    }
+
+    /**
+     * Returns the structure of the file.
+     *
+     * @return structure, {@link FileInfo.Structure#UNKNOWN} if no FCP/FCI was dumped
+     */
+    @NonNull
+    public FileInfo.Structure getStructure() {
+      return structure;
+    }
+
+    /**
+     * Returns the metadata of the file parsed from the dumped FCP or FCI.
+     *
+     * @return metadata or {@code null}, if no FCP/FCI was dumped
+     */
+    @Nullable
+    public FileInfo getInfo() {
+      final byte[] encoded = new byte[infoLength];
+      for (int i = 0; i < infoLength; i++) {
+        encoded[i] = image.get((int) offset + i);
+      }
+      return FileInfo.parse(path.getFileId(), encoded, 0, encoded.length);
+    }
+
+    /**
+     * Returns the number of content bytes.
+     *
+     * @return content length
+     */
+    public int getContentLength() {
+      return contentLength;
+    }
+
+    /**
+     * Returns the content of the file as read-only view of the mapped image.
+     *
+     * @return content, the bytes of a transparent EF or the length prefixed records of a record EF
+     */
+    @NonNull
+    public ByteBuffer getContent() {
+      final ByteBuffer content = image.duplicate();
+      content.position((int) offset + infoLength);
+      content.limit((int) offset + infoLength + contentLength);
+      return content.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the records of a record EF.
+     *
+     * @return records in the order of their record numbers
+     */
+    @NonNull
+    public List<byte[]> getRecords() {
+      final ByteBuffer content = getContent();
+      final List<byte[]> records = new ArrayList<>();
+      while (content.remaining() >= 2) {
+        final byte[] record = new byte[Math.min(content.getShort() & 0xFFFF, content.remaining())];
+        content.get(record);
+        records.add(record);
+      }
+      return records;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+      return String.format("%s %s, %s bytes", path, structure, contentLength);
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/******************************************************************************
+ * DumpWriter.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.dump;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.cardshell.smartcardshell.CardPath;
+import org.cardshell.smartcardshell.FileInfo;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Writes a card image in the format described by {@link DumpFormat} through memory-mapped regions of the image file.
+ * Entries are written one at a time: {@link #startEntry(CardPath, FileInfo)} returns a channel receiving the content of
+ * the file, {@link #commitEntry()} forces the entry to the storage device and adds it to the image. Uncommitted entries
+ * are dropped, so the image stays valid, if the dump is interrupted.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class DumpWriter implements Closeable {
+
+  /** size of the regions of the data region mapped at once */
+  private static final int WINDOW_SIZE = 1024 * 1024;
+
+  /** logger */
+  private static final Logger LOG = Logger.getLogger(DumpWriter.class.getName());
+
+  /** image file */
+  private final FileChannel file;
+
+  /** mapped header and index */
+  private final MappedByteBuffer index;
+
+  /** maximum number of entries */
+  private final int capacity;
+
+  /** number of committed entries */
+  private int count;
+
+  /** end of the committed data */
+  private long dataEnd;
+
+  /** currently mapped region of the data region or {@code null} */
+  private MappedByteBuffer window;
+
+  /** offset of the mapped region within the image */
+  private long windowStart;
+
+  /** path of the current entry or {@code null}, if no entry is started */
+  private CardPath entryPath;
+
+  /** structure of the current entry */
+  private FileInfo.Structure entryStructure;
+
+  /** FCP/FCI length of the current entry */
+  private int entryInfoLength;
+
+  /** channel receiving the content of the current entry */
+  private ContentChannel content;
+
+  /**
+   * Creates a new image with the given capacity. An existing file is overwritten.
+   *
+   * @param path
+   *          image file
+   * @param atr
+   *          ATR of the dumped card
+   * @param capacity
+   *          maximum number of entries
+   * @throws IOException
+   *           if the file cannot be created
+   * @throws IllegalArgumentException
+   *           if the ATR is too long or the capacity is invalid
+   */
+  public DumpWriter(@NonNull final Path path, @NonNull final byte[] atr, final int capacity) throws IOException {
+    Assert.ARG.isNotNull(path);
+    Assert.ARG.isTrue(Assert.ARG.isNotNull(atr).length <= DumpFormat.MAX_ATR_LENGTH, "ATR too long");
+    Assert.ARG.isTrue(capacity > 0, "Invalid capacity");
+    this.capacity = capacity;
+    file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    dataEnd = DumpFormat.slotOffset(capacity);
+    index = file.map(MapMode.READ_WRITE, 0, dataEnd);
+    index.putInt(DumpFormat.MAGIC).put(DumpFormat.VERSION);
+    index.putInt(DumpFormat.CAPACITY_OFFSET, capacity);
+    index.put(DumpFormat.ATR_OFFSET, (byte) atr.length);
+    for (int i = 0; i < atr.length; i++) {
+      index.put(DumpFormat.ATR_OFFSET + 1 + i, atr[i]);
+    }
+    updateHeader();
+  }
+
+  /**
+   * Starts a new entry and writes the FCP or FCI of the file. An entry started before, but not committed, is dropped.
+   *
+   * @param path
+   *          path of the file
+   * @param info
+   *          metadata of the file or {@code null}, if unknown
+   * @return channel receiving the content of the file, closed by {@link #commitEntry()}
+   * @throws IOException
+   *           if writing fails
+   * @throws IllegalStateException
+   *           if the index is full
+   */
+  @NonNull
+  public synchronized WritableByteChannel startEntry(@NonNull final CardPath path, @Nullable final FileInfo info)
+      throws IOException {
+    Assert.ARG.isTrue(Assert.ARG.isNotNull(path).getDepth() <= DumpFormat.MAX_DEPTH, "Path too deep");
+    Assert.STATE.isTrue(count < capacity, "Index full");
+    if (content != null) {
+      content.open = false;
+    }
+    final byte[] encoded = info == null ? new byte[0] : info.getEncoded();
+    entryPath = path;
+    entryStructure = info == null ? FileInfo.Structure.UNKNOWN : info.getStructure();
+    entryInfoLength = encoded.length;
+    map(dataEnd, encoded.length);
+    window.put(encoded);
+    content = new ContentChannel();
+    return content;
+  }
+
+  /**
+   * Completes the current entry. Its data and index slot are forced to the storage device before the entry count is
+   * updated.
+   *
+   * @return number of content bytes of the entry
+   * @throws IOException
+   *           if writing fails
+   * @throws IllegalStateException
+   *           if no entry is started
+   */
+  public synchronized long commitEntry() throws IOException {
+    Assert.STATE.isTrue(content != null, "No entry started");
+    final long contentLength = position() - dataEnd - entryInfoLength;
+    final int slot = (int) DumpFormat.slotOffset(count);
+    index.put(slot, (byte) entryPath.getDepth());
+    index.put(slot + 1, (byte) entryStructure.ordinal());
+    index.putShort(slot + 2, (short) entryInfoLength);
+    final byte[] fids = entryPath.getPathBytes();
+    for (int i = 0; i < DumpFormat.MAX_DEPTH * 2; i++) {
+      index.put(slot + 4 + i, i < fids.length ? fids[i] : 0);
+    }
+    index.putLong(slot + DumpFormat.SLOT_DATA_OFFSET, dataEnd);
+    index.putInt(slot + DumpFormat.SLOT_CONTENT_LENGTH, (int) contentLength);
+    window.force();
+    index.force();
+    content.open = false;
+    content = null;
+    entryPath = null;
+    count++;
+    dataEnd += entryInfoLength + contentLength;
+    updateHeader();
+    return contentLength;
+  }
+
+  /**
+   * Returns the number of committed entries.
+   *
+   * @return number of entries
+   */
+  public synchronized int size() {
+    return count;
+  }
+
+  /**
+   * Drops an uncommitted entry, cuts the image file to the end of the committed data and closes it. The mapped regions
+   * are forced and released first, but Java unmaps them only when they are garbage collected. Platforms refusing to
+   * truncate a file while it is mapped, like Windows, keep the unused bytes behind the end of the data recorded in the
+   * header, which readers ignore.
+   *
+   * @throws IOException
+   *           if closing fails
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (file.isOpen()) {
+      if (content != null) {
+        content.open = false;
+        content = null;
+      }
+      try {
+        if (window != null) {
+          window.force();
+          window = null;
+        }
+        index.force();
+        file.truncate(dataEnd);
+      } catch (final IOException e) {
+        LOG.log(Level.FINE, "Image not truncated", e);
+      } finally {
+        file.close();
+      }
+    }
+  }
+
+  private void updateHeader() {
+    index.putInt(DumpFormat.COUNT_OFFSET, count);
+    index.putLong(DumpFormat.DATA_END_OFFSET, dataEnd);
+    index.force();
+  }
+
+  private long position() {
+    return windowStart + window.position();
+  }
+
+  /**
+   * Ensures a mapped region holding the given number of bytes at the given offset, which becomes the current position.
+   */
+  private void map(final long offset, final int length) throws IOException {
+    if (window != null && offset >= windowStart && offset + length <= windowStart + window.capacity()) {
+      window.position((int) (offset - windowStart));
+      return;
+    }
+    if (window != null) {
+      window.force();
+    }
+    window = file.map(MapMode.READ_WRITE, offset, Math.max(WINDOW_SIZE, length));
+    windowStart = offset;
+  }
+
+  /**
+   * Channel writing the content of the current entry behind its FCP/FCI.
+   */
+  private final class ContentChannel implements WritableByteChannel {
+
+    /** whether the entry is still current */
+    boolean open = true;
+
+    @Override
+    public int write(final ByteBuffer src) throws IOException {
+      synchronized (DumpWriter.this) {
+        if (!open) {
+          throw new ClosedChannelException();
+        }
+        final int length = src.remaining();
+        while (src.hasRemaining()) {
+          map(position(), 1);
+          final int chunk = Math.min(src.remaining(), window.remaining());
+          final ByteBuffer part = src.duplicate();
+          part.limit(part.position() + chunk);
+          window.put(part);
+          src.position(src.position() + chunk);
+        }
+        return length;
+      }
+    }
+
+    @Override
+    public boolean isOpen() {
+      synchronized (DumpWriter.this) {
+        return open;
+      }
+    }
+
+    @Override
+    public void close() {
+      // closed by committing or dropping the entry
+    }
+  }
+}
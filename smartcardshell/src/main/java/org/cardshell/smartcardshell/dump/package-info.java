@@ -0,0 +1,6 @@
+/**
+ * Contains the export of whole card images into memory-mapped container files and their later inspection.
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+package org.cardshell.smartcardshell.dump;
@@ -10,6 +10,8 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell.pcsc;
 
+import java.util.logging.Logger;
+
 import javax.smartcardio.CardException;
 
 import org.cardshell.smartcardshell.BasicCard;
@@ -27,6 +29,9 @@ import org.cardshell.smartcardshell.commons.assertion.Assert;
 @SuppressWarnings("restriction")
 public final class PCSCCard extends BasicCard {
 
+  /** logger */
+  private static final Logger LOG = Logger.getLogger(PCSCCard.class.getName());
+
   /** internal card instance */
   private final javax.smartcardio.Card card;
 
@@ -51,11 +56,53 @@ public final class PCSCCard extends BasicCard {
     try {
       final javax.smartcardio.CardChannel channel = openCardChannels.isEmpty() ? card.getBasicChannel() : card
           .openLogicalChannel();
-      final Channel cardChannel = new PCSCChannel(channel);
-      openCardChannels.add(cardChannel);
+      final Channel cardChannel = new PCSCChannel(channel, createTransmitExecutor(), getFileTree());
+      addCardChannel(cardChannel);
       return cardChannel;
     } catch (final CardException e) {
       throw new IllegalStateException("Failed to open card channel", e);
     }
   }
+
+  /**
+   * {@inheritDoc} A failure of the card to close the channel is ignored, the channel is removed in any case.
+   *
+   * @see org.cardshell.smartcardshell.Card#closeChannel(org.cardshell.smartcardshell.Channel)
+   */
+  @Override
+  public void closeChannel(@NonNull final Channel cardChannel) {
+    Assert.ARG.isTrue(getCardChannels().contains(cardChannel) && cardChannel.getNumber() != 0,
+        "Not an open logical channel");
+    try {
+      ((PCSCChannel) cardChannel).close();
+    } catch (final CardException e) {
+      LOG.fine("Failed to close card channel");
+    }
+    removeCardChannel(cardChannel);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Card#getATR()
+   */
+  @NonNull
+  @Override
+  public byte[] getATR() {
+    return card.getATR().getBytes();
+  }
+
+  /**
+   * Closes the connection to the card and drops the cached file system. Failures are ignored, since the card may already
+   * have been removed.
+   */
+  public void disconnect() {
+    clearCardChannels();
+    getFileTree().clear();
+    try {
+      card.disconnect(false);
+    } catch (final CardException e) {
+      LOG.fine("Failed to disconnect card");
+    }
+  }
 }
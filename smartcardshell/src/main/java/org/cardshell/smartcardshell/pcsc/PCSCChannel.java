@@ -11,14 +11,17 @@
 package org.cardshell.smartcardshell.pcsc;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
 
 import javax.smartcardio.CardException;
 
 import org.cardshell.smartcardshell.BasicChannel;
 import org.cardshell.smartcardshell.Channel;
 import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.FileTree;
 import org.cardshell.smartcardshell.ResponseAPDU;
 import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
 import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
@@ -30,11 +33,23 @@ import org.cardshell.smartcardshell.commons.assertion.Assert;
 @SuppressWarnings("restriction")
 public class PCSCChannel extends BasicChannel {
 
+  /** maximum length of a short command APDU (header, Lc, 255 bytes of data and Le) */
+  private static final int MAX_COMMAND_LENGTH = 261;
+
   /** internal card channel */
   private final javax.smartcardio.CardChannel cardChannel;
 
   private final byte number;
 
+  /** card of the channel, locked while transmitting, since all channels share the same connection */
+  private final javax.smartcardio.Card card;
+
+  /** reusable direct buffer holding the command APDU to be transmitted */
+  private ByteBuffer commandBuffer = ByteBuffer.allocateDirect(MAX_COMMAND_LENGTH);
+
+  /** reusable direct buffer receiving the response APDU */
+  private ByteBuffer responseBuffer = ByteBuffer.allocateDirect(DEFAULT_RESPONSE_LENGTH);
+
   /**
    * Creates a new instance from a given card channel.
    *
@@ -42,9 +57,26 @@ public class PCSCChannel extends BasicChannel {
    *          card channel
    */
   public PCSCChannel(@NonNull final javax.smartcardio.CardChannel cardChannel) {
-    super(String.format("Channel-%s", Assert.ARG.isNotNull(cardChannel).getChannelNumber()));
+    this(cardChannel, null, null);
+  }
+
+  /**
+   * Creates a new instance from a given card channel, the given executor for asynchronous transmissions and the given
+   * cache of the file system.
+   *
+   * @param cardChannel
+   *          card channel
+   * @param executor
+   *          executor of work queued on this channel, usually a lane of the scheduler of the card, or {@code null}
+   * @param fileTree
+   *          cache of the file system of the card or {@code null}
+   */
+  public PCSCChannel(@NonNull final javax.smartcardio.CardChannel cardChannel, @Nullable final Executor executor,
+      @Nullable final FileTree fileTree) {
+    super(String.format("Channel-%s", Assert.ARG.isNotNull(cardChannel).getChannelNumber()), executor, fileTree);
     this.cardChannel = cardChannel;
     number = (byte) cardChannel.getChannelNumber();
+    card = cardChannel.getCard();
   }
 
   /**
@@ -58,37 +90,66 @@ public class PCSCChannel extends BasicChannel {
   }
 
   /**
-   * {@inheritDoc}
+   * Closes the logical channel on the card. The card is locked like for a transmission.
    *
-   * @see org.cardshell.smartcardshell.Channel#transmit(byte[])
+   * @throws CardException
+   *           if the card fails to close the channel
    */
+  synchronized void close() throws CardException {
+    synchronized (card) {
+      cardChannel.close();
+    }
+  }
+
+  /**
+   * {@inheritDoc} The card is locked for the whole sequence of commands, so commands of other channels of the card cannot
+   * interleave with GET RESPONSE commands or command chains. The monitor of this channel is acquired before the card
+   * lock, like in all other methods of this channel.
+   *
+   * @see org.cardshell.smartcardshell.BasicChannel#transmit(org.cardshell.smartcardshell.CommandAPDU,
+   *      org.cardshell.smartcardshell.ResponseAPDU)
+   */
+  @NonNull
   @Override
-  public ResponseAPDU transmit(final byte[] commandAPDU) {
-    try {
-      final ByteBuffer commandBuffer = ByteBuffer.allocate(commandAPDU.length);
-      commandBuffer.put(commandAPDU);
-      commandBuffer.position(0);
-      final ByteBuffer responseBuffer = ByteBuffer.allocate(256);
-      final int bytes = cardChannel.transmit(commandBuffer, responseBuffer);
-      final byte[] response = new byte[bytes];
-      responseBuffer.get(response, 0, bytes);
-      return new ResponseAPDU(response);
-    } catch (final CardException e) {
-      throw new IllegalStateException("Failed to transmit data to card channel", e);
+  public synchronized ResponseAPDU transmit(@NonNull final CommandAPDU commandAPDU,
+      @NonNull final ResponseAPDU responseAPDU) {
+    synchronized (card) {
+      return super.transmit(commandAPDU, responseAPDU);
     }
   }
 
   /**
-   * {@inheritDoc}
+   * {@inheritDoc} The command is copied into a direct buffer owned by this channel and the response is received into a
+   * second one, both buffers are kept for subsequent transmissions. Depending on the system properties
+   * {@code sun.security.smartcardio.t0GetResponse} and {@code sun.security.smartcardio.t1GetResponse} the PC/SC provider
+   * itself may already complete 61xx responses. Transmissions on all channels of a card are serialized by locking the
+   * card, see {@link #transmit(CommandAPDU, ResponseAPDU)}.
    *
-   * @see org.cardshell.smartcardshell.Channel#transmit(CommandAPDU)
+   * @see org.cardshell.smartcardshell.BasicChannel#exchange(byte[], int, int, byte[], int)
    */
   @Override
-  public final ResponseAPDU transmit(final CommandAPDU commandAPDU) {
-    final javax.smartcardio.CommandAPDU request = new javax.smartcardio.CommandAPDU(commandAPDU.getBytes());
+  protected final int exchange(final byte[] command, final int offset, final int length, final byte[] response,
+      final int responseOffset) {
+    final int space = response.length - responseOffset;
+    if (commandBuffer.capacity() < length) {
+      commandBuffer = ByteBuffer.allocateDirect(length);
+    }
+    if (responseBuffer.capacity() < space) {
+      responseBuffer = ByteBuffer.allocateDirect(space);
+    }
+    commandBuffer.clear();
+    commandBuffer.put(command, offset, length);
+    commandBuffer.flip();
+    responseBuffer.clear();
+    responseBuffer.limit(space);
     try {
-      final javax.smartcardio.ResponseAPDU response = cardChannel.transmit(request);
-      return new ResponseAPDU(response.getBytes());
+      final int bytes;
+      synchronized (card) {
+        bytes = cardChannel.transmit(commandBuffer, responseBuffer);
+      }
+      responseBuffer.flip();
+      responseBuffer.get(response, responseOffset, bytes);
+      return bytes;
     } catch (final CardException e) {
       throw new IllegalStateException("Failed to transmit data to card channel", e);
     }
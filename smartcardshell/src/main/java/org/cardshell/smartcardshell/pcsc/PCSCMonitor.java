@@ -0,0 +1,239 @@
+/******************************************************************************
+ * PCSCMonitor.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.pcsc;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.smartcardio.CardException;
+import javax.smartcardio.CardTerminal;
+import javax.smartcardio.CardTerminals;
+import javax.smartcardio.CardTerminals.State;
+
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Background monitor keeping a snapshot of the available PC/SC card terminals and the presence of cards. The snapshot is
+ * refreshed whenever {@link CardTerminals#waitForChange(long)} reports a change, and periodically to detect attached or
+ * detached card terminals.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@SuppressWarnings("restriction")
+public final class PCSCMonitor implements Runnable {
+
+  /** logger */
+  private static final Logger LOG = Logger.getLogger(PCSCMonitor.class.getName());
+
+  /** maximum time in milliseconds to wait for a change before the card terminals are listed again */
+  private static final long TIMEOUT = 1000;
+
+  /** monitored card terminals */
+  private final CardTerminals terminals;
+
+  /** listeners notified about new snapshots */
+  private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+
+  /** current snapshot */
+  private volatile Snapshot snapshot = new Snapshot(Collections.emptyList(), Collections.emptySet(),
+      Collections.emptySet());
+
+  /** monitor thread or {@code null}, if not started */
+  private Thread thread;
+
+  /**
+   * Creates a new monitor for the given card terminals.
+   *
+   * @param terminals
+   *          card terminals to be monitored
+   */
+  public PCSCMonitor(@NonNull final CardTerminals terminals) {
+    this.terminals = Assert.ARG.isNotNull(terminals);
+  }
+
+  /**
+   * Registers a listener to be notified about each new snapshot. The listener is called by the monitor thread, runtime
+   * exceptions thrown by it are logged and do not stop the monitor.
+   *
+   * @param listener
+   *          listener to be notified
+   */
+  public void addListener(@NonNull final Consumer<Snapshot> listener) {
+    listeners.add(Assert.ARG.isNotNull(listener));
+  }
+
+  /**
+   * Returns the current snapshot of card terminals and card presence.
+   *
+   * @return current snapshot
+   */
+  @NonNull
+  public Snapshot getSnapshot() {
+    return snapshot;
+  }
+
+  /**
+   * Takes an initial snapshot and starts the monitor thread, if not started yet.
+   */
+  public synchronized void start() {
+    if (thread == null) {
+      refresh();
+      thread = new Thread(this, "pcsc-monitor");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * Stops the monitor thread.
+   */
+  public synchronized void stop() {
+    if (thread != null) {
+      thread.interrupt();
+      thread = null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Runnable#run()
+   */
+  @Override
+  public void run() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        terminals.waitForChange(TIMEOUT);
+        refresh();
+      } catch (final CardException | IllegalStateException e) {
+        // no card terminal or no PC/SC service available, retry later
+        refresh();
+        try {
+          Thread.sleep(TIMEOUT);
+        } catch (final InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  /**
+   * Lists the card terminals and card presence and publishes the result as new snapshot, if it differs from the current
+   * one.
+   */
+  private void refresh() {
+    List<CardTerminal> all;
+    final Set<String> present = new HashSet<>();
+    final Set<String> removed = new HashSet<>();
+    try {
+      all = new ArrayList<>(terminals.list());
+      for (final CardTerminal terminal : terminals.list(State.CARD_PRESENT)) {
+        present.add(terminal.getName());
+      }
+      for (final CardTerminal terminal : terminals.list(State.CARD_REMOVAL)) {
+        removed.add(terminal.getName());
+      }
+    } catch (final CardException | IllegalStateException e) {
+      LOG.fine("Failed to list card terminals");
+      all = new ArrayList<>();
+    }
+    all.sort(Comparator.comparing(CardTerminal::getName));
+    final Snapshot current = snapshot;
+    if (!current.names.equals(names(all)) || !current.present.equals(present) || !removed.isEmpty()) {
+      final Snapshot next = new Snapshot(all, present, removed);
+      snapshot = next;
+      for (final Consumer<Snapshot> listener : listeners) {
+        try {
+          listener.accept(next);
+        } catch (final RuntimeException e) {
+          LOG.log(Level.WARNING, "Snapshot listener failed", e);
+        }
+      }
+    }
+  }
+
+  private static List<String> names(final List<CardTerminal> terminals) {
+    final List<String> names = new ArrayList<>(terminals.size());
+    terminals.forEach(t -> names.add(t.getName()));
+    return names;
+  }
+
+  /**
+   * Immutable snapshot of the available card terminals and the presence of cards.
+   *
+   * @author Sascha Zak
+   * @since 0.1.0
+   */
+  public static final class Snapshot {
+
+    /** card terminals sorted by name */
+    private final List<CardTerminal> terminals;
+
+    /** names of the card terminals */
+    private final List<String> names;
+
+    /** names of the card terminals with a card present */
+    private final Set<String> present;
+
+    /** names of the card terminals a card was removed from since the previous snapshot */
+    private final Set<String> removed;
+
+    private Snapshot(final List<CardTerminal> terminals, final Set<String> present, final Set<String> removed) {
+      this.terminals = Collections.unmodifiableList(terminals);
+      names = Collections.unmodifiableList(names(terminals));
+      this.present = Collections.unmodifiableSet(present);
+      this.removed = Collections.unmodifiableSet(removed);
+    }
+
+    /**
+     * Returns the available card terminals sorted by name.
+     *
+     * @return available card terminals
+     */
+    @NonNull
+    public List<CardTerminal> getTerminals() {
+      return terminals;
+    }
+
+    /**
+     * Returns whether a card is present in the card terminal with the given name.
+     *
+     * @param name
+     *          PC/SC name of the card terminal
+     * @return {@code true}, if a card is present, {@code false} otherwise
+     */
+    public boolean isCardPresent(@NonNull final String name) {
+      return present.contains(name);
+    }
+
+    /**
+     * Returns whether a card was removed from the card terminal with the given name since the previous snapshot. The card
+     * present now, if any, is another one.
+     *
+     * @param name
+     *          PC/SC name of the card terminal
+     * @return {@code true}, if a card was removed, {@code false} otherwise
+     */
+    public boolean isCardRemoved(@NonNull final String name) {
+      return removed.contains(name);
+    }
+  }
+}
@@ -10,120 +10,161 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell.pcsc;
 
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
-import javax.smartcardio.CardException;
+import javax.smartcardio.CardTerminal;
 import javax.smartcardio.CardTerminals;
 import javax.smartcardio.TerminalFactory;
 
-import org.cardshell.smartcardshell.Card;
-import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.BasicShell;
 import org.cardshell.smartcardshell.Shell;
 import org.cardshell.smartcardshell.Terminal;
 import org.cardshell.smartcardshell.commons.NonNull;
 import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.PrefixIndex;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 /**
- * PC/SC implementation of the {@link Shell}.
+ * PC/SC implementation of the {@link Shell}. It is used unless the Spring profile {@code sim} is active.
  *
  * @author Sascha Zak
  * @since 0.1.0
  */
 @Component
+@Profile("!sim")
 @SuppressWarnings("restriction")
-public final class PCSCShell implements Shell {
+public final class PCSCShell extends BasicShell implements InitializingBean, DisposableBean {
 
-  /** selected card terminal */
-  private Terminal cardTerminal;
-
-  /** selected smartcard */
-  private Card card;
-
-  /** selected card channel */
-  private Channel cardChannel;
+  /** system property naming the file to store negotiated protocols in */
+  public static final String PROTOCOL_CACHE_PROPERTY = "cardshell.protocolcache";
 
   /** card terminals */
   private final CardTerminals terminals = TerminalFactory.getDefault().terminals();
 
+  /** protocols negotiated successfully, shared by all card terminals */
+  private final ProtocolCache protocolCache = createProtocolCache();
+
+  /** available card terminals by their PC/SC names, keeping their card connections */
+  private final Map<String, PCSCTerminal> cardTerminals = new ConcurrentHashMap<>();
+
+  /** available card terminals sorted by name, rebuilt whenever card terminals are attached or detached */
+  private volatile List<Terminal> cardTerminalList = Collections.emptyList();
+
+  /** available card terminals by their names as used by the shell */
+  private volatile PrefixIndex<Terminal> cardTerminalIndex = new PrefixIndex<>();
+
+  /** monitor of card terminals and card presence */
+  private final PCSCMonitor monitor = new PCSCMonitor(terminals);
+
   /**
-   * {@inheritDoc}
+   * Starts monitoring the card terminals once the shell is constructed.
    *
-   * @see org.cardshell.smartcardshell.Shell#getCardTerminals()
+   * @see org.springframework.beans.factory.InitializingBean#afterPropertiesSet()
    */
-  @NonNull
   @Override
-  public final List<Terminal> getCardTerminals() {
-    try {
-      return Collections.unmodifiableList(terminals.list().stream().sorted().map(t -> new PCSCTerminal(t))
-          .collect(Collectors.toList()));
-    } catch (final CardException e) {
-      return Collections.emptyList();
-    }
+  public void afterPropertiesSet() {
+    monitor.addListener(this::update);
+    monitor.start();
   }
 
   /**
-   * {@inheritDoc}
+   * Stops monitoring the card terminals.
    *
-   * @see org.cardshell.smartcardshell.Shell#getSelectedCard()
+   * @see org.springframework.beans.factory.DisposableBean#destroy()
    */
-  @Nullable
   @Override
-  public final Card getSelectedCard() {
-    return card;
+  public void destroy() {
+    monitor.stop();
   }
 
   /**
    * {@inheritDoc}
    *
-   * @see org.cardshell.smartcardshell.Shell#getSelectedCardChannel()
+   * @see org.cardshell.smartcardshell.Shell#getCardTerminals()
    */
+  @NonNull
   @Override
-  public final Channel getSelectedCardChannel() {
-    return cardChannel;
-
+  public final List<Terminal> getCardTerminals() {
+    return cardTerminalList;
   }
 
   /**
    * {@inheritDoc}
    *
-   * @see org.cardshell.smartcardshell.Shell#getSelectedCardTerminal()
+   * @see org.cardshell.smartcardshell.Shell#getCardTerminal(java.lang.String)
    */
   @Nullable
   @Override
-  public final Terminal getSelectedCardTerminal() {
-    return cardTerminal;
+  public final Terminal getCardTerminal(@NonNull final String name) {
+    return cardTerminalIndex.get(name);
   }
 
   /**
    * {@inheritDoc}
    *
-   * @see org.cardshell.smartcardshell.Shell#selectCard(org.cardshell.smartcardshell.Card)
+   * @see org.cardshell.smartcardshell.Shell#forEachCardTerminal(java.lang.String, java.util.function.Consumer)
    */
   @Override
-  public final void selectCard(@Nullable final Card card) {
-    this.card = card;
+  public final void forEachCardTerminal(@Nullable final String prefix, @NonNull final Consumer<Terminal> action) {
+    cardTerminalIndex.forEach(prefix, (name, terminal) -> action.accept(terminal));
   }
 
   /**
-   * {@inheritDoc}
+   * Applies a new snapshot to the card terminals. Only card terminals attached since the previous snapshot are created and
+   * only card terminals detached since then are dropped, so all others keep their identity and card connection. The
+   * sorted list and the name index are rebuilt only if card terminals were attached or detached.
    *
-   * @see org.cardshell.smartcardshell.Shell#selectCardChannel(org.cardshell.smartcardshell.Channel)
+   * @param snapshot
+   *          new snapshot
    */
-  @Override
-  public final void selectCardChannel(final Channel cardChannel) {
-    this.cardChannel = cardChannel;
+  private synchronized void update(final PCSCMonitor.Snapshot snapshot) {
+    final Set<String> available = new HashSet<>();
+    boolean changed = false;
+    for (final CardTerminal terminal : snapshot.getTerminals()) {
+      final String name = terminal.getName();
+      available.add(name);
+      PCSCTerminal cardTerminal = cardTerminals.get(name);
+      if (cardTerminal == null) {
+        cardTerminal = new PCSCTerminal(terminal, protocolCache);
+        cardTerminals.put(name, cardTerminal);
+        changed = true;
+      } else if (snapshot.isCardRemoved(name)) {
+        cardTerminal.updateCardPresence(false);
+      }
+      cardTerminal.updateCardPresence(snapshot.isCardPresent(name));
+    }
+    for (final String name : new ArrayList<>(cardTerminals.keySet())) {
+      if (!available.contains(name)) {
+        cardTerminals.remove(name).updateCardPresence(false);
+        changed = true;
+      }
+    }
+    if (changed) {
+      final List<Terminal> list = new ArrayList<>(cardTerminals.size());
+      final PrefixIndex<Terminal> index = new PrefixIndex<>();
+      for (final CardTerminal terminal : snapshot.getTerminals()) {
+        final PCSCTerminal cardTerminal = cardTerminals.get(terminal.getName());
+        list.add(cardTerminal);
+        index.put(cardTerminal.getName(), cardTerminal);
+      }
+      cardTerminalIndex = index;
+      cardTerminalList = Collections.unmodifiableList(list);
+    }
   }
 
-  /**
-   * {@inheritDoc}
-   *
-   * @see org.cardshell.smartcardshell.Shell#selectCardTerminal(org.cardshell.smartcardshell.Terminal)
-   */
-  @Override
-  public final void selectCardTerminal(@Nullable final Terminal cardTerminal) {
-    this.cardTerminal = cardTerminal;
+  private static ProtocolCache createProtocolCache() {
+    final String file = System.getProperty(PROTOCOL_CACHE_PROPERTY);
+    return file == null || file.trim().isEmpty() ? new ProtocolCache() : new ProtocolCache(Paths.get(file));
   }
 }
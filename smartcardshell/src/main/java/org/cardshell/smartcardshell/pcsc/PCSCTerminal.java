@@ -10,7 +10,6 @@
  *****************************************************************************/
 package org.cardshell.smartcardshell.pcsc;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.logging.Logger;
@@ -20,6 +19,8 @@ import javax.smartcardio.CardException;
 import org.cardshell.smartcardshell.Card;
 import org.cardshell.smartcardshell.Terminal;
 import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
 
 /**
  * PC/SC implementation of a {@link Terminal} (uses javax.smartcardio).
@@ -45,6 +46,15 @@ public class PCSCTerminal implements Terminal {
   /** friendly name */
   private final String name;
 
+  /** cache of protocols negotiated successfully */
+  private final ProtocolCache protocolCache;
+
+  /** currently connected card or {@code null} */
+  private PCSCCard card;
+
+  /** card presence reported by a {@link PCSCMonitor} or {@code null}, if the card presence has to be polled */
+  private Boolean cardPresent;
+
   /**
    * Creates a new instance based on the given PC/SC card terminal.
    *
@@ -52,37 +62,120 @@ public class PCSCTerminal implements Terminal {
    *          PC/SC card terminal
    */
   public PCSCTerminal(final javax.smartcardio.CardTerminal cardTerminal) {
-    this.cardTerminal = cardTerminal;
+    this(cardTerminal, new ProtocolCache());
+  }
+
+  /**
+   * Creates a new instance based on the given PC/SC card terminal using the given {@link ProtocolCache} to connect to
+   * cards.
+   *
+   * @param cardTerminal
+   *          PC/SC card terminal
+   * @param protocolCache
+   *          cache of protocols negotiated successfully, may be shared by several terminals
+   */
+  public PCSCTerminal(@NonNull final javax.smartcardio.CardTerminal cardTerminal,
+      @NonNull final ProtocolCache protocolCache) {
+    this.cardTerminal = Assert.ARG.isNotNull(cardTerminal);
+    this.protocolCache = Assert.ARG.isNotNull(protocolCache);
     name = cardTerminal.getName().replace(' ', '_');
   }
 
   /**
-   * {@inheritDoc}
+   * {@inheritDoc} The connection to a card is kept and the same {@link Card} instance is returned, until the card is
+   * removed from this terminal.
    *
    * @see org.cardshell.smartcardshell.Terminal#getCards()
    */
   @NonNull
   @Override
-  public List<Card> getCards() {
+  public synchronized List<Card> getCards() {
+    if (!isCardPresent()) {
+      disconnect();
+      return Collections.emptyList();
+    }
+    if (card == null) {
+      card = connect();
+    }
+    return card == null ? Collections.emptyList() : Collections.singletonList(card);
+  }
+
+  /**
+   * Updates the presence of a card as reported by a {@link PCSCMonitor}. Once updated, the card presence is no longer
+   * polled from the card terminal. The connection to a card is dropped, if the card is not present anymore.
+   *
+   * @param present
+   *          {@code true}, if a card is present, {@code false} otherwise
+   */
+  synchronized void updateCardPresence(final boolean present) {
+    cardPresent = present;
+    if (!present) {
+      disconnect();
+    }
+  }
+
+  /**
+   * Returns whether a card is present, either as reported by a {@link PCSCMonitor} or by polling the card terminal.
+   *
+   * @return {@code true}, if a card is present, {@code false} otherwise
+   */
+  private boolean isCardPresent() {
+    if (cardPresent != null) {
+      return cardPresent;
+    }
     try {
-      if (cardTerminal.isCardPresent()) {
-        final List<Card> cards = new ArrayList<>();
-        try {
-          cards.add(new PCSCCard(cardTerminal.connect(PROTOCOL_T1)));
-        } catch (final CardException et1) {
-          LOG.fine(String.format("Failed to connect with protocol [%s]", PROTOCOL_T1));
+      return cardTerminal.isCardPresent();
+    } catch (final CardException e) {
+      throw new IllegalStateException("Card terminal not longer available");
+    }
+  }
+
+  /**
+   * Connects to the present card trying the protocol remembered for the last card of this terminal first and the
+   * remaining protocols afterwards. This order is only a guess for the card present, so a card connected with T=0 is
+   * reconnected with T=1, unless T=0 is remembered for its ATR or T=1 already failed. T=0 is thus only remembered for
+   * cards refusing T=1.
+   *
+   * @return connected card or {@code null}, if the connection failed
+   */
+  @Nullable
+  private PCSCCard connect() {
+    final String terminal = cardTerminal.getName();
+    boolean t1Failed = false;
+    for (final String protocol : protocolCache.getProtocols(terminal)) {
+      try {
+        javax.smartcardio.Card connected = cardTerminal.connect(protocol);
+        final byte[] atr = connected.getATR().getBytes();
+        String negotiated = protocol;
+        if (PROTOCOL_T0.equals(protocol) && !t1Failed
+            && !PROTOCOL_T0.equals(protocolCache.getProtocol(terminal, atr))) {
+          connected.disconnect(true);
           try {
-            cards.add(new PCSCCard(cardTerminal.connect(PROTOCOL_T0)));
-          } catch (final CardException et0) {
-            LOG.fine(String.format("Failed to connect with protocol [%s]", PROTOCOL_T0));
+            connected = cardTerminal.connect(PROTOCOL_T1);
+            negotiated = PROTOCOL_T1;
+          } catch (final CardException e) {
+            LOG.fine(String.format("Failed to connect with protocol [%s]", PROTOCOL_T1));
+            connected = cardTerminal.connect(PROTOCOL_T0);
           }
         }
-        return Collections.unmodifiableList(cards);
+        protocolCache.remember(terminal, atr, negotiated);
+        return new PCSCCard(connected);
+      } catch (final CardException e) {
+        LOG.fine(String.format("Failed to connect with protocol [%s]", protocol));
+        t1Failed |= PROTOCOL_T1.equals(protocol);
       }
-    } catch (final CardException e) {
-      throw new IllegalStateException("Card terminal not longer available");
     }
-    return Collections.emptyList();
+    return null;
+  }
+
+  /**
+   * Drops the connection to the card previously connected, if any.
+   */
+  private void disconnect() {
+    if (card != null) {
+      card.disconnect();
+      card = null;
+    }
   }
 
   /**
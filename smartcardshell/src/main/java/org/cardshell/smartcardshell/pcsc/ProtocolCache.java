@@ -0,0 +1,167 @@
+/******************************************************************************
+ * ProtocolCache.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.pcsc;
+
+import static org.cardshell.smartcardshell.pcsc.PCSCTerminal.PROTOCOL_T0;
+import static org.cardshell.smartcardshell.pcsc.PCSCTerminal.PROTOCOL_T1;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Remembers the protocol negotiated successfully per card terminal and ATR, so subsequent connections can use the
+ * working protocol first. The remembered protocols are optionally stored in a properties file.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ProtocolCache {
+
+  /** logger */
+  private static final Logger LOG = Logger.getLogger(ProtocolCache.class.getName());
+
+  /** key prefix of the last ATR seen per card terminal */
+  private static final String ATR_PREFIX = "atr.";
+
+  /** key prefix of the protocol per card terminal and ATR */
+  private static final String PROTOCOL_PREFIX = "protocol.";
+
+  /** protocols tried in order of preference, if nothing is remembered */
+  private static final String[] DEFAULT_PROTOCOLS = { PROTOCOL_T1, PROTOCOL_T0 };
+
+  /** protocols tried, if T=0 is remembered */
+  private static final String[] T0_PROTOCOLS = { PROTOCOL_T0, PROTOCOL_T1 };
+
+  /** last ATR seen per card terminal */
+  private final Map<String, String> atrs = new ConcurrentHashMap<>();
+
+  /** protocol per card terminal and ATR */
+  private final Map<String, String> protocols = new ConcurrentHashMap<>();
+
+  /** file to store the remembered protocols or {@code null} */
+  private final Path file;
+
+  /**
+   * Creates a new instance keeping the remembered protocols in memory only.
+   */
+  public ProtocolCache() {
+    this(null);
+  }
+
+  /**
+   * Creates a new instance storing the remembered protocols in the given file. Protocols already stored in this file are
+   * loaded.
+   *
+   * @param file
+   *          properties file to store the remembered protocols or {@code null} to keep them in memory only
+   */
+  public ProtocolCache(@Nullable final Path file) {
+    this.file = file;
+    if (file != null && Files.isReadable(file)) {
+      load(file);
+    }
+  }
+
+  /**
+   * Returns the protocols to be tried for the given card terminal in order of preference. The protocol remembered for the
+   * last card seen in this card terminal comes first. Since the card actually present is not known before connecting,
+   * the order is only a guess to be checked by {@link #getProtocol(String, byte[])} once the ATR is known.
+   *
+   * @param terminal
+   *          name of the card terminal
+   * @return protocols to be tried
+   */
+  @NonNull
+  public String[] getProtocols(@NonNull final String terminal) {
+    final String atr = atrs.get(Assert.ARG.isNotNull(terminal));
+    if (atr != null && PROTOCOL_T0.equals(protocols.get(key(terminal, atr)))) {
+      return T0_PROTOCOLS;
+    }
+    return DEFAULT_PROTOCOLS;
+  }
+
+  /**
+   * Returns the protocol remembered for a card.
+   *
+   * @param terminal
+   *          name of the card terminal
+   * @param atr
+   *          ATR of the card
+   * @return remembered protocol or {@code null}, if the card is unknown
+   */
+  @Nullable
+  public String getProtocol(@NonNull final String terminal, @NonNull final byte[] atr) {
+    return protocols.get(key(Assert.ARG.isNotNull(terminal), Hex.toHexString(Assert.ARG.isNotNull(atr))));
+  }
+
+  /**
+   * Remembers the protocol negotiated successfully for a card.
+   *
+   * @param terminal
+   *          name of the card terminal
+   * @param atr
+   *          ATR of the card
+   * @param protocol
+   *          protocol negotiated
+   */
+  public void remember(@NonNull final String terminal, @NonNull final byte[] atr, @NonNull final String protocol) {
+    final String atrString = Hex.toHexString(Assert.ARG.isNotNull(atr));
+    final String previousAtr = atrs.put(Assert.ARG.isNotNull(terminal), atrString);
+    final String previousProtocol = protocols.put(key(terminal, atrString), Assert.ARG.isNotNull(protocol));
+    if (file != null && (!atrString.equals(previousAtr) || !protocol.equals(previousProtocol))) {
+      store(file);
+    }
+  }
+
+  private static String key(final String terminal, final String atr) {
+    return terminal + '/' + atr;
+  }
+
+  private void load(final Path file) {
+    final Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(file)) {
+      properties.load(in);
+    } catch (final IOException e) {
+      LOG.warning(String.format("Failed to load protocol cache [%s]", file));
+      return;
+    }
+    for (final String name : properties.stringPropertyNames()) {
+      if (name.startsWith(ATR_PREFIX)) {
+        atrs.put(name.substring(ATR_PREFIX.length()), properties.getProperty(name));
+      } else if (name.startsWith(PROTOCOL_PREFIX)) {
+        protocols.put(name.substring(PROTOCOL_PREFIX.length()), properties.getProperty(name));
+      }
+    }
+  }
+
+  private synchronized void store(final Path file) {
+    final Properties properties = new Properties();
+    atrs.forEach((terminal, atr) -> properties.setProperty(ATR_PREFIX + terminal, atr));
+    protocols.forEach((key, protocol) -> properties.setProperty(PROTOCOL_PREFIX + key, protocol));
+    try (OutputStream out = Files.newOutputStream(file)) {
+      properties.store(out, "CardShell protocol cache");
+    } catch (final IOException e) {
+      LOG.warning(String.format("Failed to store protocol cache [%s]", file));
+    }
+  }
+}
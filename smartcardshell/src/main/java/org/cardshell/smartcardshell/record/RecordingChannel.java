@@ -0,0 +1,154 @@
+/******************************************************************************
+ * RecordingChannel.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.record;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.cardshell.smartcardshell.BasicChannel;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * {@link Channel} decorating another {@link BasicChannel} and recording each command and response exchanged with the
+ * card into a session log. The log is written in the format described by {@link SessionLog} through a buffer, so
+ * recording adds no file I/O to most exchanges. Since the raw exchanges are recorded, GET RESPONSE and chained commands
+ * appear as individual entries. Work queued on the recording channel runs on the executor of the decorated channel and
+ * selected files are cached in its file tree.
+ * <p>
+ * The channel has to be closed to flush the last entries to the log.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class RecordingChannel extends BasicChannel implements Closeable {
+
+  /** size of the write buffer */
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /** decorated channel */
+  private final BasicChannel channel;
+
+  /** log file */
+  private final FileChannel log;
+
+  /** write buffer */
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+  /** start of the recording */
+  private final long start = System.nanoTime();
+
+  /**
+   * Creates a new instance recording the exchanges of the given channel into the given file. An existing file is
+   * overwritten.
+   *
+   * @param channel
+   *          channel to be recorded
+   * @param file
+   *          session log file
+   * @throws IOException
+   *           if the file cannot be created
+   */
+  public RecordingChannel(@NonNull final BasicChannel channel, @NonNull final Path file) throws IOException {
+    super(Assert.ARG.isNotNull(channel).getName(), getExecutor(channel), getFileTree(channel));
+    this.channel = channel;
+    log = FileChannel.open(Assert.ARG.isNotNull(file), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    buffer.putInt(SessionLog.MAGIC).put(SessionLog.VERSION).put(channel.getNumber()).putShort((short) 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#getNumber()
+   */
+  @Override
+  public byte getNumber() {
+    return channel.getNumber();
+  }
+
+  /**
+   * {@inheritDoc} The exchange is done by the decorated channel and recorded afterwards.
+   *
+   * @see org.cardshell.smartcardshell.BasicChannel#exchange(byte[], int, int, byte[], int)
+   */
+  @Override
+  protected int exchange(@NonNull final byte[] command, final int offset, final int length,
+      @NonNull final byte[] response, final int responseOffset) {
+    final long begin = System.nanoTime();
+    final int responseLength = exchange(channel, command, offset, length, response, responseOffset);
+    final long duration = System.nanoTime() - begin;
+    try {
+      ensureSpace(SessionLog.ENTRY_HEADER_LENGTH);
+      buffer.putLong(begin - start).putLong(duration).putInt(length).putInt(responseLength);
+      write(command, offset, length);
+      write(response, responseOffset, responseLength);
+    } catch (final IOException e) {
+      throw new IllegalStateException("Failed to write session log", e);
+    }
+    return responseLength;
+  }
+
+  /**
+   * Writes all buffered entries to the session log.
+   *
+   * @throws IOException
+   *           if writing fails
+   */
+  public synchronized void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      log.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Flushes the buffered entries and closes the session log. The decorated channel is not closed.
+   *
+   * @throws IOException
+   *           if writing fails
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    if (log.isOpen()) {
+      try {
+        flush();
+      } finally {
+        log.close();
+      }
+    }
+  }
+
+  private void ensureSpace(final int length) throws IOException {
+    if (buffer.remaining() < length) {
+      flush();
+    }
+  }
+
+  private void write(final byte[] data, final int offset, final int length) throws IOException {
+    if (length <= buffer.capacity()) {
+      ensureSpace(length);
+      buffer.put(data, offset, length);
+    } else {
+      flush();
+      final ByteBuffer wrapped = ByteBuffer.wrap(data, offset, length);
+      while (wrapped.hasRemaining()) {
+        log.write(wrapped);
+      }
+    }
+  }
+}
@@ -0,0 +1,150 @@
+/******************************************************************************
+ * ReplayChannel.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.record;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+import org.cardshell.smartcardshell.BasicChannel;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * {@link Channel} replaying a session log written by {@link RecordingChannel}. The log is memory-mapped, and each
+ * exchange checks the command against the next entry and answers with the recorded response. Optionally, the original
+ * timing is reproduced, i.e. each response is delivered at the same time relative to the start of the replay as it was
+ * received relative to the start of the recording; otherwise responses are delivered as fast as possible.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ReplayChannel extends BasicChannel {
+
+  /** mapped session log */
+  private final MappedByteBuffer log;
+
+  /** whether the original timing is reproduced */
+  private final boolean timing;
+
+  /** logical channel number of the recorded channel */
+  private final byte number;
+
+  /** index of the next entry */
+  private int entry;
+
+  /** start of the replay */
+  private long start;
+
+  /**
+   * Creates a new instance replaying the given session log.
+   *
+   * @param file
+   *          session log file
+   * @param timing
+   *          {@code true} to reproduce the original timing, {@code false} to replay as fast as possible
+   * @throws IOException
+   *           if the file cannot be read
+   * @throws IllegalArgumentException
+   *           if the file is no session log
+   */
+  public ReplayChannel(@NonNull final Path file, final boolean timing) throws IOException {
+    super("Replay-" + Assert.ARG.isNotNull(file).getFileName());
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      log = channel.map(MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (log.limit() < SessionLog.HEADER_LENGTH || log.getInt(0) != SessionLog.MAGIC
+        || log.get(4) != SessionLog.VERSION) {
+      throw new IllegalArgumentException(String.format("Invalid session log [%s]", file));
+    }
+    number = log.get(5);
+    this.timing = timing;
+    rewind();
+  }
+
+  /**
+   * Restarts the replay with the first entry of the session log.
+   */
+  public synchronized void rewind() {
+    log.position(SessionLog.HEADER_LENGTH);
+    entry = 0;
+    start = System.nanoTime();
+  }
+
+  /**
+   * Returns whether there are entries left to be replayed.
+   *
+   * @return {@code true}, if entries are left, {@code false} otherwise
+   */
+  public synchronized boolean hasRemaining() {
+    return log.remaining() >= SessionLog.ENTRY_HEADER_LENGTH;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#getNumber()
+   */
+  @Override
+  public byte getNumber() {
+    return number;
+  }
+
+  /**
+   * {@inheritDoc} The response is taken from the next entry of the session log.
+   *
+   * @throws IllegalStateException
+   *           if the session log is exhausted or the command does not match the recorded one
+   * @see org.cardshell.smartcardshell.BasicChannel#exchange(byte[], int, int, byte[], int)
+   */
+  @Override
+  protected int exchange(@NonNull final byte[] command, final int offset, final int length,
+      @NonNull final byte[] response, final int responseOffset) {
+    if (!hasRemaining()) {
+      throw new IllegalStateException("Session log exhausted after " + entry + " entries");
+    }
+    final long begin = log.getLong();
+    final long duration = log.getLong();
+    final int commandLength = log.getInt();
+    final int responseLength = log.getInt();
+    if (commandLength != length || !matches(command, offset, length)) {
+      throw new IllegalStateException("Command does not match entry " + entry + " of the session log");
+    }
+    log.position(log.position() + commandLength);
+    if (responseLength > response.length - responseOffset) {
+      throw new IllegalStateException("Response buffer too small for entry " + entry + " of the session log");
+    }
+    log.get(response, responseOffset, responseLength);
+    entry++;
+    if (timing) {
+      final long due = start + begin + duration;
+      for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+        LockSupport.parkNanos(wait);
+      }
+    }
+    return responseLength;
+  }
+
+  private boolean matches(final byte[] command, final int offset, final int length) {
+    final int position = log.position();
+    for (int i = 0; i < length; i++) {
+      if (log.get(position + i) != command[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,44 @@
+/******************************************************************************
+ * SessionLog.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.record;
+
+/**
+ * Binary format of session logs written by {@link RecordingChannel} and read by {@link ReplayChannel}. All values are
+ * big-endian.
+ *
+ * <pre>
+ * header: magic "CSRL" (4), version (1), channel number (1), reserved (2)
+ * entry:  start in ns since recording start (8), duration in ns (8), command length (4), response length (4),
+ *         command bytes, response bytes
+ * </pre>
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+final class SessionLog {
+
+  /** magic number at the start of each session log */
+  static final int MAGIC = 0x4353524C;
+
+  /** format version */
+  static final byte VERSION = 1;
+
+  /** length of the header */
+  static final int HEADER_LENGTH = 8;
+
+  /** length of the fixed part of each entry */
+  static final int ENTRY_HEADER_LENGTH = 24;
+
+  /**
+   * Prevents instantiation.
+   */
+  private SessionLog() {}
+}
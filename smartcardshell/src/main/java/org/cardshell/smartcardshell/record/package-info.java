@@ -0,0 +1,6 @@
+/**
+ * Contains channels recording the APDUs exchanged with a card into a session log and replaying them from it.
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+package org.cardshell.smartcardshell.record;
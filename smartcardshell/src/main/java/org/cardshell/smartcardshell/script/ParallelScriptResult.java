@@ -0,0 +1,198 @@
+/******************************************************************************
+ * ParallelScriptResult.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.script;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+
+/**
+ * Immutable summary of a {@link ParallelScriptRunner} run, holding the results of the individual readers and the
+ * aggregate throughput.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ParallelScriptResult {
+
+  /**
+   * Result of a single reader.
+   */
+  public static final class Reader {
+
+    /** name of the terminal */
+    private final String name;
+
+    /** result of the script or {@code null} */
+    private final ScriptResult result;
+
+    /** error aborting the script or {@code null} */
+    private final String error;
+
+    Reader(final String name, final ScriptResult result, final String error) {
+      this.name = name;
+      this.result = result;
+      this.error = error;
+    }
+
+    /**
+     * Returns the name of the terminal.
+     *
+     * @return terminal name
+     */
+    @NonNull
+    public String getName() {
+      return name;
+    }
+
+    /**
+     * Returns the result of the script.
+     *
+     * @return result or {@code null}, if the script was aborted by an error
+     */
+    @Nullable
+    public ScriptResult getResult() {
+      return result;
+    }
+
+    /**
+     * Returns the error aborting the script.
+     *
+     * @return error message or {@code null}, if the script was not aborted
+     */
+    @Nullable
+    public String getError() {
+      return error;
+    }
+
+    /**
+     * Returns whether the script passed.
+     *
+     * @return {@code true}, if the script completed without failed commands, {@code false} otherwise
+     */
+    public boolean isPassed() {
+      return result != null && result.isPassed();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString() {
+      return name + ": " + (result != null ? result : error);
+    }
+  }
+
+  /** results of the readers */
+  private final List<Reader> readers;
+
+  /** elapsed time in nanoseconds */
+  private final long elapsed;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param readers
+   *          results of the readers
+   * @param elapsed
+   *          elapsed time in nanoseconds
+   */
+  ParallelScriptResult(final Reader[] readers, final long elapsed) {
+    this.readers = Collections.unmodifiableList(Arrays.asList(readers));
+    this.elapsed = elapsed;
+  }
+
+  /**
+   * Returns the results of the readers.
+   *
+   * @return unmodifiable list of reader results in terminal order
+   */
+  @NonNull
+  public List<Reader> getReaders() {
+    return readers;
+  }
+
+  /**
+   * Returns the number of commands executed on all readers.
+   *
+   * @return number of executed commands
+   */
+  public int getExecuted() {
+    int executed = 0;
+    for (final Reader reader : readers) {
+      executed += reader.result == null ? 0 : reader.result.getExecuted();
+    }
+    return executed;
+  }
+
+  /**
+   * Returns the number of readers whose script failed or was aborted.
+   *
+   * @return number of failed readers
+   */
+  public int getFailedReaders() {
+    int failed = 0;
+    for (final Reader reader : readers) {
+      failed += reader.isPassed() ? 0 : 1;
+    }
+    return failed;
+  }
+
+  /**
+   * Returns the elapsed wall-clock time of the run.
+   *
+   * @param unit
+   *          time unit of the result
+   * @return elapsed time
+   */
+  public long getElapsed(final TimeUnit unit) {
+    return unit.convert(elapsed, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the aggregate throughput of all readers.
+   *
+   * @return executed commands per second
+   */
+  public double getThroughput() {
+    return elapsed == 0 ? 0 : getExecuted() * 1e9 / elapsed;
+  }
+
+  /**
+   * Returns whether the scripts passed on all readers.
+   *
+   * @return {@code true}, if the scripts were run on at least one reader and no reader failed, {@code false} otherwise
+   */
+  public boolean isPassed() {
+    return !readers.isEmpty() && getFailedReaders() == 0;
+  }
+
+  /**
+   * {@inheritDoc} The result contains one line per reader followed by the aggregate line.
+   *
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (final Reader reader : readers) {
+      builder.append(reader).append(System.lineSeparator());
+    }
+    return builder.append(String.format("%s readers, %s failed, %s commands in %s ms, %.0f commands/s", readers.size(),
+        getFailedReaders(), getExecuted(), getElapsed(TimeUnit.MILLISECONDS), getThroughput())).toString();
+  }
+}
@@ -0,0 +1,175 @@
+/******************************************************************************
+ * ParallelScriptRunner.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.script;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.cardshell.smartcardshell.Card;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.Terminal;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Runs {@link Script}s on the cards of several {@link Terminal}s at once. Each terminal holding a card gets its own
+ * worker thread, which runs its script with a {@link ScriptRunner} on the first channel of the card, so the throughput
+ * is limited by the cards rather than by the host.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ParallelScriptRunner {
+
+  /** placeholder within script paths replaced by the name of the terminal */
+  public static final String TERMINAL_PLACEHOLDER = "{terminal}";
+
+  /** logger */
+  private static final Logger LOG = Logger.getLogger(ParallelScriptRunner.class.getName());
+
+  /** terminals the scripts are run on */
+  private final List<Terminal> terminals;
+
+  /** whether a run stops at the first unexpected status word */
+  private final boolean stopOnFailure;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param terminals
+   *          terminals the scripts are run on, terminals without a card are skipped
+   * @param stopOnFailure
+   *          {@code true} to stop the run of a terminal at its first unexpected status word, {@code false} to run all
+   *          steps
+   */
+  public ParallelScriptRunner(@NonNull final List<Terminal> terminals, final boolean stopOnFailure) {
+    this.terminals = new ArrayList<>(Assert.ARG.isNotNull(terminals));
+    this.stopOnFailure = stopOnFailure;
+  }
+
+  /**
+   * Parses the scripts for those of the given terminals holding a card. A {@link #TERMINAL_PLACEHOLDER} within the path
+   * is replaced by the name of the terminal, so each card can be run with its own script. Otherwise all terminals get
+   * their own copy of the same script.
+   *
+   * @param path
+   *          path of the script files
+   * @param terminals
+   *          terminals to parse the scripts for, terminals without a card are skipped
+   * @return scripts by terminal
+   * @throws IOException
+   *           if a script cannot be read
+   * @throws IllegalArgumentException
+   *           if a script contains an invalid line
+   */
+  @NonNull
+  public static Map<Terminal, Script> parse(@NonNull final String path, @NonNull final List<Terminal> terminals)
+      throws IOException {
+    final Map<Terminal, Script> scripts = new HashMap<>();
+    for (final Terminal terminal : terminals) {
+      if (terminal.getCards().isEmpty()) {
+        continue;
+      }
+      scripts.put(terminal, Script.parse(Paths.get(path.replace(TERMINAL_PLACEHOLDER, terminal.getName()))));
+    }
+    return scripts;
+  }
+
+  /**
+   * Runs the script returned for each terminal and waits until all of them have finished.
+   *
+   * @param scripts
+   *          returns the script for a terminal or {@code null} to skip it, a script must not be returned for more than
+   *          one terminal
+   * @param listeners
+   *          returns the listener for a terminal, called by the worker thread of the terminal
+   * @return summary of the run
+   * @throws InterruptedException
+   *           if the calling thread was interrupted while waiting for the workers, the workers are interrupted as well
+   */
+  @NonNull
+  public ParallelScriptResult run(@NonNull final Function<Terminal, Script> scripts,
+      @NonNull final Function<Terminal, ScriptListener> listeners) throws InterruptedException {
+    final List<Terminal> active = new ArrayList<>(terminals.size());
+    final List<Script> activeScripts = new ArrayList<>(terminals.size());
+    for (final Terminal terminal : terminals) {
+      final Script script = terminal.getCards().isEmpty() ? null : scripts.apply(terminal);
+      if (script != null) {
+        active.add(terminal);
+        activeScripts.add(script);
+      }
+    }
+    final ParallelScriptResult.Reader[] readers = new ParallelScriptResult.Reader[active.size()];
+    final Thread[] workers = new Thread[active.size()];
+    final long start = System.nanoTime();
+    for (int i = 0; i < workers.length; i++) {
+      final int index = i;
+      final Terminal terminal = active.get(i);
+      final Script script = activeScripts.get(i);
+      final ScriptListener listener = listeners.apply(terminal);
+      workers[i] = new Thread(() -> readers[index] = run(terminal, script, listener), "script-" + terminal.getName());
+      workers[i].start();
+    }
+    try {
+      for (final Thread worker : workers) {
+        worker.join();
+      }
+    } catch (final InterruptedException e) {
+      for (final Thread worker : workers) {
+        worker.interrupt();
+      }
+      throw e;
+    }
+    return new ParallelScriptResult(readers, System.nanoTime() - start);
+  }
+
+  private ParallelScriptResult.Reader run(final Terminal terminal, final Script script,
+      final ScriptListener listener) {
+    try {
+      final Channel channel = getChannel(terminal);
+      if (channel == null) {
+        return new ParallelScriptResult.Reader(terminal.getName(), null, "Card removed");
+      }
+      return new ParallelScriptResult.Reader(terminal.getName(),
+          new ScriptRunner(channel, stopOnFailure).run(script, listener), null);
+    } catch (final RuntimeException e) {
+      LOG.log(Level.FINE, "Script failed on " + terminal.getName(), e);
+      return new ParallelScriptResult.Reader(terminal.getName(), null, String.valueOf(e.getMessage()));
+    }
+  }
+
+  /**
+   * Returns the first channel of the card in the given terminal. A new channel is opened, if the card has no open
+   * channel yet.
+   *
+   * @param terminal
+   *          terminal holding the card
+   * @return channel or {@code null}, if the terminal holds no card
+   */
+  @Nullable
+  static Channel getChannel(@NonNull final Terminal terminal) {
+    final List<Card> cards = terminal.getCards();
+    if (cards.isEmpty()) {
+      return null;
+    }
+    final Card card = cards.get(0);
+    final List<Channel> channels = card.getCardChannels();
+    return channels.isEmpty() ? card.openChannel() : channels.get(0);
+  }
+}
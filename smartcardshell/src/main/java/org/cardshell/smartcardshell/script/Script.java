@@ -0,0 +1,253 @@
+/******************************************************************************
+ * Script.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.script;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.cardshell.smartcardshell.apdu.Transmit;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Immutable APDU script, parsed once into a list of prebuilt commands. Each non-empty line of a script holds one
+ * hexadecimal encoded command APDU, optionally followed by a colon and the expected status word. Digits of the expected
+ * status word may be replaced by {@code x} to match any value. Everything behind a {@code #} is a comment, whitespace
+ * within the command is ignored:
+ *
+ * <pre>
+ * # select DF 7F10 and read the first bytes of EF 6F01
+ * 00A4 000C 02 7F10      : 9000
+ * 00A4 000C 02 6F01      : 9000
+ * 00B0 0000 10           : 9000
+ * 00B2 0104 00           : 6Cxx
+ * </pre>
+ *
+ * The commands are transmitted as they are and may be patched by the channel, e.g. by its Le correction, so a script
+ * must not be run on several channels at the same time. Concurrent runs parse a script per channel instead.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class Script {
+
+  /**
+   * Single command of a script together with its expected status word.
+   */
+  public static final class Step {
+
+    /** line number within the script */
+    private final int line;
+
+    /** prebuilt command */
+    private final Transmit command;
+
+    /** bits of the status word to be compared */
+    private final int mask;
+
+    /** expected value of the compared bits */
+    private final int expected;
+
+    /** expected status word as written in the script or {@code null} */
+    private final String pattern;
+
+    private Step(final int line, final Transmit command, final String pattern) {
+      this.line = line;
+      this.command = command;
+      this.pattern = pattern;
+      int mask = 0;
+      int expected = 0;
+      if (pattern != null) {
+        for (int i = 0; i < pattern.length(); i++) {
+          final char c = pattern.charAt(i);
+          mask <<= 4;
+          expected <<= 4;
+          if (c != 'x' && c != 'X') {
+            mask |= 0x0F;
+            expected |= Character.digit(c, 16);
+          }
+        }
+      }
+      this.mask = mask;
+      this.expected = expected;
+    }
+
+    /**
+     * Returns the line number of this step within its script.
+     *
+     * @return line number starting with 1
+     */
+    public int getLine() {
+      return line;
+    }
+
+    /**
+     * Returns the prebuilt command of this step.
+     *
+     * @return command
+     */
+    @NonNull
+    public Transmit getCommand() {
+      return command;
+    }
+
+    /**
+     * Returns the expected status word as written in the script.
+     *
+     * @return expected status word or {@code null}, if any status word is accepted
+     */
+    @Nullable
+    public String getExpectedSW() {
+      return pattern;
+    }
+
+    /**
+     * Returns whether the given status word matches the expected one.
+     *
+     * @param sw
+     *          status word as unsigned 16-bit value
+     * @return {@code true}, if the status word matches or no status word is expected, {@code false} otherwise
+     */
+    public boolean matches(final int sw) {
+      return (sw & mask) == expected;
+    }
+  }
+
+  /** name of the script */
+  private final String name;
+
+  /** steps in the order of their execution */
+  private final List<Step> steps;
+
+  private Script(final String name, final List<Step> steps) {
+    this.name = name;
+    this.steps = Collections.unmodifiableList(steps);
+  }
+
+  /**
+   * Parses the given script file.
+   *
+   * @param file
+   *          script file in UTF-8
+   * @return parsed script
+   * @throws IOException
+   *           if the file cannot be read
+   * @throws IllegalArgumentException
+   *           if the script contains an invalid line
+   */
+  @NonNull
+  public static Script parse(@NonNull final Path file) throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(Assert.ARG.isNotNull(file), StandardCharsets.UTF_8)) {
+      return parse(String.valueOf(file.getFileName()), reader);
+    }
+  }
+
+  /**
+   * Parses a script from the given reader.
+   *
+   * @param name
+   *          name of the script used in messages
+   * @param reader
+   *          reader providing the script, it is not closed
+   * @return parsed script
+   * @throws IOException
+   *           if reading fails
+   * @throws IllegalArgumentException
+   *           if the script contains an invalid line
+   */
+  @NonNull
+  public static Script parse(@NonNull final String name, @NonNull final Reader reader) throws IOException {
+    final BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    final List<Step> steps = new ArrayList<>();
+    final StringBuilder hex = new StringBuilder();
+    int number = 0;
+    for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+      number++;
+      final int comment = line.indexOf('#');
+      final String content = comment < 0 ? line : line.substring(0, comment);
+      final int colon = content.indexOf(':');
+      hex.setLength(0);
+      for (int i = 0, end = colon < 0 ? content.length() : colon; i < end; i++) {
+        final char c = content.charAt(i);
+        if (!Character.isWhitespace(c)) {
+          hex.append(c);
+        }
+      }
+      final String pattern = colon < 0 ? null : content.substring(colon + 1).trim();
+      if (hex.length() == 0) {
+        if (pattern != null) {
+          throw invalid(name, number, "Missing command");
+        }
+        continue;
+      }
+      if (pattern != null && !isPattern(pattern)) {
+        throw invalid(name, number, "Invalid status word [" + pattern + "]");
+      }
+      if (hex.length() < 8) {
+        throw invalid(name, number, "Command too short [" + hex + "]");
+      }
+      final byte[] command = new byte[hex.length() / 2];
+      try {
+        Hex.decode(hex, command, 0);
+        steps.add(new Step(number, new Transmit(command), pattern));
+      } catch (final IllegalArgumentException e) {
+        throw invalid(name, number, e.getMessage());
+      }
+    }
+    return new Script(name, steps);
+  }
+
+  private static boolean isPattern(final String pattern) {
+    if (pattern.length() != 4) {
+      return false;
+    }
+    for (int i = 0; i < pattern.length(); i++) {
+      final char c = pattern.charAt(i);
+      if (c != 'x' && c != 'X' && Character.digit(c, 16) < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static IllegalArgumentException invalid(final String name, final int line, final String message) {
+    return new IllegalArgumentException(String.format("%s:%s: %s", name, line, message));
+  }
+
+  /**
+   * Returns the name of this script.
+   *
+   * @return name
+   */
+  @NonNull
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the steps of this script.
+   *
+   * @return unmodifiable list of steps in the order of their execution
+   */
+  @NonNull
+  public List<Step> getSteps() {
+    return steps;
+  }
+}
@@ -0,0 +1,37 @@
+/******************************************************************************
+ * ScriptListener.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.script;
+
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.commons.NonNull;
+
+/**
+ * Receives the result of each step executed by a {@link ScriptRunner}.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@FunctionalInterface
+public interface ScriptListener {
+
+  /**
+   * Called after a step has been executed. The given response is reused for the next step, so it must not be kept
+   * beyond this call.
+   *
+   * @param step
+   *          executed step
+   * @param response
+   *          response received for the step
+   * @param passed
+   *          {@code true}, if the status word matched the expected one, {@code false} otherwise
+   */
+  public void stepExecuted(@NonNull Script.Step step, @NonNull ResponseAPDU response, boolean passed);
+}
@@ -0,0 +1,183 @@
+/******************************************************************************
+ * ScriptMain.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.script;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.Shell;
+import org.cardshell.smartcardshell.Terminal;
+import org.cardshell.smartcardshell.pcsc.PCSCShell;
+import org.cardshell.smartcardshell.sim.SimShell;
+
+/**
+ * Headless entry point running APDU scripts without the interactive shell:
+ *
+ * <pre>
+ * java -cp smartcardshell.jar org.cardshell.smartcardshell.script.ScriptMain
+ *     [--terminal NAME | --all] [--continue] [--quiet] SCRIPT...
+ * </pre>
+ *
+ * The scripts are run one after another on the first channel of the card in the given terminal or in the first terminal
+ * holding a card. With {@code --all}, each script is run on all cards in parallel, see {@link ParallelScriptRunner}.
+ * The simulated shell is used, if {@code spring.profiles.active} contains {@code sim}. The exit code is 0 if all
+ * commands passed, 1 if a command failed and 2 on any other error, including no card found.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ScriptMain {
+
+  /**
+   * Prevents instantiation.
+   */
+  private ScriptMain() {}
+
+  /**
+   * Runs the given scripts.
+   *
+   * @param args
+   *          command line arguments
+   */
+  public static void main(final String[] args) {
+    final PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(
+        FileDescriptor.out))));
+    final int status = run(args, out);
+    out.flush();
+    System.exit(status);
+  }
+
+  private static int run(final String[] args, final PrintWriter out) {
+    String terminalName = null;
+    boolean continueOnFailure = false;
+    boolean quiet = false;
+    boolean all = false;
+    final List<String> files = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      if ("--terminal".equals(args[i]) && i + 1 < args.length) {
+        terminalName = args[++i];
+      } else if ("--continue".equals(args[i])) {
+        continueOnFailure = true;
+      } else if ("--all".equals(args[i])) {
+        all = true;
+      } else if ("--quiet".equals(args[i])) {
+        quiet = true;
+      } else if (args[i].startsWith("--")) {
+        return usage(out);
+      } else {
+        files.add(args[i]);
+      }
+    }
+    if (files.isEmpty() || all && terminalName != null) {
+      return usage(out);
+    }
+    if (all) {
+      return runAll(createShell().getCardTerminals(), files, continueOnFailure, quiet, out);
+    }
+    final List<Script> scripts = new ArrayList<>(files.size());
+    try {
+      for (final String file : files) {
+        scripts.add(Script.parse(Paths.get(file)));
+      }
+    } catch (final IOException | IllegalArgumentException e) {
+      out.println(e.getMessage());
+      return 2;
+    }
+    try {
+      final Channel channel = openChannel(createShell(), terminalName);
+      if (channel == null) {
+        out.println(terminalName == null ? "No card found" : "No card in " + terminalName);
+        return 2;
+      }
+      final ScriptRunner runner = new ScriptRunner(channel, !continueOnFailure);
+      final ScriptPrinter printer = new ScriptPrinter(out, !quiet);
+      boolean passed = true;
+      for (final Script script : scripts) {
+        final ScriptResult result = runner.run(script, printer);
+        out.println(script.getName() + ": " + result);
+        out.flush();
+        passed &= result.isPassed();
+        if (!passed && !continueOnFailure) {
+          break;
+        }
+      }
+      return passed ? 0 : 1;
+    } catch (final IllegalStateException e) {
+      out.println(e.getMessage());
+      return 2;
+    }
+  }
+
+  private static int runAll(final List<Terminal> terminals, final List<String> files, final boolean continueOnFailure,
+      final boolean quiet, final PrintWriter out) {
+    final ParallelScriptRunner runner = new ParallelScriptRunner(terminals, !continueOnFailure);
+    boolean passed = true;
+    try {
+      for (final String file : files) {
+        final ParallelScriptResult result = runner.run(ParallelScriptRunner.parse(file, terminals)::get,
+            terminal -> new ScriptPrinter(out, !quiet, terminal.getName() + " "));
+        if (result.getReaders().isEmpty()) {
+          out.println("No card found");
+          return 2;
+        }
+        out.println(result);
+        out.flush();
+        passed &= result.isPassed();
+        if (!passed && !continueOnFailure) {
+          break;
+        }
+      }
+    } catch (final IOException | IllegalArgumentException e) {
+      out.println(e.getMessage());
+      return 2;
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return 2;
+    }
+    return passed ? 0 : 1;
+  }
+
+  private static Shell createShell() {
+    final String profiles = System.getProperty("spring.profiles.active", "");
+    if (profiles.contains("sim")) {
+      return new SimShell();
+    }
+    // not managed by Spring here, the monitor thread is a daemon thread ending with the process
+    final PCSCShell shell = new PCSCShell();
+    shell.afterPropertiesSet();
+    return shell;
+  }
+
+  private static Channel openChannel(final Shell shell, final String terminalName) {
+    for (final Terminal terminal : shell.getCardTerminals()) {
+      if (terminalName == null || terminal.getName().equals(terminalName)) {
+        final Channel channel = ParallelScriptRunner.getChannel(terminal);
+        if (channel != null) {
+          return channel;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static int usage(final PrintWriter out) {
+    out.println("Usage: ScriptMain [--terminal NAME | --all] [--continue] [--quiet] SCRIPT...");
+    return 2;
+  }
+}
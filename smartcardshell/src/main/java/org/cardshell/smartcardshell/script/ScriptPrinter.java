@@ -0,0 +1,110 @@
+/******************************************************************************
+ * ScriptPrinter.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.script;
+
+import java.io.IOException;
+
+import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * {@link ScriptListener} writing one line per executed step to an {@link Appendable}, e.g.
+ *
+ * <pre>
+ * 12: 00B0000004 -&gt; 00010203 9000
+ * 13: 00B2010400 -&gt; 6C05 FAILED (expected 9000, 6C05: Wrong length Le)
+ * </pre>
+ *
+ * Each line is built in a reused {@link StringBuilder} and appended at once, so the output is streamed while the script
+ * is running. An instance must only be used by one thread at a time; printers of concurrently running scripts may share
+ * a thread-safe {@link Appendable} like {@link System#out} and distinguish their lines by a prefix.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ScriptPrinter implements ScriptListener {
+
+  /** target of the output */
+  private final Appendable out;
+
+  /** whether passed steps are printed */
+  private final boolean verbose;
+
+  /** prefix of each line */
+  private final String prefix;
+
+  /** reused line buffer */
+  private final StringBuilder line = new StringBuilder(1024);
+
+  /**
+   * Creates a new instance.
+   *
+   * @param out
+   *          target of the output
+   * @param verbose
+   *          {@code true} to print all steps, {@code false} to print failed steps only
+   */
+  public ScriptPrinter(@NonNull final Appendable out, final boolean verbose) {
+    this(out, verbose, "");
+  }
+
+  /**
+   * Creates a new instance writing the given prefix in front of each line.
+   *
+   * @param out
+   *          target of the output
+   * @param verbose
+   *          {@code true} to print all steps, {@code false} to print failed steps only
+   * @param prefix
+   *          prefix of each line, e.g. the name of the terminal
+   */
+  public ScriptPrinter(@NonNull final Appendable out, final boolean verbose, @NonNull final String prefix) {
+    this.out = Assert.ARG.isNotNull(out);
+    this.verbose = verbose;
+    this.prefix = Assert.ARG.isNotNull(prefix);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.script.ScriptListener#stepExecuted(org.cardshell.smartcardshell.script.Script.Step,
+   *      org.cardshell.smartcardshell.ResponseAPDU, boolean)
+   */
+  @Override
+  public void stepExecuted(@NonNull final Script.Step step, @NonNull final ResponseAPDU response,
+      final boolean passed) {
+    if (passed && !verbose) {
+      return;
+    }
+    final CommandAPDU command = step.getCommand();
+    final int length = response.getLength();
+    line.setLength(0);
+    line.append(prefix).append(step.getLine()).append(": ");
+    Hex.append(line, command.getBuffer(), 0, command.getLength()).append(" -> ");
+    if (length > 2) {
+      Hex.append(line, response.getBuffer(), 0, length - 2).append(' ');
+    }
+    Hex.append(line, response.getBuffer(), length - 2, 2);
+    if (!passed) {
+      line.append(" FAILED (expected ").append(step.getExpectedSW()).append(", ")
+          .append(step.getCommand().evaluate(response)).append(')');
+    }
+    line.append(System.lineSeparator());
+    try {
+      out.append(line);
+    } catch (final IOException e) {
+      throw new IllegalStateException("Failed to write script output", e);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/******************************************************************************
+ * ScriptResult.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.script;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable summary of a script run.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ScriptResult {
+
+  /** number of executed steps */
+  private final int executed;
+
+  /** number of steps with unexpected status words */
+  private final int failed;
+
+  /** elapsed time in nanoseconds */
+  private final long elapsed;
+
+  /** shortest command latency in nanoseconds */
+  private final long minLatency;
+
+  /** longest command latency in nanoseconds */
+  private final long maxLatency;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param executed
+   *          number of executed steps
+   * @param failed
+   *          number of steps with unexpected status words
+   * @param elapsed
+   *          elapsed time in nanoseconds
+   * @param minLatency
+   *          shortest command latency in nanoseconds
+   * @param maxLatency
+   *          longest command latency in nanoseconds
+   */
+  public ScriptResult(final int executed, final int failed, final long elapsed, final long minLatency,
+      final long maxLatency) {
+    this.executed = executed;
+    this.failed = failed;
+    this.elapsed = elapsed;
+    this.minLatency = minLatency;
+    this.maxLatency = maxLatency;
+  }
+
+  /**
+   * Returns the number of executed steps.
+   *
+   * @return number of executed steps
+   */
+  public int getExecuted() {
+    return executed;
+  }
+
+  /**
+   * Returns the number of steps with unexpected status words.
+   *
+   * @return number of failed steps
+   */
+  public int getFailed() {
+    return failed;
+  }
+
+  /**
+   * Returns the elapsed time of the run.
+   *
+   * @param unit
+   *          time unit of the result
+   * @return elapsed time
+   */
+  public long getElapsed(final TimeUnit unit) {
+    return unit.convert(elapsed, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the shortest latency of a single command, i.e. the time spent in the transmission of the command including
+   * any GET RESPONSE or Le correction.
+   *
+   * @param unit
+   *          time unit of the result
+   * @return shortest command latency
+   */
+  public long getMinLatency(final TimeUnit unit) {
+    return unit.convert(minLatency, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the longest latency of a single command.
+   *
+   * @param unit
+   *          time unit of the result
+   * @return longest command latency
+   * @see #getMinLatency(TimeUnit)
+   */
+  public long getMaxLatency(final TimeUnit unit) {
+    return unit.convert(maxLatency, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the average time per command, including the time spent by listeners.
+   *
+   * @param unit
+   *          time unit of the result
+   * @return average time per command
+   */
+  public long getAverageLatency(final TimeUnit unit) {
+    return executed == 0 ? 0 : unit.convert(elapsed / executed, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns whether all executed steps passed.
+   *
+   * @return {@code true}, if no step failed, {@code false} otherwise
+   */
+  public boolean isPassed() {
+    return failed == 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return String.format("%s commands, %s failed in %s ms (latency min %s / avg %s / max %s us)", executed, failed,
+        getElapsed(TimeUnit.MILLISECONDS), getMinLatency(TimeUnit.MICROSECONDS),
+        getAverageLatency(TimeUnit.MICROSECONDS), getMaxLatency(TimeUnit.MICROSECONDS));
+  }
+}
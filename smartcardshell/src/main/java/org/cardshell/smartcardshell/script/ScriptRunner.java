@@ -0,0 +1,84 @@
+/******************************************************************************
+ * ScriptRunner.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.script;
+
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Runs {@link Script}s against a {@link Channel}. The prebuilt commands are transmitted in a tight loop into a single
+ * reused {@link ResponseAPDU}, so running a script allocates no objects per command apart from those of the channel.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class ScriptRunner {
+
+  /** channel the scripts are run against */
+  private final Channel channel;
+
+  /** whether a run stops at the first unexpected status word */
+  private final boolean stopOnFailure;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param channel
+   *          channel the scripts are run against
+   * @param stopOnFailure
+   *          {@code true} to stop a run at the first unexpected status word, {@code false} to run all steps
+   */
+  public ScriptRunner(@NonNull final Channel channel, final boolean stopOnFailure) {
+    this.channel = Assert.ARG.isNotNull(channel);
+    this.stopOnFailure = stopOnFailure;
+  }
+
+  /**
+   * Runs the given script.
+   *
+   * @param script
+   *          script to run
+   * @param listener
+   *          listener receiving the result of each step
+   * @return summary of the run
+   * @throws IllegalStateException
+   *           if the transmission failed
+   */
+  @NonNull
+  public ScriptResult run(@NonNull final Script script, @NonNull final ScriptListener listener) {
+    final ResponseAPDU response = new ResponseAPDU(CommandAPDU.MAX_SHORT_NE + 2);
+    int executed = 0;
+    int failed = 0;
+    long minLatency = Long.MAX_VALUE;
+    long maxLatency = 0;
+    final long start = System.nanoTime();
+    for (final Script.Step step : script.getSteps()) {
+      final long begin = System.nanoTime();
+      channel.transmit(step.getCommand(), response);
+      final long latency = System.nanoTime() - begin;
+      minLatency = Math.min(minLatency, latency);
+      maxLatency = Math.max(maxLatency, latency);
+      executed++;
+      final boolean passed = step.matches(response.getSW());
+      if (!passed) {
+        failed++;
+      }
+      listener.stepExecuted(step, response, passed);
+      if (!passed && stopOnFailure) {
+        break;
+      }
+    }
+    return new ScriptResult(executed, failed, System.nanoTime() - start, executed == 0 ? 0 : minLatency, maxLatency);
+  }
+}
@@ -0,0 +1,7 @@
+/**
+ * Contains the parser and runner of APDU scripts, which transmit a sequence of prebuilt commands without the overhead
+ * of the interactive shell.
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+package org.cardshell.smartcardshell.script;
@@ -0,0 +1,526 @@
+/******************************************************************************
+ * SimCard.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.sim;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.cardshell.smartcardshell.BasicCard;
+import org.cardshell.smartcardshell.Card;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+import org.cardshell.smartcardshell.sim.SimFile.Type;
+
+/**
+ * Simulated implementation of a {@link Card} working on an in-memory ISO/IEC 7816-4 file system. The card supports
+ * SELECT (by file identifier, DF name and path), READ BINARY, READ RECORD, UPDATE BINARY and GET RESPONSE on up to four
+ * logical channels. SELECT without Le answers with 61xx, so the file control parameters have to be fetched by GET
+ * RESPONSE like with T=0 cards. Command chaining is supported for all commands: the data of commands with bit b5 of the
+ * class byte set is collected until the last command of the chain, which is processed with the data of the whole chain.
+ * <p>
+ * Commands are processed one at a time. An optional latency is added to each command to model the card's processing
+ * and transmission time.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class SimCard extends BasicCard {
+
+  /** maximum number of logical channels */
+  private static final int MAX_CHANNELS = 4;
+
+  /** instruction bytes */
+  private static final int INS_SELECT = 0xA4;
+  private static final int INS_READ_BINARY = 0xB0;
+  private static final int INS_READ_RECORD = 0xB2;
+  private static final int INS_UPDATE_BINARY = 0xD6;
+  private static final int INS_GET_RESPONSE = 0xC0;
+
+  /** class byte bit indicating that further commands of a chain follow */
+  private static final int CLA_CHAINING = 0x10;
+
+  /** status words */
+  private static final int SW_OK = 0x9000;
+  private static final int SW_BYTES_REMAINING = 0x6100;
+  private static final int SW_END_OF_FILE = 0x6282;
+  private static final int SW_WRONG_LENGTH = 0x6700;
+  private static final int SW_CHANNEL_NOT_SUPPORTED = 0x6881;
+  private static final int SW_LAST_COMMAND_EXPECTED = 0x6883;
+  private static final int SW_INCOMPATIBLE_FILE = 0x6981;
+  private static final int SW_CONDITIONS_NOT_SATISFIED = 0x6985;
+  private static final int SW_NO_CURRENT_EF = 0x6986;
+  private static final int SW_FILE_NOT_FOUND = 0x6A82;
+  private static final int SW_RECORD_NOT_FOUND = 0x6A83;
+  private static final int SW_NOT_ENOUGH_MEMORY = 0x6A84;
+  private static final int SW_WRONG_P1P2 = 0x6A86;
+  private static final int SW_WRONG_OFFSET = 0x6B00;
+  private static final int SW_WRONG_LE = 0x6C00;
+  private static final int SW_INS_NOT_SUPPORTED = 0x6D00;
+
+  /** master file */
+  private final SimFile masterFile;
+
+  /** ATR of this card */
+  private final byte[] atr;
+
+  /** latency added to each command in nanoseconds */
+  private final long latency;
+
+  /** number of commands processed */
+  private long commandCount;
+
+  /**
+   * Creates a new card without latency.
+   *
+   * @param masterFile
+   *          master file of the simulated file system
+   */
+  public SimCard(@NonNull final SimFile masterFile) {
+    this(masterFile, 0, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Creates a new card adding the given latency to each command.
+   *
+   * @param masterFile
+   *          master file of the simulated file system
+   * @param latency
+   *          latency per command
+   * @param unit
+   *          unit of the latency
+   */
+  public SimCard(@NonNull final SimFile masterFile, final long latency, @NonNull final TimeUnit unit) {
+    super("Card-SIM");
+    Assert.ARG.isTrue(Assert.ARG.isNotNull(masterFile).getId() == SimFile.MF_ID && masterFile.getParent() == null);
+    this.masterFile = masterFile;
+    this.latency = Assert.ARG.isNotNull(unit).toNanos(latency);
+    atr = new byte[] { 0x3B, (byte) 0x80, (byte) 0x80, 0x01, 0x01 };
+  }
+
+  /**
+   * Returns the master file of the simulated file system.
+   *
+   * @return master file
+   */
+  @NonNull
+  public SimFile getMasterFile() {
+    return masterFile;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Card#getATR()
+   */
+  @NonNull
+  @Override
+  public byte[] getATR() {
+    return atr.clone();
+  }
+
+  /**
+   * Returns the number of commands processed by this card.
+   *
+   * @return number of commands processed
+   */
+  public synchronized long getCommandCount() {
+    return commandCount;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Card#openChannel()
+   */
+  @Override
+  public synchronized Channel openChannel() {
+    if (openCardChannels.size() >= MAX_CHANNELS) {
+      throw new IllegalStateException("No more card channels available");
+    }
+    int number = 0;
+    while (getCardChannel(String.format("Channel-%s", number)) != null) {
+      number++;
+    }
+    final Channel cardChannel = new SimChannel(this, number, createTransmitExecutor(), getFileTree());
+    addCardChannel(cardChannel);
+    return cardChannel;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Card#closeChannel(org.cardshell.smartcardshell.Channel)
+   */
+  @Override
+  public synchronized void closeChannel(@NonNull final Channel cardChannel) {
+    Assert.ARG.isTrue(getCardChannels().contains(cardChannel) && cardChannel.getNumber() != 0,
+        "Not an open logical channel");
+    removeCardChannel(cardChannel);
+  }
+
+  /**
+   * Processes a command APDU received on the given channel.
+   *
+   * @param channel
+   *          receiving channel
+   * @param command
+   *          buffer holding the command APDU
+   * @param offset
+   *          offset of the command APDU
+   * @param length
+   *          length of the command APDU
+   * @param response
+   *          buffer receiving the response APDU
+   * @param responseOffset
+   *          offset of the response APDU
+   * @return length of the response APDU including the status word
+   */
+  synchronized int process(final SimChannel channel, final byte[] command, final int offset, final int length,
+      final byte[] response, final int responseOffset) {
+    commandCount++;
+    if (latency > 0) {
+      LockSupport.parkNanos(latency);
+    }
+    if ((command[offset] & CLA_CHAINING) != 0) {
+      return status(response, responseOffset, appendChain(channel, command, offset, length));
+    }
+    if (channel.chainData != null) {
+      final byte[] chained = completeChain(channel, command, offset, length);
+      if (chained == null) {
+        return status(response, responseOffset, SW_LAST_COMMAND_EXPECTED);
+      }
+      return execute(channel, chained, 0, chained.length, response, responseOffset);
+    }
+    return execute(channel, command, offset, length, response, responseOffset);
+  }
+
+  private int execute(final SimChannel channel, final byte[] command, final int offset, final int length,
+      final byte[] response, final int responseOffset) {
+    final Command apdu = new Command(command, offset, length);
+    final int ins = command[offset + 1] & 0xFF;
+    if (ins != INS_GET_RESPONSE) {
+      channel.pendingData = null;
+    }
+    final int sw;
+    if (!apdu.valid) {
+      sw = SW_WRONG_LENGTH;
+    } else if ((command[offset] & 0x03) != channel.getNumber()) {
+      sw = SW_CHANNEL_NOT_SUPPORTED;
+    } else {
+      switch (ins) {
+        case INS_SELECT:
+          return select(channel, apdu, response, responseOffset);
+        case INS_READ_BINARY:
+          return readBinary(channel, apdu, response, responseOffset);
+        case INS_READ_RECORD:
+          return readRecord(channel, apdu, response, responseOffset);
+        case INS_UPDATE_BINARY:
+          sw = updateBinary(channel, apdu);
+          break;
+        case INS_GET_RESPONSE:
+          return getResponse(channel, apdu, response, responseOffset);
+        default:
+          sw = SW_INS_NOT_SUPPORTED;
+      }
+    }
+    return status(response, responseOffset, sw);
+  }
+
+  /**
+   * Collects the data of a command of a chain, which is not the last one.
+   *
+   * @return status word
+   */
+  private static int appendChain(final SimChannel channel, final byte[] command, final int offset, final int length) {
+    channel.pendingData = null;
+    final Command apdu = new Command(command, offset, length);
+    final int header = (command[offset + 1] & 0xFF) << 16 | apdu.p1 << 8 | apdu.p2;
+    if (!apdu.valid || apdu.ne > 0) {
+      channel.chainData = null;
+      return SW_WRONG_LENGTH;
+    }
+    if ((command[offset] & 0x03) != channel.getNumber()) {
+      channel.chainData = null;
+      return SW_CHANNEL_NOT_SUPPORTED;
+    }
+    if (channel.chainData == null) {
+      channel.chainData = new ByteArrayOutputStream();
+      channel.chainHeader = header;
+    } else if (channel.chainHeader != header) {
+      channel.chainData = null;
+      return SW_LAST_COMMAND_EXPECTED;
+    }
+    channel.chainData.write(command, apdu.dataOffset, apdu.nc);
+    return SW_OK;
+  }
+
+  /**
+   * Completes a command chain by its last command.
+   *
+   * @return command carrying the data of the whole chain or {@code null}, if the command does not belong to the chain
+   */
+  private static byte[] completeChain(final SimChannel channel, final byte[] command, final int offset,
+      final int length) {
+    final ByteArrayOutputStream data = channel.chainData;
+    channel.chainData = null;
+    final Command apdu = new Command(command, offset, length);
+    final int ins = command[offset + 1] & 0xFF;
+    if (!apdu.valid || channel.chainHeader != (ins << 16 | apdu.p1 << 8 | apdu.p2)) {
+      return null;
+    }
+    data.write(command, apdu.dataOffset, apdu.nc);
+    return new CommandAPDU(command[offset], ins, apdu.p1, apdu.p2, data.toByteArray(), apdu.ne).getBytes();
+  }
+
+  private int select(final SimChannel channel, final Command apdu, final byte[] response, final int responseOffset) {
+    final SimFile file;
+    switch (apdu.p1) {
+      case 0x00:
+        file = apdu.nc == 0 ? masterFile : apdu.nc == 2 ? selectById(channel, apdu.fid(0)) : null;
+        break;
+      case 0x04:
+        file = masterFile.findByName(apdu.buffer, apdu.dataOffset, apdu.nc);
+        break;
+      case 0x08:
+        file = selectByPath(masterFile, apdu);
+        break;
+      case 0x09:
+        file = selectByPath(channel.currentDF, apdu);
+        break;
+      default:
+        return status(response, responseOffset, SW_WRONG_P1P2);
+    }
+    if (file == null) {
+      return status(response, responseOffset, SW_FILE_NOT_FOUND);
+    }
+    if (file.getType() == Type.DF) {
+      channel.currentDF = file;
+      channel.currentEF = null;
+    } else {
+      channel.currentDF = file.getParent();
+      channel.currentEF = file;
+    }
+    if ((apdu.p2 & 0x0C) == 0x0C) {
+      return status(response, responseOffset, SW_OK);
+    }
+    final byte[] fcp = file.getFileControlParameters();
+    if (apdu.ne == 0) {
+      channel.pendingData = fcp;
+      channel.pendingOffset = 0;
+      return status(response, responseOffset, SW_BYTES_REMAINING | fcp.length & 0xFF);
+    }
+    return data(response, responseOffset, fcp, 0, Math.min(apdu.ne, fcp.length), SW_OK);
+  }
+
+  private SimFile selectById(final SimChannel channel, final int fid) {
+    if (fid == SimFile.MF_ID) {
+      return masterFile;
+    }
+    final SimFile current = channel.currentDF;
+    final SimFile child = current.getChild(fid);
+    final SimFile parent = current.getParent();
+    if (child != null || parent == null) {
+      return child;
+    }
+    if (parent.getId() == fid) {
+      return parent;
+    }
+    final SimFile sibling = parent.getChild(fid);
+    return sibling != null && sibling.getType() == Type.DF ? sibling : null;
+  }
+
+  private static SimFile selectByPath(final SimFile start, final Command apdu) {
+    if (apdu.nc == 0 || apdu.nc % 2 != 0) {
+      return null;
+    }
+    SimFile file = start;
+    for (int i = 0; i < apdu.nc && file != null; i += 2) {
+      file = file.getType() == Type.DF ? file.getChild(apdu.fid(i)) : null;
+    }
+    return file;
+  }
+
+  private int readBinary(final SimChannel channel, final Command apdu, final byte[] response,
+      final int responseOffset) {
+    final SimFile file = getElementaryFile(channel, apdu.p1);
+    final int sw = checkFile(file, Type.TRANSPARENT);
+    if (sw != SW_OK) {
+      return status(response, responseOffset, sw);
+    }
+    if (apdu.ne == 0) {
+      return status(response, responseOffset, SW_WRONG_LENGTH);
+    }
+    final int fileOffset = (apdu.p1 & 0x80) != 0 ? apdu.p2 : (apdu.p1 & 0x7F) << 8 | apdu.p2;
+    if (fileOffset > file.getSize()) {
+      return status(response, responseOffset, SW_WRONG_OFFSET);
+    }
+    final int available = file.getSize() - fileOffset;
+    final int count = Math.min(apdu.ne, available);
+    file.read(fileOffset, response, responseOffset, count);
+    return status(response, responseOffset + count, apdu.ne > available ? SW_END_OF_FILE : SW_OK) + count;
+  }
+
+  private int readRecord(final SimChannel channel, final Command apdu, final byte[] response,
+      final int responseOffset) {
+    if ((apdu.p2 & 0x07) != 0x04) {
+      return status(response, responseOffset, SW_WRONG_P1P2);
+    }
+    final int sfi = apdu.p2 >>> 3;
+    final SimFile file = sfi == 0 ? channel.currentEF : getElementaryFile(channel, 0x80 | sfi);
+    final int sw = checkFile(file, Type.LINEAR_FIXED);
+    if (sw != SW_OK) {
+      return status(response, responseOffset, sw);
+    }
+    final byte[] record = file.getRecord(apdu.p1);
+    if (record == null) {
+      return status(response, responseOffset, SW_RECORD_NOT_FOUND);
+    }
+    if (apdu.ne < record.length) {
+      return status(response, responseOffset, SW_WRONG_LE | record.length & 0xFF);
+    }
+    return data(response, responseOffset, record, 0, record.length, SW_OK);
+  }
+
+  private int updateBinary(final SimChannel channel, final Command apdu) {
+    final SimFile file = getElementaryFile(channel, apdu.p1);
+    final int sw = checkFile(file, Type.TRANSPARENT);
+    if (sw != SW_OK) {
+      return sw;
+    }
+    final int fileOffset = (apdu.p1 & 0x80) != 0 ? apdu.p2 : (apdu.p1 & 0x7F) << 8 | apdu.p2;
+    if (fileOffset > file.getSize()) {
+      return SW_WRONG_OFFSET;
+    }
+    if (fileOffset + apdu.nc > file.getSize()) {
+      return SW_NOT_ENOUGH_MEMORY;
+    }
+    file.write(fileOffset, apdu.buffer, apdu.dataOffset, apdu.nc);
+    return SW_OK;
+  }
+
+  private int getResponse(final SimChannel channel, final Command apdu, final byte[] response,
+      final int responseOffset) {
+    if (apdu.p1 != 0 || apdu.p2 != 0) {
+      return status(response, responseOffset, SW_WRONG_P1P2);
+    }
+    final byte[] pending = channel.pendingData;
+    if (pending == null) {
+      return status(response, responseOffset, SW_CONDITIONS_NOT_SATISFIED);
+    }
+    final int count = Math.min(apdu.ne, pending.length - channel.pendingOffset);
+    final int offset = channel.pendingOffset;
+    channel.pendingOffset += count;
+    final int remaining = pending.length - channel.pendingOffset;
+    if (remaining == 0) {
+      channel.pendingData = null;
+    }
+    return data(response, responseOffset, pending, offset, count, remaining > 0 ? SW_BYTES_REMAINING
+        | Math.min(remaining, 256) & 0xFF : SW_OK);
+  }
+
+  /**
+   * Returns the EF addressed by a short file identifier in bits 1 to 5, if bit 8 of P1 is set, or the current EF
+   * otherwise. A file addressed by short file identifier becomes the current EF.
+   */
+  private static SimFile getElementaryFile(final SimChannel channel, final int p1) {
+    if ((p1 & 0x80) == 0) {
+      return channel.currentEF;
+    }
+    for (final SimFile child : channel.currentDF.getChildren()) {
+      if (child.getType() != Type.DF && (child.getId() & 0x1F) == (p1 & 0x1F)) {
+        channel.currentEF = child;
+        return child;
+      }
+    }
+    return null;
+  }
+
+  private static int checkFile(final SimFile file, final Type type) {
+    if (file == null) {
+      return SW_NO_CURRENT_EF;
+    }
+    return file.getType() == type ? SW_OK : SW_INCOMPATIBLE_FILE;
+  }
+
+  private static int data(final byte[] response, final int responseOffset, final byte[] data, final int offset,
+      final int count, final int sw) {
+    System.arraycopy(data, offset, response, responseOffset, count);
+    return count + status(response, responseOffset + count, sw);
+  }
+
+  private static int status(final byte[] response, final int responseOffset, final int sw) {
+    response[responseOffset] = (byte) (sw >>> 8);
+    response[responseOffset + 1] = (byte) sw;
+    return 2;
+  }
+
+  /**
+   * Decoded view of a command APDU in its transmission buffer.
+   */
+  private static final class Command {
+
+    /** buffer holding the command */
+    private final byte[] buffer;
+
+    /** parameters */
+    private final int p1;
+    private final int p2;
+
+    /** length and offset of the command data */
+    private int nc;
+    private int dataOffset;
+
+    /** maximum number of response bytes expected, 0 if no Le field is present */
+    private int ne;
+
+    /** whether the length fields are consistent */
+    private boolean valid = true;
+
+    private Command(final byte[] buffer, final int offset, final int length) {
+      this.buffer = buffer;
+      p1 = buffer[offset + 2] & 0xFF;
+      p2 = buffer[offset + 3] & 0xFF;
+      dataOffset = offset + 4;
+      if (length == 5) {
+        ne = buffer[offset + 4] == 0 ? 256 : buffer[offset + 4] & 0xFF;
+      } else if (length > 5 && buffer[offset + 4] != 0) {
+        nc = buffer[offset + 4] & 0xFF;
+        dataOffset = offset + 5;
+        if (length == 6 + nc) {
+          ne = buffer[offset + length - 1] == 0 ? 256 : buffer[offset + length - 1] & 0xFF;
+        } else {
+          valid = length == 5 + nc;
+        }
+      } else if (length == 7) {
+        ne = (buffer[offset + 5] & 0xFF) << 8 | buffer[offset + 6] & 0xFF;
+        ne = ne == 0 ? 65536 : ne;
+      } else if (length > 7) {
+        nc = (buffer[offset + 5] & 0xFF) << 8 | buffer[offset + 6] & 0xFF;
+        dataOffset = offset + 7;
+        if (length == 9 + nc) {
+          ne = (buffer[offset + length - 2] & 0xFF) << 8 | buffer[offset + length - 1] & 0xFF;
+          ne = ne == 0 ? 65536 : ne;
+        } else {
+          valid = length == 7 + nc;
+        }
+      } else {
+        valid = length == 4;
+      }
+    }
+
+    private int fid(final int index) {
+      return (buffer[dataOffset + index] & 0xFF) << 8 | buffer[dataOffset + index + 1] & 0xFF;
+    }
+  }
+}
@@ -0,0 +1,95 @@
+/******************************************************************************
+ * SimChannel.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.sim;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.Executor;
+
+import org.cardshell.smartcardshell.BasicChannel;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.FileTree;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Simulated implementation of a {@link Channel}. The channel keeps the currently selected files and pending response
+ * data, the commands are processed by its {@link SimCard}.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class SimChannel extends BasicChannel {
+
+  /** card processing the commands */
+  private final SimCard card;
+
+  /** logical channel number */
+  private final byte number;
+
+  /** current DF */
+  SimFile currentDF;
+
+  /** current EF or {@code null} */
+  SimFile currentEF;
+
+  /** response data waiting for GET RESPONSE or {@code null} */
+  byte[] pendingData;
+
+  /** offset of the response data not yet returned by GET RESPONSE */
+  int pendingOffset;
+
+  /** data received by the commands of a command chain so far or {@code null}, if no chain is in progress */
+  ByteArrayOutputStream chainData;
+
+  /** INS, P1 and P2 of the command chain in progress */
+  int chainHeader;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param card
+   *          card processing the commands
+   * @param number
+   *          logical channel number
+   * @param executor
+   *          executor of work queued on this channel, a lane of the scheduler of the card
+   * @param fileTree
+   *          cache of the file system of the card
+   */
+  SimChannel(@NonNull final SimCard card, final int number, @NonNull final Executor executor,
+      @NonNull final FileTree fileTree) {
+    super(String.format("Channel-%s", number), executor, fileTree);
+    this.card = Assert.ARG.isNotNull(card);
+    this.number = (byte) number;
+    currentDF = card.getMasterFile();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Channel#getNumber()
+   */
+  @Override
+  public byte getNumber() {
+    return number;
+  }
+
+  /**
+   * {@inheritDoc} The command is processed by the simulated card, including its injected latency.
+   *
+   * @see org.cardshell.smartcardshell.BasicChannel#exchange(byte[], int, int, byte[], int)
+   */
+  @Override
+  protected int exchange(@NonNull final byte[] command, final int offset, final int length,
+      @NonNull final byte[] response, final int responseOffset) {
+    return card.process(this, command, offset, length, response, responseOffset);
+  }
+}
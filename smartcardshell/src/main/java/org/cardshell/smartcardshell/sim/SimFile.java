@@ -0,0 +1,347 @@
+/******************************************************************************
+ * SimFile.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.sim;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * File of the simulated ISO/IEC 7816-4 file system, i.e. the master file (MF), a dedicated file (DF) or an elementary
+ * file (EF) with transparent or linear fixed structure.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class SimFile {
+
+  /** file identifier of the master file */
+  public static final int MF_ID = 0x3F00;
+
+  /**
+   * Enumerates the types of simulated files.
+   */
+  public enum Type {
+
+    /** master file or dedicated file */
+    DF,
+
+    /** elementary file with transparent structure */
+    TRANSPARENT,
+
+    /** elementary file with linear fixed record structure */
+    LINEAR_FIXED
+  }
+
+  /** file identifier */
+  private final int id;
+
+  /** file type */
+  private final Type type;
+
+  /** parent DF or {@code null} for the MF */
+  private final SimFile parent;
+
+  /** DF name (AID) or {@code null} */
+  private final byte[] name;
+
+  /** children of a DF by their file identifiers */
+  private final Map<Integer, SimFile> children = new LinkedHashMap<>();
+
+  /** content of a transparent EF */
+  private byte[] content;
+
+  /** records of a linear fixed EF */
+  private final List<byte[]> records = new ArrayList<>();
+
+  private SimFile(final int id, final Type type, final SimFile parent, final byte[] name) {
+    this.id = id & 0xFFFF;
+    this.type = type;
+    this.parent = parent;
+    this.name = name == null ? null : name.clone();
+  }
+
+  /**
+   * Creates a new, empty master file.
+   *
+   * @return new master file
+   */
+  @NonNull
+  public static SimFile createMasterFile() {
+    return new SimFile(MF_ID, Type.DF, null, null);
+  }
+
+  /**
+   * Adds a dedicated file to this DF.
+   *
+   * @param fid
+   *          file identifier
+   * @param aid
+   *          DF name (AID) or {@code null}
+   * @return the new DF
+   */
+  @NonNull
+  public SimFile addDedicatedFile(final int fid, @Nullable final byte[] aid) {
+    return add(new SimFile(fid, Type.DF, this, aid));
+  }
+
+  /**
+   * Adds a transparent elementary file to this DF.
+   *
+   * @param fid
+   *          file identifier
+   * @param content
+   *          initial content, its length is the file size
+   * @return the new EF
+   */
+  @NonNull
+  public SimFile addTransparentFile(final int fid, @NonNull final byte[] content) {
+    final SimFile file = add(new SimFile(fid, Type.TRANSPARENT, this, null));
+    file.content = Assert.ARG.isNotNull(content).clone();
+    return file;
+  }
+
+  /**
+   * Adds a linear fixed elementary file to this DF.
+   *
+   * @param fid
+   *          file identifier
+   * @param records
+   *          records in the order of their record numbers
+   * @return the new EF
+   */
+  @NonNull
+  public SimFile addRecordFile(final int fid, @NonNull final byte[]... records) {
+    final SimFile file = add(new SimFile(fid, Type.LINEAR_FIXED, this, null));
+    for (final byte[] record : Assert.ARG.isNotNull(records)) {
+      file.records.add(record.clone());
+    }
+    return file;
+  }
+
+  private SimFile add(final SimFile file) {
+    Assert.STATE.isTrue(type == Type.DF);
+    Assert.ARG.isTrue(!children.containsKey(file.id) && file.id != MF_ID);
+    children.put(file.id, file);
+    return file;
+  }
+
+  /**
+   * Returns the file identifier.
+   *
+   * @return file identifier
+   */
+  public int getId() {
+    return id;
+  }
+
+  /**
+   * Returns the file type.
+   *
+   * @return file type
+   */
+  @NonNull
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * Returns the parent DF.
+   *
+   * @return parent DF or {@code null}, if this is the MF
+   */
+  @Nullable
+  public SimFile getParent() {
+    return parent;
+  }
+
+  /**
+   * Returns the DF name.
+   *
+   * @return DF name (AID) or {@code null}
+   */
+  @Nullable
+  public byte[] getName() {
+    return name == null ? null : name.clone();
+  }
+
+  /**
+   * Returns the child with the given file identifier.
+   *
+   * @param fid
+   *          file identifier
+   * @return child or {@code null}, if there is no such child
+   */
+  @Nullable
+  public SimFile getChild(final int fid) {
+    return children.get(fid);
+  }
+
+  /**
+   * Returns the children of this DF.
+   *
+   * @return children in the order they were added
+   */
+  @NonNull
+  public List<SimFile> getChildren() {
+    return Collections.unmodifiableList(new ArrayList<>(children.values()));
+  }
+
+  /**
+   * Searches this DF and its descendants for a DF with the given name.
+   *
+   * @param aid
+   *          DF name (AID)
+   * @param offset
+   *          offset of the name within the given array
+   * @param length
+   *          length of the name
+   * @return matching DF or {@code null}, if no DF has the given name
+   */
+  @Nullable
+  SimFile findByName(final byte[] aid, final int offset, final int length) {
+    if (name != null && name.length == length
+        && Arrays.equals(name, Arrays.copyOfRange(aid, offset, offset + length))) {
+      return this;
+    }
+    for (final SimFile child : children.values()) {
+      final SimFile found = child.type == Type.DF ? child.findByName(aid, offset, length) : null;
+      if (found != null) {
+        return found;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the size of a transparent EF.
+   *
+   * @return size in bytes
+   */
+  int getSize() {
+    return content.length;
+  }
+
+  /**
+   * Reads from a transparent EF.
+   *
+   * @param offset
+   *          file offset
+   * @param target
+   *          target array
+   * @param targetOffset
+   *          offset within the target array
+   * @param length
+   *          number of bytes to read
+   */
+  void read(final int offset, final byte[] target, final int targetOffset, final int length) {
+    System.arraycopy(content, offset, target, targetOffset, length);
+  }
+
+  /**
+   * Writes to a transparent EF.
+   *
+   * @param offset
+   *          file offset
+   * @param source
+   *          source array
+   * @param sourceOffset
+   *          offset within the source array
+   * @param length
+   *          number of bytes to write
+   */
+  void write(final int offset, final byte[] source, final int sourceOffset, final int length) {
+    System.arraycopy(source, sourceOffset, content, offset, length);
+  }
+
+  /**
+   * Returns a record of a linear fixed EF.
+   *
+   * @param number
+   *          record number starting with 1
+   * @return record or {@code null}, if there is no such record
+   */
+  byte[] getRecord(final int number) {
+    return number < 1 || number > records.size() ? null : records.get(number - 1);
+  }
+
+  /**
+   * Returns the number of records of a linear fixed EF.
+   *
+   * @return number of records
+   */
+  int getRecordCount() {
+    return records.size();
+  }
+
+  /**
+   * Returns the file control parameters of this file (tag 62) as returned by SELECT.
+   *
+   * @return encoded file control parameters
+   */
+  byte[] getFileControlParameters() {
+    final byte[] fid = { (byte) (id >>> 8), (byte) id };
+    final byte[] descriptor;
+    final byte[] size;
+    switch (type) {
+      case TRANSPARENT:
+        descriptor = new byte[] { 0x01 };
+        size = new byte[] { (byte) (content.length >>> 8), (byte) content.length };
+        break;
+      case LINEAR_FIXED:
+        final int recordLength = records.isEmpty() ? 0 : records.get(0).length;
+        descriptor = new byte[] { 0x02, 0x21, 0x00, (byte) recordLength, (byte) records.size() };
+        size = null;
+        break;
+      default:
+        descriptor = new byte[] { 0x38 };
+        size = null;
+    }
+    final int length = 2 + descriptor.length + 4 + (size == null ? 0 : 4) + (name == null ? 0 : 2 + name.length);
+    final byte[] fcp = new byte[2 + length];
+    int i = 0;
+    fcp[i++] = 0x62;
+    fcp[i++] = (byte) length;
+    if (size != null) {
+      i = tlv(fcp, i, 0x80, size);
+    }
+    i = tlv(fcp, i, 0x82, descriptor);
+    i = tlv(fcp, i, 0x83, fid);
+    if (name != null) {
+      tlv(fcp, i, 0x84, name);
+    }
+    return fcp;
+  }
+
+  private static int tlv(final byte[] target, final int offset, final int tag, final byte[] value) {
+    target[offset] = (byte) tag;
+    target[offset + 1] = (byte) value.length;
+    System.arraycopy(value, 0, target, offset + 2, value.length);
+    return offset + 2 + value.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return String.format("%04X (%s)", id, type);
+  }
+}
@@ -0,0 +1,142 @@
+/******************************************************************************
+ * SimShell.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.sim;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.cardshell.smartcardshell.BasicShell;
+import org.cardshell.smartcardshell.Shell;
+import org.cardshell.smartcardshell.Terminal;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.PrefixIndex;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Simulated implementation of the {@link Shell}, used instead of the PC/SC implementation if the Spring profile
+ * {@code sim} is active (e.g. {@code -Dspring.profiles.active=sim}). It provides the number of card terminals given by
+ * the system property {@value #TERMINALS_PROPERTY}, each holding a {@link SimCard} with a sample file system and the
+ * latency per command in microseconds given by the system property {@value #LATENCY_PROPERTY}.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+@Component
+@Profile("sim")
+public final class SimShell extends BasicShell {
+
+  /** system property giving the number of simulated card terminals */
+  public static final String TERMINALS_PROPERTY = "cardshell.sim.terminals";
+
+  /** system property giving the latency per command in microseconds */
+  public static final String LATENCY_PROPERTY = "cardshell.sim.latency";
+
+  /** simulated card terminals sorted by name */
+  private final List<Terminal> cardTerminals;
+
+  /** simulated card terminals by name */
+  private final PrefixIndex<Terminal> cardTerminalIndex = new PrefixIndex<>();
+
+  /**
+   * Creates a new instance configured by system properties.
+   */
+  public SimShell() {
+    this(Integer.getInteger(TERMINALS_PROPERTY, 1), Long.getLong(LATENCY_PROPERTY, 0), TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * Creates a new instance with the given number of card terminals.
+   *
+   * @param terminals
+   *          number of card terminals
+   * @param latency
+   *          latency per command
+   * @param unit
+   *          unit of the latency
+   */
+  public SimShell(final int terminals, final long latency, @NonNull final TimeUnit unit) {
+    final List<Terminal> list = new ArrayList<>(terminals);
+    for (int i = 0; i < terminals; i++) {
+      final Terminal terminal = new SimTerminal("Sim_Reader_" + i, new SimCard(createFileSystem(), latency, unit));
+      list.add(terminal);
+      cardTerminalIndex.put(terminal.getName(), terminal);
+    }
+    cardTerminals = Collections.unmodifiableList(list);
+  }
+
+  /**
+   * Creates the sample file system of the simulated cards:
+   *
+   * <pre>
+   * 3F00 MF
+   *   2F00 EF.DIR (records)
+   *   2F01 EF.ATR (transparent, 16 bytes)
+   *   7F10 DF (AID A000000001)
+   *     6F01 EF (transparent, 4096 bytes)
+   *     6F02 EF (records)
+   * </pre>
+   *
+   * @return master file of the sample file system
+   */
+  @NonNull
+  public static SimFile createFileSystem() {
+    final SimFile mf = SimFile.createMasterFile();
+    mf.addRecordFile(0x2F00, Hex.parseHexString("61094F05A0000000015000"));
+    mf.addTransparentFile(0x2F01, Hex.parseHexString("4301B0000000000000000000000000FF"));
+    final SimFile df = mf.addDedicatedFile(0x7F10, Hex.parseHexString("A000000001"));
+    final byte[] content = new byte[4096];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    df.addTransparentFile(0x6F01, content);
+    df.addRecordFile(0x6F02, Hex.parseHexString("0102030405"), Hex.parseHexString("0607080910"),
+        Hex.parseHexString("1112131415"));
+    return mf;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#getCardTerminals()
+   */
+  @NonNull
+  @Override
+  public List<Terminal> getCardTerminals() {
+    return cardTerminals;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#getCardTerminal(java.lang.String)
+   */
+  @Nullable
+  @Override
+  public Terminal getCardTerminal(@NonNull final String name) {
+    return cardTerminalIndex.get(name);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Shell#forEachCardTerminal(java.lang.String, java.util.function.Consumer)
+   */
+  @Override
+  public void forEachCardTerminal(@Nullable final String prefix, @NonNull final Consumer<Terminal> action) {
+    cardTerminalIndex.forEach(prefix, (name, terminal) -> action.accept(terminal));
+  }
+}
@@ -0,0 +1,93 @@
+/******************************************************************************
+ * SimTerminal.java
+ *
+ * Author: Sascha Zak
+ * Date  : 17.10.2026
+ *
+ * Copyright © 2014 zak digital
+ * http://www.cardshell.org
+ *
+ *****************************************************************************/
+package org.cardshell.smartcardshell.sim;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.cardshell.smartcardshell.Card;
+import org.cardshell.smartcardshell.Terminal;
+import org.cardshell.smartcardshell.commons.NonNull;
+import org.cardshell.smartcardshell.commons.Nullable;
+import org.cardshell.smartcardshell.commons.assertion.Assert;
+
+/**
+ * Simulated implementation of a {@link Terminal} holding at most one {@link SimCard}.
+ *
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+public final class SimTerminal implements Terminal {
+
+  /** name of this card terminal */
+  private final String name;
+
+  /** inserted card or {@code null} */
+  private volatile SimCard card;
+
+  /**
+   * Creates a new instance with the given card inserted.
+   *
+   * @param name
+   *          name of the card terminal
+   * @param card
+   *          inserted card or {@code null}
+   */
+  public SimTerminal(@NonNull final String name, @Nullable final SimCard card) {
+    this.name = Assert.ARG.isNotBlank(name);
+    this.card = card;
+  }
+
+  /**
+   * Inserts the given card or removes the inserted one. The cached file system of a removed card is dropped.
+   *
+   * @param card
+   *          card to be inserted or {@code null} to remove the inserted card
+   */
+  public synchronized void setCard(@Nullable final SimCard card) {
+    final SimCard removed = this.card;
+    if (removed != null && removed != card) {
+      removed.getFileTree().clear();
+    }
+    this.card = card;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Terminal#getCards()
+   */
+  @Override
+  public List<Card> getCards() {
+    final SimCard inserted = card;
+    return inserted == null ? Collections.<Card> emptyList() : Collections.<Card> singletonList(inserted);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see org.cardshell.smartcardshell.Terminal#getName()
+   */
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @see java.lang.Object#toString()
+   */
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,6 @@
+/**
+ * Contains an in-memory simulation of card terminals, cards and channels working on an ISO/IEC 7816-4 file system.
+ * @author Sascha Zak
+ * @since 0.1.0
+ */
+package org.cardshell.smartcardshell.sim;
@@ -0,0 +1,205 @@
+package org.cardshell.smartcardshell;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import org.cardshell.smartcardshell.commons.Hex;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BasicChannelTest {
+
+  private FakeChannel channel;
+
+  @Before
+  public void setUp() {
+    channel = new FakeChannel();
+  }
+
+  @Test
+  public void testChainSegments() {
+    channel.setChainingSegmentSize(4);
+    final CommandAPDU command = new CommandAPDU(Hex.parseHexString("00DA00000A0102030405060708090A"));
+    final byte[] original = command.getBytes();
+    assertThat(channel.transmit(command).getSW()).isEqualTo(0x9000);
+    assertThat(channel.getCommands()).containsExactly("10DA00000401020304", "10DA00000405060708", "00DA000002090A");
+    assertThat(command.getBytes()).isEqualTo(original);
+  }
+
+  @Test
+  public void testChainExtendedWithLe() {
+    channel.setChainingSegmentSize(CommandAPDU.MAX_SHORT_NC);
+    final byte[] data = new byte[300];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) i;
+    }
+    final CommandAPDU command = new CommandAPDU(0x80, 0xE2, 0x01, 0x02, data, 0x1000);
+    final byte[] original = command.getBytes();
+    channel.transmit(command);
+    assertThat(channel.getCommands()).hasSize(2);
+    assertThat(channel.getCommands().get(0)).startsWith("90E20102FF000102");
+    assertThat(channel.getCommands().get(0)).hasSize((5 + 255) * 2);
+    assertThat(channel.getCommands().get(1)).startsWith("80E201022DFF0001").endsWith("2B00");
+    assertThat(command.getBytes()).isEqualTo(original);
+  }
+
+  @Test
+  public void testChainAborted() {
+    channel.setChainingSegmentSize(4);
+    channel.respond("6A80");
+    final CommandAPDU command = new CommandAPDU(Hex.parseHexString("00DA00000A0102030405060708090A"));
+    final byte[] original = command.getBytes();
+    assertThat(channel.transmit(command).getSW()).isEqualTo(0x6A80);
+    assertThat(channel.getCommands()).containsExactly("10DA00000401020304");
+    assertThat(command.getBytes()).isEqualTo(original);
+  }
+
+  @Test
+  public void testChainingDisabled() {
+    final CommandAPDU command = new CommandAPDU(Hex.parseHexString("00DA00000A0102030405060708090A"));
+    channel.transmit(command);
+    assertThat(channel.getCommands()).containsExactly("00DA00000A0102030405060708090A");
+  }
+
+  @Test
+  public void testLeCorrected() {
+    channel.setLeCorrection(true);
+    channel.respond("6C05", "01020304059000");
+    final ResponseAPDU response = channel.transmit(new CommandAPDU(Hex.parseHexString("00B2020400")));
+    assertThat(response.getData()).isEqualTo(Hex.parseHexString("0102030405"));
+    assertThat(channel.getCommands()).containsExactly("00B2020400", "00B2020405");
+  }
+
+  @Test
+  public void testLeAppended() {
+    channel.setLeCorrection(true);
+    channel.respond("6C2D");
+    final CommandAPDU command = new CommandAPDU(Hex.parseHexString("00CA9F7F"));
+    channel.transmit(command);
+    assertThat(channel.getCommands()).containsExactly("00CA9F7F", "00CA9F7F2D");
+    assertThat(command.getNe()).isEqualTo(0x2D);
+  }
+
+  @Test
+  public void testLeAppendedExtended() {
+    channel.setLeCorrection(true);
+    channel.respond("6C10");
+    final CommandAPDU command = new CommandAPDU(0x00, 0xDA, 0x00, 0x00, new byte[300], 0);
+    channel.transmit(command);
+    assertThat(channel.getCommands()).hasSize(2);
+    assertThat(channel.getCommands().get(1)).startsWith("00DA000000012C").endsWith("00000010");
+    assertThat(command.getLength()).isEqualTo(4 + 3 + 300 + 2);
+    assertThat(command.getNe()).isEqualTo(0x10);
+  }
+
+  @Test
+  public void testLeCached() {
+    channel.setLeCorrection(true);
+    channel.respond("6C05");
+    channel.transmit(new CommandAPDU(Hex.parseHexString("00B2020400")));
+    channel.transmit(new CommandAPDU(Hex.parseHexString("00B2020400")));
+    assertThat(channel.getCommands()).containsExactly("00B2020400", "00B2020405", "00B2020405");
+  }
+
+  @Test
+  public void testLeCacheClearedBySelect() {
+    channel.setLeCorrection(true);
+    channel.respond("6C05");
+    channel.transmit(new CommandAPDU(Hex.parseHexString("00B2020400")));
+    channel.transmit(new CommandAPDU(Hex.parseHexString("00A4000C027F10")));
+    channel.transmit(new CommandAPDU(Hex.parseHexString("00B2020400")));
+    assertThat(channel.getCommands()).containsExactly("00B2020400", "00B2020405", "00A4000C027F10", "00B2020400");
+  }
+
+  @Test
+  public void testLeCorrectionDisabled() {
+    channel.respond("6C05");
+    assertThat(channel.transmit(new CommandAPDU(Hex.parseHexString("00B2020400"))).getSW()).isEqualTo(0x6C05);
+    assertThat(channel.getCommands()).containsExactly("00B2020400");
+  }
+
+  @Test
+  public void testGetResponses() {
+    channel.respond("01026103", "0304059000");
+    final ResponseAPDU response = channel.transmit(new CommandAPDU(Hex.parseHexString("00B0000000")));
+    assertThat(response.getData()).isEqualTo(Hex.parseHexString("0102030405"));
+    assertThat(channel.getCommands()).containsExactly("00B0000000", "00C0000003");
+  }
+
+  @Test
+  public void testGetResponsesProprietaryClass() {
+    channel.respond("6102", "01029000");
+    final ResponseAPDU response = channel.transmit(new CommandAPDU(Hex.parseHexString("A0B0000000")));
+    assertThat(response.getData()).isEqualTo(Hex.parseHexString("0102"));
+    assertThat(channel.getCommands()).containsExactly("A0B0000000", "A0C0000002");
+  }
+
+  @Test
+  public void testGetResponsesInterindustryClass() {
+    channel.respond("6102", "01029000");
+    channel.transmit(new CommandAPDU(Hex.parseHexString("0DB0000000")));
+    assertThat(channel.getCommands()).containsExactly("0DB0000000", "01C0000002");
+  }
+
+  @Test
+  public void testGetResponsesWithoutData() {
+    channel.respond("6101", "6101", "6101");
+    assertThat(channel.transmit(new CommandAPDU(Hex.parseHexString("00B0000000"))).getSW()).isEqualTo(0x6101);
+    assertThat(channel.getCommands()).containsExactly("00B0000000", "00C0000001");
+  }
+
+  @Test
+  public void testGetResponsesLimited() {
+    final String chunk = Hex.toHexString(new byte[256]);
+    for (int i = 0; i < 300; i++) {
+      channel.respond(chunk + "6100");
+    }
+    final ResponseAPDU response = channel.transmit(new CommandAPDU(Hex.parseHexString("00B0000000")));
+    assertThat(response.getSW()).isEqualTo(0x6100);
+    assertThat(response.getData().length).isEqualTo(CommandAPDU.MAX_EXTENDED_NE);
+    assertThat(channel.getCommands()).hasSize(CommandAPDU.MAX_EXTENDED_NE / 256);
+  }
+
+  /**
+   * Channel recording the commands exchanged and answering them with queued responses or 9000.
+   */
+  static final class FakeChannel extends BasicChannel {
+
+    private final List<String> commands = new ArrayList<>();
+
+    private final Deque<byte[]> responses = new ArrayDeque<>();
+
+    FakeChannel() {
+      super("Fake");
+    }
+
+    void respond(final String... responses) {
+      for (final String response : responses) {
+        this.responses.add(Hex.parseHexString(response));
+      }
+    }
+
+    List<String> getCommands() {
+      return commands;
+    }
+
+    @Override
+    public byte getNumber() {
+      return 0;
+    }
+
+    @Override
+    protected int exchange(final byte[] command, final int offset, final int length, final byte[] response,
+        final int responseOffset) {
+      commands.add(Hex.toHexString(Arrays.copyOfRange(command, offset, offset + length)));
+      final byte[] next = responses.isEmpty() ? new byte[] { (byte) 0x90, 0x00 } : responses.poll();
+      System.arraycopy(next, 0, response, responseOffset, next.length);
+      return next.length;
+    }
+  }
+}
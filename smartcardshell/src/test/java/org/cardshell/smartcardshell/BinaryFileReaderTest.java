@@ -0,0 +1,148 @@
+package org.cardshell.smartcardshell;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+
+import org.cardshell.smartcardshell.apdu.TransmissionException;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.commons.HexDumpChannel;
+import org.cardshell.smartcardshell.sim.SimCard;
+import org.cardshell.smartcardshell.sim.SimShell;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BinaryFileReaderTest {
+
+  private BasicChannel channel;
+
+  @Before
+  public void setUp() {
+    channel = (BasicChannel) new SimCard(SimShell.createFileSystem()).openChannel();
+    channel.transmit(Hex.parseHexString("00A4080C047F106F01"));
+  }
+
+  @Test
+  public void testReadAll() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(new BinaryFileReader(channel).read(0, -1, Channels.newChannel(out))).isEqualTo(4096);
+    final byte[] data = out.toByteArray();
+    assertThat(data.length).isEqualTo(4096);
+    for (int i = 0; i < data.length; i++) {
+      assertThat(data[i]).isEqualTo((byte) i);
+    }
+  }
+
+  @Test
+  public void testReadRange() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(new BinaryFileReader(channel, 1000).read(4000, 200, Channels.newChannel(out))).isEqualTo(96);
+    assertThat(out.toByteArray()[0]).isEqualTo((byte) 4000);
+  }
+
+  @Test
+  public void testAdaptChunkSize() throws Exception {
+    final BasicChannel limited = new BasicChannel("Limited") {
+
+      @Override
+      public byte getNumber() {
+        return 0;
+      }
+
+      @Override
+      protected int exchange(final byte[] command, final int offset, final int length, final byte[] response,
+          final int responseOffset) {
+        if (length == 7) {
+          response[responseOffset] = 0x67;
+          response[responseOffset + 1] = 0x00;
+          return 2;
+        }
+        if ((command[offset + 4] & 0xFF) == 0 || (command[offset + 4] & 0xFF) > 0x80) {
+          response[responseOffset] = 0x6C;
+          response[responseOffset + 1] = (byte) 0x80;
+          return 2;
+        }
+        return exchange(channel, command, offset, length, response, responseOffset);
+      }
+    };
+    final BinaryFileReader reader = new BinaryFileReader(limited, 4096);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertThat(reader.read(0, -1, Channels.newChannel(out))).isEqualTo(4096);
+    assertThat(reader.getChunkSize()).isEqualTo(0x80);
+  }
+
+  @Test
+  public void testExactLe() throws Exception {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final BinaryFileReader reader = new BinaryFileReader(exactLe(0x10));
+    assertThat(reader.read(0, 5, Channels.newChannel(out))).isEqualTo(5);
+    assertThat(out.toByteArray()).isEqualTo(Hex.parseHexString("0001020304"));
+    out.reset();
+    assertThat(reader.read(0x20, 40, Channels.newChannel(out))).isEqualTo(40);
+    assertThat(out.toByteArray()[39]).isEqualTo((byte) (0x20 + 39));
+    assertThat(reader.getChunkSize()).isEqualTo(0x10);
+  }
+
+  @Test(expected = TransmissionException.class)
+  public void testExactLeChanging() throws Exception {
+    final BasicChannel changing = new BasicChannel("Changing") {
+
+      private int sw2 = 0x10;
+
+      @Override
+      public byte getNumber() {
+        return 0;
+      }
+
+      @Override
+      protected int exchange(final byte[] command, final int offset, final int length, final byte[] response,
+          final int responseOffset) {
+        response[responseOffset] = 0x6C;
+        response[responseOffset + 1] = (byte) sw2++;
+        return 2;
+      }
+    };
+    new BinaryFileReader(changing).read(0, 5, Channels.newChannel(new ByteArrayOutputStream()));
+  }
+
+  @Test(expected = TransmissionException.class)
+  public void testNoTransparentFile() throws Exception {
+    channel.transmit(Hex.parseHexString("00A4000C026F02"));
+    new BinaryFileReader(channel).read(0, -1, Channels.newChannel(new ByteArrayOutputStream()));
+  }
+
+  @Test
+  public void testHexDump() throws Exception {
+    final StringBuilder out = new StringBuilder();
+    try (HexDumpChannel dump = new HexDumpChannel(out, 0x10)) {
+      new BinaryFileReader(channel).read(0x10, 20, dump);
+    }
+    assertThat(out.toString()).startsWith("0010: 10 11 12 13 14 15 16 17 18 19 1A 1B 1C 1D 1E 1F").contains(
+        "0020: 20 21 22 23" + System.lineSeparator());
+  }
+
+  /**
+   * Returns a channel to the simulated card answering READ BINARY commands with 6Cxx unless Le is the given length.
+   */
+  private BasicChannel exactLe(final int le) {
+    return new BasicChannel("Exact") {
+
+      @Override
+      public byte getNumber() {
+        return 0;
+      }
+
+      @Override
+      protected int exchange(final byte[] command, final int offset, final int length, final byte[] response,
+          final int responseOffset) {
+        if ((command[offset + 4] & 0xFF) != le) {
+          response[responseOffset] = 0x6C;
+          response[responseOffset + 1] = (byte) le;
+          return 2;
+        }
+        return exchange(channel, command, offset, length, response, responseOffset);
+      }
+    };
+  }
+}
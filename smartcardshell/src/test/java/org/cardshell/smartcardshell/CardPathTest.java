@@ -0,0 +1,43 @@
+package org.cardshell.smartcardshell;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class CardPathTest {
+
+  @Test
+  public void testParseAbsolute() {
+    assertThat(CardPath.parse("/", null)).isEqualTo(CardPath.MF);
+    assertThat(CardPath.parse("/7F10/6F01", null)).isEqualTo(CardPath.of(0x7F10, 0x6F01));
+    assertThat(CardPath.parse("3F00/7f10", null).toString()).isEqualTo("/7F10");
+  }
+
+  @Test
+  public void testParseRelative() {
+    final CardPath df = CardPath.of(0x7F10);
+    assertThat(CardPath.parse("6F01", df)).isEqualTo(CardPath.of(0x7F10, 0x6F01));
+    assertThat(CardPath.parse("../2F00", df)).isEqualTo(CardPath.of(0x2F00));
+    assertThat(CardPath.parse("./..", df)).isEqualTo(CardPath.MF);
+    assertThat(CardPath.parse("..", CardPath.MF)).isEqualTo(CardPath.MF);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseRelativeWithoutBase() {
+    CardPath.parse("6F01", null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseInvalid() {
+    CardPath.parse("/7F1", null);
+  }
+
+  @Test
+  public void testPathBytes() {
+    final CardPath path = CardPath.of(0x7F10, 0x6F01);
+    assertThat(path.getParent()).isEqualTo(CardPath.of(0x7F10));
+    assertThat(path.getFileId()).isEqualTo(0x6F01);
+    assertThat(path.getPathBytes()).isEqualTo(new byte[] { 0x7F, 0x10, 0x6F, 0x01 });
+    assertThat(CardPath.MF.getParent()).isNull();
+  }
+}
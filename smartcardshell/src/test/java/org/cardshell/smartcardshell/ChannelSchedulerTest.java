@@ -0,0 +1,86 @@
+package org.cardshell.smartcardshell;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class ChannelSchedulerTest {
+
+  private final ExecutorService pool = Executors.newFixedThreadPool(2);
+
+  @After
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void testRoundRobin() throws Exception {
+    final ChannelScheduler scheduler = new ChannelScheduler(pool);
+    final Executor a = scheduler.createLane();
+    final Executor b = scheduler.createLane();
+    final List<String> order = new CopyOnWriteArrayList<>();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(5);
+    a.execute(() -> {
+      started.countDown();
+      await(release);
+      order.add("a0");
+      done.countDown();
+    });
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    for (final String task : new String[] { "a1", "a2" }) {
+      a.execute(() -> {
+        order.add(task);
+        done.countDown();
+      });
+    }
+    for (final String task : new String[] { "b1", "b2" }) {
+      b.execute(() -> {
+        order.add(task);
+        done.countDown();
+      });
+    }
+    release.countDown();
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(order).containsExactly("a0", "b1", "a1", "b2", "a2");
+  }
+
+  @Test
+  public void testOneTaskAtATime() throws Exception {
+    final ChannelScheduler scheduler = new ChannelScheduler(pool);
+    final Executor[] lanes = { scheduler.createLane(), scheduler.createLane(), scheduler.createLane() };
+    final int[] running = new int[2];
+    final CountDownLatch done = new CountDownLatch(300);
+    for (int i = 0; i < 300; i++) {
+      lanes[i % 3].execute(() -> {
+        synchronized (running) {
+          running[1] = Math.max(running[1], ++running[0]);
+        }
+        synchronized (running) {
+          running[0]--;
+        }
+        done.countDown();
+      });
+    }
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(running[1]).isEqualTo(1);
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package org.cardshell.smartcardshell;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.cardshell.smartcardshell.commons.Hex;
+import org.junit.Test;
+
+public class CommandAPDUTest {
+
+  @Test
+  public void testShortCases() {
+    final CommandAPDU case1 = new CommandAPDU(0x00, 0xA4, 0x00, 0x0C, null, 0);
+    assertThat(Hex.toHexString(case1.getBytes())).isEqualTo("00A4000C");
+    assertThat(case1.getNc()).isEqualTo(0);
+    assertThat(case1.getNe()).isEqualTo(0);
+    assertThat(case1.getDataOffset()).isEqualTo(-1);
+    final CommandAPDU case2 = new CommandAPDU(0x00, 0xB0, 0x00, 0x00, null, CommandAPDU.MAX_SHORT_NE);
+    assertThat(Hex.toHexString(case2.getBytes())).isEqualTo("00B0000000");
+    assertThat(case2.isExtended()).isFalse();
+    assertThat(case2.getNe()).isEqualTo(256);
+    final CommandAPDU case4 = new CommandAPDU(0x00, 0xA4, 0x00, 0x00, Hex.parseHexString("3F00"), 0x10);
+    assertThat(Hex.toHexString(case4.getBytes())).isEqualTo("00A40000023F0010");
+    assertThat(case4.getNc()).isEqualTo(2);
+    assertThat(case4.getDataOffset()).isEqualTo(5);
+    assertThat(case4.getLeOffset()).isEqualTo(7);
+    assertThat(case4.getNe()).isEqualTo(0x10);
+  }
+
+  @Test
+  public void testCase2Extended() {
+    final CommandAPDU command = new CommandAPDU(0x00, 0xB0, 0x00, 0x00, null, 0x0101);
+    assertThat(Hex.toHexString(command.getBytes())).isEqualTo("00B00000000101");
+    assertThat(command.isExtended()).isTrue();
+    assertThat(command.getNc()).isEqualTo(0);
+    assertThat(command.getDataOffset()).isEqualTo(-1);
+    assertThat(command.getLeOffset()).isEqualTo(5);
+    assertThat(command.getNe()).isEqualTo(0x0101);
+    final CommandAPDU max = new CommandAPDU(0x00, 0xB0, 0x00, 0x00, null, CommandAPDU.MAX_EXTENDED_NE);
+    assertThat(Hex.toHexString(max.getBytes())).isEqualTo("00B00000000000");
+    assertThat(max.getNe()).isEqualTo(65536);
+  }
+
+  @Test
+  public void testCase3Extended() {
+    final byte[] data = new byte[256];
+    data[255] = 0x55;
+    final CommandAPDU command = new CommandAPDU(0x00, 0xD6, 0x00, 0x00, data, 0);
+    assertThat(command.getLength()).isEqualTo(CommandAPDU.encodedLength(256, 0)).isEqualTo(4 + 3 + 256);
+    assertThat(Hex.toHexString(command.getBytes())).startsWith("00D60000000100").endsWith("0055");
+    assertThat(command.isExtended()).isTrue();
+    assertThat(command.getNc()).isEqualTo(256);
+    assertThat(command.getDataOffset()).isEqualTo(7);
+    assertThat(command.getLeOffset()).isEqualTo(-1);
+    assertThat(command.getNe()).isEqualTo(0);
+  }
+
+  @Test
+  public void testCase4Extended() {
+    final CommandAPDU command = new CommandAPDU(0x00, 0x2A, 0x9E, 0x9A, Hex.parseHexString("CAFE"),
+        CommandAPDU.MAX_EXTENDED_NE);
+    assertThat(Hex.toHexString(command.getBytes())).isEqualTo("002A9E9A000002CAFE0000");
+    assertThat(command.isExtended()).isTrue();
+    assertThat(command.getNc()).isEqualTo(2);
+    assertThat(command.getDataOffset()).isEqualTo(7);
+    assertThat(command.getLeOffset()).isEqualTo(9);
+    assertThat(command.getNe()).isEqualTo(65536);
+    final CommandAPDU large = new CommandAPDU(0x00, 0x2A, 0x9E, 0x9A, new byte[300], 0x10);
+    assertThat(large.getLength()).isEqualTo(4 + 3 + 300 + 2);
+    assertThat(Hex.toHexString(large.getBytes())).startsWith("002A9E9A00012C").endsWith("0010");
+    assertThat(large.getNc()).isEqualTo(300);
+    assertThat(large.getNe()).isEqualTo(0x10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNeTooLarge() {
+    CommandAPDU.encodedLength(0, CommandAPDU.MAX_EXTENDED_NE + 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNcTooLarge() {
+    new CommandAPDU(0x00, 0xD6, 0x00, 0x00, new byte[CommandAPDU.MAX_EXTENDED_NC + 1], 0);
+  }
+}
@@ -0,0 +1,74 @@
+package org.cardshell.smartcardshell;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.cardshell.smartcardshell.apdu.StatusWord.Severity;
+import org.cardshell.smartcardshell.sim.SimCard;
+import org.cardshell.smartcardshell.sim.SimShell;
+import org.junit.Test;
+
+public class FileScannerTest {
+
+  @Test
+  public void testScanAcrossChannels() throws Exception {
+    final SimCard card = new SimCard(SimShell.createFileSystem());
+    final List<Channel> channels = Arrays.asList(card.openChannel(), card.openChannel(), card.openChannel());
+    final Map<CardPath, FileInfo> found = new ConcurrentHashMap<>();
+    final String summary = new FileScanner(channels, 2).scan(CardPath.MF, 0, 0xFFFF, (path, info, statusWord) -> {
+      assertThat(statusWord.getSeverity()).isEqualTo(Severity.SUCCESS);
+      found.put(path, info);
+    });
+    final List<String> paths = new ArrayList<>();
+    for (final CardPath path : found.keySet()) {
+      paths.add(path.toString());
+    }
+    Collections.sort(paths);
+    assertThat(paths).containsExactly("/2F00", "/2F01", "/7F10", "/7F10/6F01", "/7F10/6F02");
+    assertThat(found.get(CardPath.of(0x7F10, 0x6F01)).getSize()).isEqualTo(4096);
+    assertThat(summary).startsWith("5 files found, 131068 file identifiers probed on 3 channels");
+  }
+
+  @Test
+  public void testScanRange() throws Exception {
+    final SimCard card = new SimCard(SimShell.createFileSystem());
+    final List<CardPath> found = Collections.synchronizedList(new ArrayList<CardPath>());
+    new FileScanner(Collections.singletonList(card.openChannel()), 1).scan(CardPath.of(0x7F10), 0x6F00, 0x6F01,
+        (path, info, statusWord) -> found.add(path));
+    assertThat(found).containsExactly(CardPath.of(0x7F10, 0x6F01));
+  }
+
+  @Test
+  public void testAbortOnUnsupportedSelect() throws Exception {
+    final AtomicInteger commands = new AtomicInteger();
+    final BasicChannel channel = new BasicChannel("NoPath") {
+
+      @Override
+      public byte getNumber() {
+        return 0;
+      }
+
+      @Override
+      protected int exchange(final byte[] command, final int offset, final int length, final byte[] response,
+          final int responseOffset) {
+        commands.incrementAndGet();
+        response[responseOffset] = 0x6A;
+        response[responseOffset + 1] = (byte) 0x86;
+        return 2;
+      }
+    };
+    final List<CardPath> found = Collections.synchronizedList(new ArrayList<CardPath>());
+    final String summary = new FileScanner(Collections.<Channel> singletonList(channel), 2).scan(CardPath.MF, 0,
+        0xFFFF, (path, info, statusWord) -> found.add(path));
+    assertThat(found).isEmpty();
+    assertThat(commands.get()).isEqualTo(1);
+    assertThat(summary).startsWith("0 files found, 1 file identifiers probed").contains("6A86");
+  }
+}
@@ -0,0 +1,107 @@
+package org.cardshell.smartcardshell;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.cardshell.smartcardshell.FileInfo.Structure;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.sim.SimCard;
+import org.cardshell.smartcardshell.sim.SimShell;
+import org.cardshell.smartcardshell.sim.SimTerminal;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileTreeTest {
+
+  private SimCard card;
+
+  private Channel channel;
+
+  @Before
+  public void setUp() {
+    card = new SimCard(SimShell.createFileSystem());
+    channel = card.openChannel();
+  }
+
+  @Test
+  public void testParseFileControlParameters() {
+    final byte[] fcp = Hex.parseHexString("62198002010082050221000503830222018A01058C03030000AB00");
+    final FileInfo info = FileInfo.parse(0x2F00, fcp, 0, fcp.length);
+    assertThat(info.getFileId()).isEqualTo(0x2201);
+    assertThat(info.getStructure()).isEqualTo(Structure.LINEAR_FIXED);
+    assertThat(info.getSize()).isEqualTo(256);
+    assertThat(info.getRecordLength()).isEqualTo(5);
+    assertThat(info.getRecordCount()).isEqualTo(3);
+    assertThat(info.getLifeCycle()).isEqualTo(5);
+    assertThat(Hex.toHexString(info.getSecurityAttributes())).isEqualTo("8C03030000AB00");
+  }
+
+  @Test
+  public void testParseFileControlInformation() {
+    final byte[] fci = Hex.parseHexString("6F078405A0000000019000");
+    final FileInfo info = FileInfo.parse(0x7F10, fci, 0, fci.length - 2);
+    assertThat(info.getFileId()).isEqualTo(0x7F10);
+    assertThat(info.getStructure()).isEqualTo(Structure.UNKNOWN);
+    assertThat(info.getName()).isEqualTo(Hex.parseHexString("A000000001"));
+    assertThat(FileInfo.parse(0x7F10, fci, 2, fci.length - 4)).isNull();
+  }
+
+  @Test
+  public void testPopulatedBySelect() {
+    channel.selectCardPath(CardPath.of(0x7F10, 0x6F01));
+    channel.selectCardPath(CardPath.of(0x7F10, 0x6F02));
+    final FileTree fileTree = card.getFileTree();
+    assertThat(fileTree.get(CardPath.of(0x7F10, 0x6F01)).getSize()).isEqualTo(4096);
+    assertThat(fileTree.get(CardPath.of(0x7F10, 0x6F02)).getRecordCount()).isEqualTo(3);
+    assertThat(fileTree.getChildren(CardPath.of(0x7F10))).containsExactly(CardPath.of(0x7F10, 0x6F01),
+        CardPath.of(0x7F10, 0x6F02));
+    assertThat(fileTree.getChildren(CardPath.MF)).containsExactly(CardPath.of(0x7F10));
+    assertThat(card.openChannel().selectCardPath(CardPath.of(0x7F10))).isEqualTo("9000");
+    assertThat(fileTree.get(CardPath.of(0x7F10)).isDedicatedFile()).isTrue();
+  }
+
+  @Test
+  public void testPopulatedWithoutGetResponse() {
+    final FileTree fileTree = new FileTree();
+    final byte[] fcp = Hex.parseHexString("620F8202010183026F018002001E8A01059000");
+    final BasicChannel t1 = new BasicChannel("T=1", null, fileTree) {
+
+      @Override
+      public byte getNumber() {
+        return 0;
+      }
+
+      @Override
+      protected int exchange(final byte[] command, final int offset, final int length, final byte[] response,
+          final int responseOffset) {
+        if (length == 5 + (command[offset + 4] & 0xFF) + 1) {
+          System.arraycopy(fcp, 0, response, responseOffset, fcp.length);
+          return fcp.length;
+        }
+        response[responseOffset] = (byte) 0x90;
+        response[responseOffset + 1] = 0x00;
+        return 2;
+      }
+    };
+    t1.selectCardPath(CardPath.of(0x7F10, 0x6F01));
+    assertThat(fileTree.get(CardPath.of(0x7F10, 0x6F01)).getSize()).isEqualTo(30);
+    assertThat(t1.getCurrentDF()).isEqualTo(CardPath.of(0x7F10));
+  }
+
+  @Test
+  public void testInvalidatedByWrite() {
+    channel.selectCardPath(CardPath.of(0x2F01));
+    channel.selectCardPath(CardPath.of(0x7F10, 0x6F01));
+    assertThat(card.getFileTree().size()).isEqualTo(2);
+    assertThat(channel.transmit(Hex.parseHexString("00D6000002CAFE")).getSW()).isEqualTo(0x9000);
+    assertThat(card.getFileTree().get(CardPath.of(0x7F10, 0x6F01))).isNull();
+    assertThat(card.getFileTree().get(CardPath.of(0x2F01))).isNotNull();
+  }
+
+  @Test
+  public void testClearedOnRemoval() {
+    final SimTerminal terminal = new SimTerminal("Reader", card);
+    channel.selectCardPath(CardPath.of(0x2F01));
+    terminal.setCard(null);
+    assertThat(card.getFileTree().size()).isEqualTo(0);
+  }
+}
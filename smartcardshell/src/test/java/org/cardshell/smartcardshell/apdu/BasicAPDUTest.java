@@ -0,0 +1,85 @@
+package org.cardshell.smartcardshell.apdu;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.junit.Test;
+
+public class BasicAPDUTest {
+
+  private final Transmit transmit = new Transmit("00B0000000");
+
+  @Test
+  public void testInterpreteSuccess() {
+    assertThat(transmit.interprete(response("9000"))).isEqualTo("9000");
+    assertThat(transmit.interprete(response("0102611A"))).isEqualTo("611A");
+  }
+
+  @Test
+  public void testInterpreteWarning() {
+    assertThat(transmit.interprete(response("6282"))).isEqualTo("End of file/record reached before reading Le bytes");
+  }
+
+  @Test
+  public void testInterpreteCounter() {
+    assertThat(transmit.interprete(response("63C3"))).isEqualTo("Counter 3 (exact meaning depending on the command)");
+  }
+
+  @Test
+  public void testInterpreteError() {
+    try {
+      transmit.interprete(response("6A82"));
+    } catch (final TransmissionException e) {
+      assertThat(e.getMessage()).isEqualTo("6A82: File not found");
+      return;
+    }
+    throw new AssertionError("TransmissionException expected");
+  }
+
+  @Test(expected = TransmissionException.class)
+  public void testInterpreteUnknown() {
+    transmit.interprete(response("6400"));
+  }
+
+  @Test
+  public void testEvaluate() {
+    assertThat(transmit.evaluate(response("6A82")).getSeverity()).isEqualTo(StatusWord.Severity.ERROR);
+    assertThat(transmit.evaluate(response("6A82")).toString()).isEqualTo("6A82: File not found");
+    assertThat(transmit.evaluate(response("9000")).getSeverity()).isEqualTo(StatusWord.Severity.SUCCESS);
+    assertThat(transmit.evaluate(response("6400")).getMessage()).isEqualTo("Unknown response code");
+  }
+
+  @Test
+  public void testEvaluateSpecific() {
+    final BasicAPDU command = new BasicAPDU(Hex.parseHexString("00B0000000")) {
+
+      @Override
+      protected StatusWord evaluateSpecific(final ResponseAPDU response) {
+        switch (response.getSW()) {
+          case 0x6F01:
+            return new StatusWord(response.getSW(), StatusWord.Severity.WARNING, "Specific warning");
+          case 0x9F10:
+            return new StatusWord(response.getSW(), StatusWord.Severity.SUCCESS, "");
+          default:
+            return super.evaluateSpecific(response);
+        }
+      }
+    };
+    assertThat(command.evaluate(response("6400")).toString()).isEqualTo("6400: Unknown response code");
+    try {
+      command.interprete(response("6400"));
+      throw new AssertionError("TransmissionException expected");
+    } catch (final TransmissionException e) {
+      assertThat(e.getMessage()).isEqualTo("6400: Unknown response code");
+    }
+    assertThat(command.evaluate(response("6F01")).getSeverity()).isEqualTo(StatusWord.Severity.WARNING);
+    assertThat(command.interprete(response("6F01"))).isEqualTo("Specific warning");
+    assertThat(command.evaluate(response("9F10")).getSeverity()).isEqualTo(StatusWord.Severity.SUCCESS);
+    assertThat(command.interprete(response("9F10"))).isNull();
+  }
+
+  private static ResponseAPDU response(final String apdu) {
+    return new ResponseAPDU(Hex.parseHexString(apdu));
+  }
+}
@@ -2,6 +2,9 @@ package org.cardshell.smartcardshell.commons;
 
 import static org.fest.assertions.Assertions.assertThat;
 
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+
 import org.junit.Test;
 
 public class HexTest {
@@ -36,4 +39,49 @@ public class HexTest {
     final String result = Hex.toHexString(255);
     assertThat(result).isEqualTo("FF");
   }
+
+  @Test
+  public void testParseHexStringLowerCase() {
+    final byte[] expected = new byte[] { (byte) 0xAB, (byte) 0xCD };
+    assertThat(Hex.parseHexString("abCD")).isEqualTo(expected);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseHexStringInvalidDigit() {
+    Hex.parseHexString("0G");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseHexStringNonAscii() {
+    Hex.parseHexString("0\u00e4");
+  }
+
+  @Test
+  public void testDecodeIntoArray() {
+    final byte[] target = new byte[4];
+    assertThat(Hex.decode("0A14", target, 1)).isEqualTo(2);
+    assertThat(target).isEqualTo(new byte[] { 0, (byte) 10, (byte) 20, 0 });
+  }
+
+  @Test
+  public void testDecodeIntoBuffer() {
+    final ByteBuffer target = ByteBuffer.allocate(4);
+    target.put((byte) 1);
+    assertThat(Hex.decode("FF00", target)).isEqualTo(2);
+    assertThat(target.position()).isEqualTo(3);
+    assertThat(target.get(1)).isEqualTo((byte) 0xFF);
+  }
+
+  @Test
+  public void testToHexStringRange() {
+    final byte[] data = new byte[] { (byte) 5, (byte) 0xA0, (byte) 0xFF };
+    assertThat(Hex.toHexString(data, 1, 2)).isEqualTo("A0FF");
+  }
+
+  @Test
+  public void testAppend() throws Exception {
+    final byte[] data = new byte[] { (byte) 0x90, (byte) 0x00 };
+    assertThat(Hex.append(new StringBuilder("SW "), data, 0, 2).toString()).isEqualTo("SW 9000");
+    assertThat(Hex.append(new StringWriter(), data, 1, 1).toString()).isEqualTo("00");
+  }
 }
@@ -0,0 +1,59 @@
+package org.cardshell.smartcardshell.commons;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PrefixIndexTest {
+
+  @Test
+  public void testGet() {
+    final PrefixIndex<Integer> index = createIndex();
+    assertThat(index.get("MF")).isEqualTo(1);
+    assertThat(index.get("M")).isNull();
+    assertThat(index.get("MFX")).isNull();
+    assertThat(index.get(null)).isNull();
+    assertThat(index.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void testPutReplaces() {
+    final PrefixIndex<Integer> index = createIndex();
+    index.put("MF", 5);
+    assertThat(index.get("MF")).isEqualTo(5);
+    assertThat(index.size()).isEqualTo(4);
+  }
+
+  @Test
+  public void testForEachPrefix() {
+    final List<String> keys = new ArrayList<>();
+    createIndex().forEach("Ch", (key, value) -> keys.add(key));
+    assertThat(keys).containsExactly("Channel-0", "Channel-1");
+  }
+
+  @Test
+  public void testForEachAll() {
+    final List<String> keys = new ArrayList<>();
+    createIndex().forEach(null, (key, value) -> keys.add(key));
+    assertThat(keys).containsExactly("/", "Channel-0", "Channel-1", "MF");
+  }
+
+  @Test
+  public void testForEachNoMatch() {
+    final List<String> keys = new ArrayList<>();
+    createIndex().forEach("X", (key, value) -> keys.add(key));
+    assertThat(keys).isEmpty();
+  }
+
+  private static PrefixIndex<Integer> createIndex() {
+    final PrefixIndex<Integer> index = new PrefixIndex<>();
+    index.put("MF", 1);
+    index.put("Channel-1", 3);
+    index.put("/", 2);
+    index.put("Channel-0", 4);
+    return index;
+  }
+}
@@ -0,0 +1,50 @@
+package org.cardshell.smartcardshell.commons;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SerialExecutorTest {
+
+  private final ExecutorService pool = Executors.newFixedThreadPool(4);
+
+  @After
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test
+  public void testOrder() throws Exception {
+    final SerialExecutor executor = new SerialExecutor(pool);
+    final List<Integer> order = new ArrayList<>();
+    final CountDownLatch done = new CountDownLatch(1);
+    for (int i = 0; i < 1000; i++) {
+      final int value = i;
+      executor.execute(() -> order.add(value));
+    }
+    executor.execute(done::countDown);
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    for (int i = 0; i < 1000; i++) {
+      assertThat(order.get(i)).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void testFailingTask() throws Exception {
+    final SerialExecutor executor = new SerialExecutor(pool);
+    final CountDownLatch done = new CountDownLatch(1);
+    executor.execute(() -> {
+      throw new IllegalStateException("expected");
+    });
+    executor.execute(done::countDown);
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+}
@@ -0,0 +1,107 @@
+package org.cardshell.smartcardshell.dump;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.cardshell.smartcardshell.CardPath;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.FileInfo.Structure;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.sim.SimCard;
+import org.cardshell.smartcardshell.sim.SimShell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DumpTest {
+
+  private Path file;
+
+  private SimCard card;
+
+  private Channel channel;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("card", ".csdi");
+    card = new SimCard(SimShell.createFileSystem());
+    channel = card.openChannel();
+    channel.selectCardPath(CardPath.of(0x2F00));
+    channel.selectCardPath(CardPath.of(0x2F01));
+    channel.selectCardPath(CardPath.of(0x7F10));
+    channel.selectCardPath(CardPath.of(0x7F10, 0x6F01));
+    channel.selectCardPath(CardPath.of(0x7F10, 0x6F02));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testDump() throws Exception {
+    dump();
+    final DumpImage image = new DumpImage(file);
+    assertThat(image.getATR()).isEqualTo(card.getATR());
+    assertThat(image.getEntries()).hasSize(5);
+    assertThat(image.getEntries().get(2).getPath()).isEqualTo(CardPath.of(0x7F10));
+    assertThat(image.getEntry(CardPath.of(0x7F10)).getInfo().getName()).isEqualTo(Hex.parseHexString("A000000001"));
+    final DumpImage.Entry binary = image.getEntry(CardPath.of(0x7F10, 0x6F01));
+    assertThat(binary.getStructure()).isEqualTo(Structure.TRANSPARENT);
+    assertThat(binary.getContentLength()).isEqualTo(4096);
+    final ByteBuffer content = binary.getContent();
+    assertThat(content.get(0x0101)).isEqualTo((byte) 0x01);
+    assertThat(content.get(0x0FFF)).isEqualTo((byte) 0xFF);
+    final List<byte[]> records = image.getEntry(CardPath.of(0x7F10, 0x6F02)).getRecords();
+    assertThat(records).hasSize(3);
+    assertThat(records.get(2)).isEqualTo(Hex.parseHexString("1112131415"));
+  }
+
+  @Test
+  public void testInterruptedDump() throws Exception {
+    final DumpWriter writer = new DumpWriter(file, card.getATR(), 4);
+    writer.startEntry(CardPath.of(0x2F01), card.getFileTree().get(CardPath.of(0x2F01))).write(
+        ByteBuffer.wrap(Hex.parseHexString("CAFE")));
+    writer.commitEntry();
+    final WritableByteChannel pending = writer.startEntry(CardPath.of(0x7F10, 0x6F01), null);
+    pending.write(ByteBuffer.allocate(2 * 1024 * 1024));
+    final DumpImage image = new DumpImage(file);
+    assertThat(image.getEntries()).hasSize(1);
+    assertThat(image.getEntry(CardPath.of(0x2F01)).getContent()).isEqualTo(ByteBuffer.wrap(Hex.parseHexString("CAFE")));
+    writer.close();
+    assertThat(Files.size(file)).isEqualTo(new DumpImage(file).getEntries().get(0).getContentLength() + 64 + 4 * 32
+        + card.getFileTree().get(CardPath.of(0x2F01)).getEncoded().length);
+  }
+
+  @Test
+  public void testCorruptImage() throws Exception {
+    dump();
+    final int slotDataOffset = 64 + DumpFormat.SLOT_DATA_OFFSET;
+    for (final long offset : new long[] { -1, 64 }) {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+        channel.write((ByteBuffer) ByteBuffer.allocate(8).putLong(offset).flip(), slotDataOffset);
+      }
+      try {
+        new DumpImage(file);
+        throw new AssertionError("Corrupt image accepted");
+      } catch (final IllegalArgumentException e) {
+        assertThat(e.getMessage()).startsWith("Corrupt card image");
+      }
+    }
+  }
+
+  private void dump() throws Exception {
+    final List<CardPath> paths = card.getFileTree().getPaths();
+    try (DumpWriter writer = new DumpWriter(file, card.getATR(), paths.size())) {
+      assertThat(new CardDumper(channel).dump(card.getFileTree(), paths, writer, (path, length, error) -> assertThat(
+          error).isNull())).isEqualTo(5);
+    }
+  }
+}
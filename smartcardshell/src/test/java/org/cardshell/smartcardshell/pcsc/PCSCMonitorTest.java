@@ -0,0 +1,67 @@
+package org.cardshell.smartcardshell.pcsc;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.smartcardio.CardTerminal;
+import javax.smartcardio.CardTerminals;
+
+import org.junit.Test;
+
+public class PCSCMonitorTest {
+
+  @Test
+  public void testFailingListener() throws Exception {
+    final FakeTerminals terminals = new FakeTerminals();
+    final PCSCMonitor monitor = new PCSCMonitor(terminals);
+    final List<PCSCMonitor.Snapshot> snapshots = new CopyOnWriteArrayList<>();
+    monitor.addListener(snapshot -> {
+      throw new IllegalArgumentException("Listener failed");
+    });
+    monitor.addListener(snapshots::add);
+    monitor.start();
+    try {
+      assertThat(snapshots).hasSize(1);
+      terminals.present = true;
+      for (int i = 0; i < 100 && snapshots.size() < 2; i++) {
+        Thread.sleep(10);
+      }
+      assertThat(snapshots).hasSize(2);
+      assertThat(snapshots.get(1).isCardPresent("Fake Reader")).isTrue();
+    } finally {
+      monitor.stop();
+    }
+  }
+
+  /**
+   * Card terminals listing one card terminal and reporting a change on every call.
+   */
+  @SuppressWarnings("restriction")
+  private static final class FakeTerminals extends CardTerminals {
+
+    private final CardTerminal terminal = new ProtocolCacheTest.FakeTerminal();
+
+    volatile boolean present;
+
+    @Override
+    public List<CardTerminal> list(final State state) {
+      if (state == State.CARD_PRESENT) {
+        return present ? Collections.singletonList(terminal) : Collections.emptyList();
+      }
+      return state == State.ALL ? Collections.singletonList(terminal) : Collections.emptyList();
+    }
+
+    @Override
+    public boolean waitForChange(final long timeout) {
+      try {
+        Thread.sleep(5);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return true;
+    }
+  }
+}
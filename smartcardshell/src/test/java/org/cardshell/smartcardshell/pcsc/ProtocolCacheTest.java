@@ -0,0 +1,195 @@
+package org.cardshell.smartcardshell.pcsc;
+
+import static org.cardshell.smartcardshell.pcsc.PCSCTerminal.PROTOCOL_T0;
+import static org.cardshell.smartcardshell.pcsc.PCSCTerminal.PROTOCOL_T1;
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.smartcardio.ATR;
+import javax.smartcardio.CardChannel;
+import javax.smartcardio.CardException;
+
+import org.cardshell.smartcardshell.commons.Hex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProtocolCacheTest {
+
+  private static final byte[] T0_ATR = Hex.parseHexString("3B6800000073C84013009000");
+
+  private static final byte[] DUAL_ATR = Hex.parseHexString("3BDB960080B1FE451F830031C064C7FC100001900074");
+
+  private Path file;
+
+  private FakeTerminal cardTerminal;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("protocols", ".properties");
+    Files.delete(file);
+    cardTerminal = new FakeTerminal();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void testDefaultOrder() {
+    final ProtocolCache cache = new ProtocolCache();
+    final PCSCTerminal terminal = new PCSCTerminal(cardTerminal, cache);
+    cardTerminal.insert(DUAL_ATR, PROTOCOL_T0, PROTOCOL_T1);
+    assertThat(terminal.getCards().get(0).getName()).isEqualTo("Card-T=1");
+    assertThat(cardTerminal.attempts).containsExactly(PROTOCOL_T1);
+    assertThat(cache.getProtocol("Fake Reader", DUAL_ATR)).isEqualTo(PROTOCOL_T1);
+  }
+
+  @Test
+  public void testT0CardThenDualCard() {
+    final ProtocolCache cache = new ProtocolCache(file);
+    final PCSCTerminal terminal = new PCSCTerminal(cardTerminal, cache);
+    cardTerminal.insert(T0_ATR, PROTOCOL_T0);
+    assertThat(terminal.getCards().get(0).getName()).isEqualTo("Card-T=0");
+    assertThat(cardTerminal.attempts).containsExactly(PROTOCOL_T1, PROTOCOL_T0);
+    terminal.updateCardPresence(false);
+    cardTerminal.insert(DUAL_ATR, PROTOCOL_T0, PROTOCOL_T1);
+    terminal.updateCardPresence(true);
+    assertThat(terminal.getCards().get(0).getName()).isEqualTo("Card-T=1");
+    assertThat(cardTerminal.attempts).containsExactly(PROTOCOL_T0, PROTOCOL_T1);
+    final ProtocolCache stored = new ProtocolCache(file);
+    assertThat(stored.getProtocol("Fake Reader", T0_ATR)).isEqualTo(PROTOCOL_T0);
+    assertThat(stored.getProtocol("Fake Reader", DUAL_ATR)).isEqualTo(PROTOCOL_T1);
+  }
+
+  @Test
+  public void testRememberedT0() {
+    final ProtocolCache cache = new ProtocolCache();
+    final PCSCTerminal terminal = new PCSCTerminal(cardTerminal, cache);
+    cardTerminal.insert(T0_ATR, PROTOCOL_T0);
+    terminal.getCards();
+    terminal.updateCardPresence(false);
+    cardTerminal.insert(T0_ATR, PROTOCOL_T0);
+    terminal.updateCardPresence(true);
+    assertThat(terminal.getCards().get(0).getName()).isEqualTo("Card-T=0");
+    assertThat(cardTerminal.attempts).containsExactly(PROTOCOL_T0);
+  }
+
+  @Test
+  public void testRememberedT1AfterT0Card() {
+    final ProtocolCache cache = new ProtocolCache();
+    cache.remember("Fake Reader", DUAL_ATR, PROTOCOL_T1);
+    cache.remember("Fake Reader", T0_ATR, PROTOCOL_T0);
+    assertThat(cache.getProtocols("Fake Reader")).containsOnly(PROTOCOL_T0, PROTOCOL_T1);
+    assertThat(cache.getProtocols("Fake Reader")[0]).isEqualTo(PROTOCOL_T0);
+    assertThat(cache.getProtocol("Fake Reader", DUAL_ATR)).isEqualTo(PROTOCOL_T1);
+    assertThat(cache.getProtocol("Other Reader", DUAL_ATR)).isNull();
+  }
+
+  /**
+   * Card terminal holding one card, which accepts a given set of protocols, and recording the protocols tried.
+   */
+  @SuppressWarnings("restriction")
+  static final class FakeTerminal extends javax.smartcardio.CardTerminal {
+
+    private final List<String> attempts = new ArrayList<>();
+
+    private byte[] atr;
+
+    private List<String> protocols;
+
+    void insert(final byte[] atr, final String... protocols) {
+      this.atr = atr;
+      this.protocols = Arrays.asList(protocols);
+      attempts.clear();
+    }
+
+    @Override
+    public String getName() {
+      return "Fake Reader";
+    }
+
+    @Override
+    public javax.smartcardio.Card connect(final String protocol) throws CardException {
+      attempts.add(protocol);
+      if (!protocols.contains(protocol)) {
+        throw new CardException("Protocol not supported");
+      }
+      return new FakeCard(new ATR(atr), protocol);
+    }
+
+    @Override
+    public boolean isCardPresent() {
+      return atr != null;
+    }
+
+    @Override
+    public boolean waitForCardPresent(final long timeout) {
+      return isCardPresent();
+    }
+
+    @Override
+    public boolean waitForCardAbsent(final long timeout) {
+      return !isCardPresent();
+    }
+  }
+
+  @SuppressWarnings("restriction")
+  private static final class FakeCard extends javax.smartcardio.Card {
+
+    private final ATR atr;
+
+    private final String protocol;
+
+    FakeCard(final ATR atr, final String protocol) {
+      this.atr = atr;
+      this.protocol = protocol;
+    }
+
+    @Override
+    public ATR getATR() {
+      return atr;
+    }
+
+    @Override
+    public String getProtocol() {
+      return protocol;
+    }
+
+    @Override
+    public CardChannel getBasicChannel() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CardChannel openLogicalChannel() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void beginExclusive() {
+      // not needed
+    }
+
+    @Override
+    public void endExclusive() {
+      // not needed
+    }
+
+    @Override
+    public byte[] transmitControlCommand(final int controlCode, final byte[] command) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void disconnect(final boolean reset) {
+      // nothing to release
+    }
+  }
+}
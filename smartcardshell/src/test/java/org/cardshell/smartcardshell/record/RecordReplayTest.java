@@ -0,0 +1,77 @@
+package org.cardshell.smartcardshell.record;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.cardshell.smartcardshell.BasicChannel;
+import org.cardshell.smartcardshell.CardPath;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.cardshell.smartcardshell.sim.SimCard;
+import org.cardshell.smartcardshell.sim.SimShell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class RecordReplayTest {
+
+  private static final String[] COMMANDS = { "00A40000027F10", "00A4000C026F01", "00B0000010", "00B0100020" };
+
+  private Path log;
+
+  @Before
+  public void setUp() throws Exception {
+    log = Files.createTempFile("session", ".csrl");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(log);
+  }
+
+  @Test
+  public void testReplay() throws Exception {
+    final SimCard card = new SimCard(SimShell.createFileSystem());
+    final String[] recorded = new String[COMMANDS.length];
+    try (RecordingChannel channel = new RecordingChannel((BasicChannel) card.openChannel(), log)) {
+      for (int i = 0; i < COMMANDS.length; i++) {
+        recorded[i] = toString(channel.transmit(Hex.parseHexString(COMMANDS[i])));
+      }
+    }
+    final ReplayChannel replay = new ReplayChannel(log, false);
+    assertThat(replay.getNumber()).isEqualTo((byte) 0);
+    for (int i = 0; i < COMMANDS.length; i++) {
+      assertThat(toString(replay.transmit(Hex.parseHexString(COMMANDS[i])))).isEqualTo(recorded[i]);
+    }
+    assertThat(replay.hasRemaining()).isFalse();
+    replay.rewind();
+    assertThat(replay.hasRemaining()).isTrue();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testReplayMismatch() throws Exception {
+    final SimCard card = new SimCard(SimShell.createFileSystem());
+    try (RecordingChannel channel = new RecordingChannel((BasicChannel) card.openChannel(), log)) {
+      channel.transmit(Hex.parseHexString(COMMANDS[0]));
+    }
+    new ReplayChannel(log, true).transmit(Hex.parseHexString(COMMANDS[1]));
+  }
+
+  @Test
+  public void testSharesFileTree() throws Exception {
+    final SimCard card = new SimCard(SimShell.createFileSystem());
+    final CardPath path = CardPath.parse("/7F10", null);
+    try (RecordingChannel channel = new RecordingChannel((BasicChannel) card.openChannel(), log)) {
+      channel.selectCardPath(path);
+      assertThat(channel.submit(Channel::getCurrentPath).get()).isEqualTo(path);
+    }
+    assertThat(card.getFileTree().get(path)).isNotNull();
+  }
+
+  private static String toString(final ResponseAPDU response) {
+    return Hex.toHexString(response.getBytes());
+  }
+}
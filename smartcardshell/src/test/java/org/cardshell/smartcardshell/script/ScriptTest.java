@@ -0,0 +1,120 @@
+package org.cardshell.smartcardshell.script;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.Terminal;
+import org.cardshell.smartcardshell.sim.SimCard;
+import org.cardshell.smartcardshell.sim.SimShell;
+import org.cardshell.smartcardshell.sim.SimTerminal;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScriptTest {
+
+  private static final String SCRIPT = "# select and read\n" //
+      + "00A4 000C 02 7F10 : 9000\n" //
+      + "\n" //
+      + "00A4000C026F01    : 90xx  # wildcard\n" //
+      + "00B0000004\n" //
+      + "00B0000002        : 6282\n" //
+      + "00B0000001        : 9000\n";
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private SimCard card;
+
+  @Before
+  public void setUp() {
+    card = new SimCard(SimShell.createFileSystem());
+  }
+
+  @Test
+  public void testParse() throws Exception {
+    final Script script = Script.parse("test", new StringReader(SCRIPT));
+    assertThat(script.getSteps()).hasSize(5);
+    final Script.Step step = script.getSteps().get(1);
+    assertThat(step.getLine()).isEqualTo(4);
+    assertThat(step.getExpectedSW()).isEqualTo("90xx");
+    assertThat(step.matches(0x9012)).isTrue();
+    assertThat(step.matches(0x6A82)).isFalse();
+    assertThat(script.getSteps().get(2).matches(0x6A82)).isTrue();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseInvalidStatusWord() throws Exception {
+    Script.parse("test", new StringReader("00B0000000 : 90\n"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseInvalidCommand() throws Exception {
+    Script.parse("test", new StringReader("00B000000G\n"));
+  }
+
+  @Test
+  public void testRunStopsOnFailure() throws Exception {
+    final StringBuilder out = new StringBuilder();
+    final Script script = Script.parse("test", new StringReader(SCRIPT));
+    final ScriptResult result = new ScriptRunner(card.openChannel(), true).run(script, new ScriptPrinter(out, true));
+    assertThat(result.getExecuted()).isEqualTo(4);
+    assertThat(result.getFailed()).isEqualTo(1);
+    assertThat(out.toString()).contains("5: 00B0000004 -> 00010203 9000").contains("6: 00B0000002 -> 0001 9000 FAILED");
+  }
+
+  @Test
+  public void testRunContinuesOnFailure() throws Exception {
+    final StringBuilder out = new StringBuilder();
+    final Script script = Script.parse("test", new StringReader(SCRIPT));
+    final ScriptResult result = new ScriptRunner(card.openChannel(), false).run(script, new ScriptPrinter(out, false));
+    assertThat(result.getExecuted()).isEqualTo(5);
+    assertThat(result.isPassed()).isFalse();
+    assertThat(out.toString().split("\n")).hasSize(1);
+  }
+
+  @Test
+  public void testRunParallel() throws Exception {
+    final List<Terminal> terminals = new SimShell(4, 0, TimeUnit.MICROSECONDS).getCardTerminals();
+    final ParallelScriptResult result = new ParallelScriptRunner(terminals, false).run(
+        terminal -> parse(SCRIPT), terminal -> (step, response, passed) -> {});
+    assertThat(result.getReaders()).hasSize(4);
+    assertThat(result.getReaders().get(3).getName()).isEqualTo("Sim_Reader_3");
+    assertThat(result.getExecuted()).isEqualTo(20);
+    assertThat(result.getFailedReaders()).isEqualTo(4);
+    assertThat(result.getReaders().get(0).getResult().getFailed()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRunParallelSkipsEmptyReaders() throws Exception {
+    final SimTerminal loaded = new SimTerminal("Loaded", card);
+    final SimTerminal empty = new SimTerminal("Empty", null);
+    Files.write(folder.getRoot().toPath().resolve("Loaded.apdu"), SCRIPT.getBytes(StandardCharsets.US_ASCII));
+    final List<Terminal> terminals = Arrays.<Terminal> asList(loaded, empty);
+    final Map<Terminal, Script> scripts = ParallelScriptRunner.parse(folder.getRoot() + "/"
+        + ParallelScriptRunner.TERMINAL_PLACEHOLDER + ".apdu", terminals);
+    assertThat(scripts.keySet()).containsOnly(loaded);
+    final ParallelScriptResult result = new ParallelScriptRunner(terminals, false).run(scripts::get,
+        terminal -> (step, response, passed) -> {});
+    assertThat(result.getReaders()).hasSize(1);
+    assertThat(new ParallelScriptRunner(Arrays.<Terminal> asList(empty), false).run(scripts::get,
+        terminal -> (step, response, passed) -> {}).isPassed()).isFalse();
+  }
+
+  private static Script parse(final String script) {
+    try {
+      return Script.parse("test", new StringReader(script));
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
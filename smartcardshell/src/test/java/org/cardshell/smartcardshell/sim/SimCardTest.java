@@ -0,0 +1,197 @@
+package org.cardshell.smartcardshell.sim;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.cardshell.smartcardshell.BasicChannel;
+import org.cardshell.smartcardshell.CardPath;
+import org.cardshell.smartcardshell.Channel;
+import org.cardshell.smartcardshell.CommandAPDU;
+import org.cardshell.smartcardshell.DefaultFile;
+import org.cardshell.smartcardshell.ResponseAPDU;
+import org.cardshell.smartcardshell.apdu.TransmissionException;
+import org.cardshell.smartcardshell.commons.Hex;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SimCardTest {
+
+  private SimCard card;
+
+  private Channel channel;
+
+  @Before
+  public void setUp() {
+    card = new SimCard(SimShell.createFileSystem());
+    channel = card.openChannel();
+  }
+
+  @Test
+  public void testSelectWithGetResponse() {
+    final ResponseAPDU response = transmit("00A40000027F10");
+    assertThat(response.getSW()).isEqualTo(0x9000);
+    assertThat(Hex.toHexString(response.getData())).startsWith("620E").contains("8405A000000001");
+  }
+
+  @Test
+  public void testSelectFile() {
+    assertThat(channel.selectCardFile(new DefaultFile(Hex.parseHexString("7F10")))).isEqualTo("9000");
+  }
+
+  @Test(expected = TransmissionException.class)
+  public void testSelectFileNotFound() {
+    channel.selectCardFile(new DefaultFile(Hex.parseHexString("7F99")));
+  }
+
+  @Test
+  public void testSelectByName() {
+    assertThat(transmit("00A4040C05A000000001").getSW()).isEqualTo(0x9000);
+    assertThat(transmit("00A4000C026F01").getSW()).isEqualTo(0x9000);
+  }
+
+  @Test
+  public void testTransmitAsync() throws Exception {
+    final ResponseAPDU response = channel.transmitAsync(new CommandAPDU(Hex.parseHexString("00A4080C047F106F01")))
+        .thenCompose(select -> channel.transmitAsync(new CommandAPDU(Hex.parseHexString("00B0000004"))))
+        .get(5, TimeUnit.SECONDS);
+    assertThat(Hex.toHexString(response.getBytes())).isEqualTo("000102039000");
+  }
+
+  @Test
+  public void testChannelsInterleaved() throws Exception {
+    final Channel other = card.openChannel();
+    final CompletableFuture<String> first = channel.submit(c -> {
+      c.transmit(Hex.parseHexString("00A4080C047F106F01"));
+      return Hex.toHexString(c.transmit(Hex.parseHexString("00B0000002")).getData());
+    });
+    final CompletableFuture<String> second = other.submit(c -> {
+      c.transmit(Hex.parseHexString("01A4080C022F01"));
+      return Hex.toHexString(c.transmit(Hex.parseHexString("01B0000002")).getData());
+    });
+    assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("0001");
+    assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("4301");
+  }
+
+  @Test
+  public void testReadBinary() {
+    transmit("00A4080C047F106F01");
+    final ResponseAPDU response = transmit("00B0010010");
+    assertThat(response.getSW()).isEqualTo(0x9000);
+    assertThat(Hex.toHexString(response.getData())).isEqualTo("000102030405060708090A0B0C0D0E0F");
+  }
+
+  @Test
+  public void testReadBinaryEndOfFile() {
+    transmit("00A4080C047F106F01");
+    final ResponseAPDU response = transmit("00B00FF800");
+    assertThat(response.getSW()).isEqualTo(0x6282);
+    assertThat(response.getData().length).isEqualTo(8);
+  }
+
+  @Test
+  public void testReadRecordCorrectsLe() {
+    transmit("00A4080C047F106F02");
+    final ResponseAPDU response = transmit("00B2020401");
+    assertThat(response.getSW()).isEqualTo(0x6C05);
+    assertThat(transmit("00B2020405").getData()).isEqualTo(Hex.parseHexString("0607080910"));
+  }
+
+  @Test
+  public void testUpdateBinary() {
+    transmit("00A4080C022F01");
+    assertThat(transmit("00D6000002CAFE").getSW()).isEqualTo(0x9000);
+    assertThat(transmit("00B0000002").getData()).isEqualTo(Hex.parseHexString("CAFE"));
+    assertThat(transmit("00D6000F02CAFE").getSW()).isEqualTo(0x6A84);
+  }
+
+  @Test
+  public void testCommandChaining() {
+    ((BasicChannel) channel).setChainingSegmentSize(2);
+    transmit("00A4080C047F106F01");
+    final long count = card.getCommandCount();
+    assertThat(transmit("00D6000005CAFEBABE01").getSW()).isEqualTo(0x9000);
+    assertThat(card.getCommandCount()).isEqualTo(count + 3);
+    assertThat(transmit("00B0000005").getData()).isEqualTo(Hex.parseHexString("CAFEBABE01"));
+    assertThat(transmit("10D6000002CAFE").getSW()).isEqualTo(0x9000);
+    assertThat(transmit("00B0000001").getSW()).isEqualTo(0x6883);
+  }
+
+  @Test
+  public void testNoCurrentEF() {
+    assertThat(transmit("00B0000010").getSW()).isEqualTo(0x6986);
+  }
+
+  @Test
+  public void testLogicalChannels() {
+    final Channel second = card.openChannel();
+    assertThat(second.getNumber()).isEqualTo((byte) 1);
+    assertThat(second.transmit(Hex.parseHexString("01A4000C027F10")).getSW()).isEqualTo(0x9000);
+    assertThat(second.transmit(Hex.parseHexString("00A4000C027F10")).getSW()).isEqualTo(0x6881);
+  }
+
+  @Test
+  public void testCloseChannel() {
+    final Channel second = card.openChannel();
+    final Channel third = card.openChannel();
+    card.closeChannel(second);
+    assertThat(card.getCardChannels()).containsExactly(channel, third);
+    assertThat(card.getCardChannel("Channel-1")).isNull();
+    assertThat(card.openChannel().getNumber()).isEqualTo((byte) 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCloseBasicChannel() {
+    card.closeChannel(channel);
+  }
+
+  @Test
+  public void testSelectCardPath() {
+    channel.selectCardPath(CardPath.of(0x7F10, 0x6F01));
+    assertThat(channel.getCurrentPath()).isEqualTo(CardPath.of(0x7F10, 0x6F01));
+    assertThat(channel.getCurrentDF()).isEqualTo(CardPath.of(0x7F10));
+    final long count = card.getCommandCount();
+    assertThat(channel.selectCardPath(CardPath.of(0x7F10, 0x6F01))).isNull();
+    assertThat(card.getCommandCount()).isEqualTo(count);
+    channel.selectCardPath(CardPath.of(0x7F10, 0x6F02));
+    // SELECT by file identifier returning the FCP directly because of Le
+    assertThat(card.getCommandCount()).isEqualTo(count + 1);
+    assertThat(channel.getCurrentDF()).isEqualTo(CardPath.of(0x7F10));
+    channel.selectCardPath(CardPath.of(0x2F01));
+    assertThat(transmit("00B0000002").getData()).isEqualTo(Hex.parseHexString("4301"));
+  }
+
+  @Test
+  public void testFirstSelectionTransmitted() {
+    assertThat(channel.getCurrentPath()).isNull();
+    final long count = card.getCommandCount();
+    channel.selectCardPath(CardPath.MF);
+    assertThat(card.getCommandCount()).isGreaterThan(count);
+    assertThat(channel.getCurrentPath()).isEqualTo(CardPath.MF);
+  }
+
+  @Test
+  public void testSelectCardPathFailed() {
+    channel.selectCardPath(CardPath.of(0x7F10));
+    try {
+      channel.selectCardPath(CardPath.of(0x7F10, 0x6F99));
+    } catch (final TransmissionException e) {
+      assertThat(channel.getCurrentPath()).isEqualTo(CardPath.of(0x7F10));
+      return;
+    }
+    throw new AssertionError("SELECT of missing file succeeded");
+  }
+
+  @Test
+  public void testCurrentPathInvalidated() {
+    channel.selectCardPath(CardPath.of(0x7F10));
+    transmit("00A4000C022F00");
+    assertThat(channel.getCurrentPath()).isNull();
+    assertThat(channel.getCurrentDF()).isNull();
+  }
+
+  private ResponseAPDU transmit(final String apdu) {
+    return channel.transmit(Hex.parseHexString(apdu));
+  }
+}